@@ -8,6 +8,7 @@
 plugins {
     id("org.springframework.boot") version "3.3.1"
     id("io.spring.dependency-management") version "1.1.6"
+    id("me.champeau.jmh") version "0.7.2"
     java
 }
 
@@ -25,6 +26,8 @@ dependencies {
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.6.0")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("org.apache.httpcomponents.client5:httpclient5")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
     testImplementation(libs.junit.jupiter)
@@ -38,8 +41,34 @@ java {
     }
 }
 
+// CodecService uses the incubating Vector API when this module is resolved and falls back to scalar code otherwise.
+// Launching the packaged jar needs the same flag: java --add-modules=jdk.incubator.vector -jar app.jar
+val vectorModule = "--add-modules=jdk.incubator.vector"
+
+// The only code importing jdk.incubator.vector (VectorCodecs) lives in its own source set, src/vector/java, so
+// compileVectorJava is the one task that resolves the module and prints javac's "using incubating module(s)"
+// warning. Its classes are on the main classpath and packaged with it; nothing else may import the module.
+val vector: SourceSet by sourceSets.creating
+
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+    options.compilerArgs.add(vectorModule)
+}
+
+dependencies {
+    implementation(vector.output)
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+    jvmArgs(vectorModule)
+}
+
+jmh {
+    jmhVersion = "1.37"
+    jvmArgsAppend.add(vectorModule)
+}
 
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
+    jvmArgs(vectorModule)
 }
@@ -0,0 +1,104 @@
+package org.example.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.App;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.CookieManager;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of /api/ping versus /api/async/ping when the upstream is slow. Tomcat is capped
+ * at a small worker pool so the blocking endpoint saturates while the async one keeps
+ * accepting requests. Run with {@code ./gradlew jmh -Pjmh.includes=AsyncEndpointBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(64)
+public class AsyncEndpointBenchmark {
+
+    private static final long UPSTREAM_DELAY_MS = 200;
+    private static final byte[] BODY = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer upstream;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI syncUri;
+    private URI asyncUri;
+
+    @Setup
+    public void setUp() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        upstream.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.start();
+
+        context = new SpringApplicationBuilder(App.class)
+                .properties(
+                    "server.port=0",
+                    "server.tomcat.threads.max=16",
+                    "app.http-client.max-per-route=200",
+                    "app.async.threads=128",
+                    "logging.level.org.springframework.security=WARN")
+                .run();
+        String base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+        client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(base + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=demo&password=demo123"))
+                .build();
+        client.send(login, HttpResponse.BodyHandlers.discarding());
+
+        String target = URLEncoder.encode("http://127.0.0.1:" + upstream.getAddress().getPort() + "/slow",
+                StandardCharsets.UTF_8);
+        syncUri = URI.create(base + "/api/ping?url=" + target);
+        asyncUri = URI.create(base + "/api/async/ping?url=" + target);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        upstream.stop(0);
+    }
+
+    @Benchmark
+    public int blockingEndpoint() throws Exception {
+        return client.send(HttpRequest.newBuilder(syncUri).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int asyncEndpoint() throws Exception {
+        return client.send(HttpRequest.newBuilder(asyncUri).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.benchmark;
+
+import org.example.service.CodecService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each codec on the Vector API path versus the scalar path, with the JDK's own codecs
+ * (Base64, HexFormat) as a reference where one exists. The {@code bytes} counter is raw bytes per second
+ * (encoded input, decoded output); divide by 1e9 for GB/s.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=CodecBenchmark}; the build already adds the incubator module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"HEX", "BASE32", "BASE64", "BASE64URL"})
+    public CodecService.Codec codec;
+
+    // A token, a checksum batch, a blob
+    @Param({"64", "65536", "4194304"})
+    public int size;
+
+    private final CodecService vector = new CodecService(true, Integer.MAX_VALUE);
+    private final CodecService scalar = new CodecService(false, Integer.MAX_VALUE);
+    private byte[] raw;
+    private byte[] encoded;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        if (vector.getPath().equals("scalar")) {
+            throw new IllegalStateException("Vector API not available; run with --add-modules=jdk.incubator.vector");
+        }
+        raw = new byte[size];
+        new Random(42).nextBytes(raw);
+        encoded = scalar.encode(codec, raw, true);
+    }
+
+    @Benchmark
+    public byte[] encodeVector(Bytes counter) {
+        counter.bytes += size;
+        return vector.encode(codec, raw, true);
+    }
+
+    @Benchmark
+    public byte[] encodeScalar(Bytes counter) {
+        counter.bytes += size;
+        return scalar.encode(codec, raw, true);
+    }
+
+    @Benchmark
+    public byte[] decodeVector(Bytes counter) {
+        counter.bytes += size;
+        return vector.decode(codec, encoded);
+    }
+
+    @Benchmark
+    public byte[] decodeScalar(Bytes counter) {
+        counter.bytes += size;
+        return scalar.decode(codec, encoded);
+    }
+
+    // The JDK codecs are intrinsified on some platforms; BASE32 has no JDK counterpart and reuses the scalar path
+    @Benchmark
+    public Object encodeJdk(Bytes counter) {
+        counter.bytes += size;
+        return switch (codec) {
+            case HEX -> HexFormat.of().formatHex(raw);
+            case BASE32 -> scalar.encode(codec, raw, true);
+            case BASE64 -> Base64.getEncoder().encode(raw);
+            case BASE64URL -> Base64.getUrlEncoder().encode(raw);
+        };
+    }
+
+    @Benchmark
+    public byte[] decodeJdk(Bytes counter) {
+        counter.bytes += size;
+        return switch (codec) {
+            case HEX -> HexFormat.of().parseHex(new String(encoded, StandardCharsets.US_ASCII));
+            case BASE32 -> scalar.decode(codec, encoded);
+            case BASE64 -> Base64.getDecoder().decode(encoded);
+            case BASE64URL -> Base64.getUrlDecoder().decode(encoded);
+        };
+    }
+}
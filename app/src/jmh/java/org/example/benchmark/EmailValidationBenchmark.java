@@ -0,0 +1,72 @@
+package org.example.benchmark;
+
+import org.example.service.EmailValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The previous email check (String.matches plus a result HashMap per address) versus a precompiled
+ * Pattern and the hand-written EmailValidator. Scores are per address.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=EmailValidationBenchmark}, add {@code -prof gc} to see allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailValidationBenchmark {
+
+    private static final String EMAIL_REGEX =
+            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+
+    private final String[] emails = {
+        "user@example.com", "first.last+tag@mail.example.co.uk", "broken@", "no-at-sign",
+        "a.very.long.local.part.with.many.atoms@sub.domain.example.org", "user@example.c", "x@y.io", "user..name@example.com"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int stringMatchesWithResultMap() {
+        int valid = 0;
+        for (String email : emails) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("email", email);
+            boolean isValid = email.matches(EMAIL_REGEX);
+            result.put("valid", isValid);
+            if (isValid) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int precompiledPattern() {
+        int valid = 0;
+        for (String email : emails) {
+            if (EMAIL_PATTERN.matcher(email).matches()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int handWrittenValidator() {
+        int valid = 0;
+        for (String email : emails) {
+            if (EmailValidator.validate(email) == EmailValidator.Result.VALID) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
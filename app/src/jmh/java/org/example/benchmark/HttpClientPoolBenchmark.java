@@ -0,0 +1,92 @@
+package org.example.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.example.config.AppConfig;
+import org.example.service.HttpClientPoolMetrics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default RestTemplate transport with the pooled clients from AppConfig
+ * against a local stub server. The stub speaks HTTP/1.1 only, so the JDK transport runs on its
+ * HTTP/1.1 connection pool here; multiplexing only shows against HTTP/2 servers.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(32)
+public class HttpClientPoolBenchmark {
+
+    private static final byte[] BODY = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String url;
+    private RestTemplate simpleTemplate;
+    private RestTemplate pooledTemplate;
+    private RestTemplate jdkTemplate;
+    private CloseableHttpClient pooledClient;
+    private HttpClient jdkClient;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.createContext("/ping", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(64));
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/ping";
+
+        simpleTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+
+        AppConfig config = new AppConfig();
+        HttpClientPoolMetrics metrics = config.httpClientPoolMetrics();
+        PoolingHttpClientConnectionManager connectionManager = config.pooledConnectionManager(metrics, 200, 64, 300);
+        pooledClient = config.httpClient(connectionManager, metrics, 30);
+        pooledTemplate = config.restTemplate(new RestTemplateBuilder(), pooledClient);
+
+        jdkClient = config.jdkHttpClient();
+        jdkTemplate = config.jdkRestTemplate(new RestTemplateBuilder(), jdkClient, config.httpClientPoolMetrics());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        pooledClient.close();
+        jdkClient.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public String simpleClientFactory() {
+        return simpleTemplate.getForObject(url, String.class);
+    }
+
+    @Benchmark
+    public String pooledHttpClient() {
+        return pooledTemplate.getForObject(url, String.class);
+    }
+
+    @Benchmark
+    public String jdkHttpClient() {
+        return jdkTemplate.getForObject(url, String.class);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.service.IpLocationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one ip-api answer and writing the lookup result back out: the previous readTree + nested
+ * HashMap copy versus binding straight into IpLocationService.IpApiAnswer.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=IpLocationParsingBenchmark} and add {@code -prof gc};
+ * {@code gc.alloc.rate.norm} is the bytes allocated per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IpLocationParsingBenchmark {
+
+    private final byte[] body = """
+        {"status":"success","country":"United States","countryCode":"US","region":"CA","regionName":"California",
+         "city":"Mountain View","zip":"94043","lat":37.4056,"lon":-122.0775,"timezone":"America/Los_Angeles",
+         "isp":"Google LLC","org":"Google Public DNS","as":"AS15169 Google LLC","query":"8.8.8.8"}
+        """.getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader answerReader = objectMapper.readerFor(IpLocationService.IpApiAnswer.class);
+    private final ObjectWriter resultWriter = objectMapper.writerFor(Map.class);
+
+    @Benchmark
+    public byte[] treeAndMaps() throws IOException {
+        // The previous path: String body, JsonNode tree, then field-by-field copies into maps
+        JsonNode jsonNode = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", "SUCCESS");
+
+        Map<String, Object> location = new HashMap<>();
+        location.put("country", jsonNode.get("country").asText());
+        location.put("countryCode", jsonNode.get("countryCode").asText());
+        location.put("region", jsonNode.get("region").asText());
+        location.put("regionName", jsonNode.get("regionName").asText());
+        location.put("city", jsonNode.get("city").asText());
+        location.put("zipCode", jsonNode.get("zip").asText());
+        location.put("latitude", jsonNode.get("lat").asDouble());
+        location.put("longitude", jsonNode.get("lon").asDouble());
+        location.put("timezone", jsonNode.get("timezone").asText());
+        result.put("location", location);
+
+        Map<String, Object> isp = new HashMap<>();
+        isp.put("isp", jsonNode.get("isp").asText());
+        isp.put("organization", jsonNode.get("org").asText());
+        isp.put("as", jsonNode.get("as").asText());
+        result.put("isp", isp);
+        return resultWriter.writeValueAsBytes(result);
+    }
+
+    @Benchmark
+    public byte[] typedRecord() throws IOException {
+        IpLocationService.IpApiAnswer answer = answerReader.readValue(body);
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", "SUCCESS");
+        result.put("location", answer.toLocation());
+        result.put("isp", answer.toIsp());
+        return resultWriter.writeValueAsBytes(result);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import org.example.service.IpAddresses;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The previous regex-based IPv4 validation versus the hand-written parser in IpAddresses.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=IpParsingBenchmark}, add {@code -prof gc} to see allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IpParsingBenchmark {
+
+    private static final Pattern IP_PATTERN = Pattern.compile(
+        "^(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
+    );
+
+    private final String[] ipv4 = {"8.8.8.8", "192.168.1.1", "203.0.113.254", "1.1.1.1", "not.an.ip.address", "10.0.0.256"};
+    private final String[] ipv6 = {"2001:4860:4860::8888", "::1", "fe80::1ff:fe23:4567:890a", "::ffff:192.168.1.1"};
+    private final long[] parsed = new long[2];
+
+    @Benchmark
+    public int regexIpv4() {
+        int valid = 0;
+        for (String ip : ipv4) {
+            if (ip != null && !ip.trim().isEmpty() && IP_PATTERN.matcher(ip.trim()).matches()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public long parserIpv4() {
+        long sum = 0;
+        for (String ip : ipv4) {
+            sum += IpAddresses.parseIpv4(ip);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parserIpv6() {
+        long sum = 0;
+        for (String ip : ipv6) {
+            if (IpAddresses.parseIpv6(ip, parsed)) {
+                sum += parsed[0] ^ parsed[1];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int reservedRangeCheck() {
+        int reserved = 0;
+        for (String ip : ipv4) {
+            long address = IpAddresses.parseIpv4(ip);
+            if (address != IpAddresses.INVALID && IpAddresses.reservedRangeV4(address) != null) {
+                reserved++;
+            }
+        }
+        return reserved;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.benchmark;
+
+import org.example.service.TimeConversionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting a batch of event times from UTC to a DST zone: a ZonedDateTime per value (what per-call code
+ * does) versus the cached transition table. Scores are per timestamp.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=TimeConversionBenchmark}, add {@code -prof gc} to see allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeConversionBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    private final TimeConversionService timeConversionService = new TimeConversionService(BATCH, 1024);
+    private final ZoneId zone = ZoneId.of("America/New_York");
+    // A few years of event times in random order
+    private final long[] millis = new SplittableRandom(1).longs(BATCH, 1_577_836_800_000L, 1_735_689_600_000L).toArray();
+
+    @TearDown
+    public void tearDown() {
+        timeConversionService.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] zonedDateTimePerValue() {
+        long[] converted = new long[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            ZonedDateTime local = Instant.ofEpochMilli(millis[i]).atZone(zone);
+            converted[i] = millis[i] + local.getOffset().getTotalSeconds() * 1000L;
+        }
+        return converted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public TimeConversionService.Conversion transitionTable() {
+        return timeConversionService.convert(millis, ZoneId.of("UTC"), zone, TimeConversionService.Unit.MILLISECONDS);
+    }
+}
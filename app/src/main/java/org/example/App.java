@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -52,12 +53,17 @@ public class App {
         
         status.put("status", "UP");
         status.put("timestamp", LocalDateTime.now());
-        status.put("uptime", System.currentTimeMillis());
+        status.put("uptime", ManagementFactory.getRuntimeMXBean().getUptime());
         status.put("memory", Map.of(
             "total", runtime.totalMemory() / (1024 * 1024) + " MB",
             "free", runtime.freeMemory() / (1024 * 1024) + " MB",
             "used", (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024) + " MB"
         ));
+        status.put("memoryBytes", Map.of(
+            "total", runtime.totalMemory(),
+            "free", runtime.freeMemory(),
+            "used", runtime.totalMemory() - runtime.freeMemory()
+        ));
         status.put("processors", runtime.availableProcessors());
         
         return status;
@@ -102,7 +108,11 @@ public class App {
             ),
             "api_endpoints", Map.of(
                 "ping", "GET /api/ping?url=https://example.com",
+                "ping_batch", "POST /api/ping/batch",
+                "ping_stream", "GET /api/ping/stream?url=https://example.com&interval=5",
                 "health_check", "GET /api/health-check?url=https://example.com",
+                "monitors", "POST /api/monitors, GET /api/monitors/{id}/stats",
+                "load_test", "POST /api/load-test",
                 "test_endpoints", "GET /api/test-endpoints"
             ),
             "utility_endpoints", Map.of(
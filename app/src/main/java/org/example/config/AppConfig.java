@@ -1,20 +1,217 @@
 package org.example.config;
 
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecRuntime;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.apache.hc.core5.http.io.EofSensorWatcher;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.example.service.HttpClientPoolMetrics;
+import org.example.service.IpApiRateLimiter;
+import org.example.service.OutboundDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 @Configuration
 public class AppConfig {
 
+    private static final Timeout CONNECT_TIMEOUT = Timeout.ofSeconds(10);
+    private static final Timeout READ_TIMEOUT = Timeout.ofSeconds(10);
+    private static final RequestConfig REQUEST_CONFIG = RequestConfig.custom()
+            .setConnectionRequestTimeout(CONNECT_TIMEOUT)
+            .setResponseTimeout(READ_TIMEOUT)
+            .build();
+
+    @Bean
+    public HttpClientPoolMetrics httpClientPoolMetrics() {
+        return new HttpClientPoolMetrics();
+    }
+
+    // ip-api counts /json and /batch requests in separate windows, so each endpoint gets its own bucket
+    @Bean
+    public IpApiRateLimiter ipApiJsonRateLimiter(
+            @Value("${app.ip-location.rate-limit.requests-per-minute:45}") int requestsPerMinute,
+            @Value("${app.ip-location.rate-limit.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${app.ip-location.rate-limit.max-queued:50}") int maxQueued) {
+        return new IpApiRateLimiter(requestsPerMinute, maxWaitMillis, maxQueued);
+    }
+
+    @Bean
+    public IpApiRateLimiter ipApiBatchRateLimiter(
+            @Value("${app.ip-location.rate-limit.batch-requests-per-minute:15}") int requestsPerMinute,
+            @Value("${app.ip-location.rate-limit.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${app.ip-location.rate-limit.max-queued:50}") int maxQueued) {
+        return new IpApiRateLimiter(requestsPerMinute, maxWaitMillis, maxQueued);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager pooledConnectionManager(
+            HttpClientPoolMetrics metrics,
+            @Value("${app.http-client.max-total:200}") int maxTotal,
+            @Value("${app.http-client.max-per-route:20}") int maxPerRoute,
+            @Value("${app.http-client.time-to-live-seconds:300}") long timeToLiveSeconds) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(CONNECT_TIMEOUT)
+                        .setSocketTimeout(READ_TIMEOUT)
+                        .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .setConnectionFactory(socket -> {
+                    metrics.connectionCreated();
+                    return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+                })
+                .build();
+        metrics.bind(connectionManager);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            HttpClientPoolMetrics metrics,
+            @Value("${app.http-client.idle-evict-seconds:30}") long idleEvictSeconds) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(REQUEST_CONFIG)
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .evictExpiredConnections()
+                .addRequestInterceptorFirst((request, entity, context) -> metrics.requestExecuted())
+                .addExecInterceptorFirst("abortable-body", AppConfig::abortableBody)
+                .build();
+    }
+
+    // Outermost in the exec chain, so it sees the body after gzip/deflate decoding. Without it a decoded body
+    // hides the connection's EofSensorInputStream, and closing a capped read drains the rest of the response.
+    private static ClassicHttpResponse abortableBody(ClassicHttpRequest request, ExecChain.Scope scope,
+                                                     ExecChain chain) throws IOException, HttpException {
+        ClassicHttpResponse response = chain.proceed(request, scope);
+        HttpEntity entity = response.getEntity();
+        if (entity != null && entity.isStreaming()) {
+            response.setEntity(new AbortableEntity(entity, scope.execRuntime));
+        }
+        return response;
+    }
+
+    // getContent() is an EofSensorInputStream whose abortConnection() discards the connection without reading on
+    private static final class AbortableEntity extends HttpEntityWrapper {
+
+        private final ExecRuntime execRuntime;
+        private InputStream content;
+
+        AbortableEntity(HttpEntity entity, ExecRuntime execRuntime) {
+            super(entity);
+            this.execRuntime = execRuntime;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (content == null) {
+                content = new EofSensorInputStream(super.getContent(), new EofSensorWatcher() {
+                    @Override
+                    public boolean eofDetected(InputStream wrapped) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean streamClosed(InputStream wrapped) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean streamAbort(InputStream wrapped) {
+                        // Closes the socket, so the later close of the decoded stream fails fast instead of draining
+                        execRuntime.discardEndpoint();
+                        return false;
+                    }
+                });
+            }
+            return content;
+        }
+    }
+
+    // Default transport: pooled HTTP/1.1 keep-alive connections with per-route limits and full pool stats
+    @Bean
+    @ConditionalOnProperty(name = "app.http-client.transport", havingValue = "apache", matchIfMissing = true)
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        // Timeouts live on the pooled client's connection and request config; a call with an OutboundDeadline
+        // gets lease and response timeouts capped at the time it has left
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient) {
+                    @Override
+                    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+                        long remainingMs = OutboundDeadline.remainingMillis();
+                        if (remainingMs < 0) {
+                            return null;
+                        }
+                        Timeout remaining = Timeout.ofMilliseconds(Math.min(remainingMs, READ_TIMEOUT.toMilliseconds()));
+                        HttpClientContext context = HttpClientContext.create();
+                        context.setRequestConfig(RequestConfig.copy(REQUEST_CONFIG)
+                                .setConnectionRequestTimeout(remaining)
+                                .setResponseTimeout(remaining)
+                                .build());
+                        return context;
+                    }
+                })
+                .build();
+    }
+
+    // app.http-client.transport=jdk: the JDK client negotiates HTTP/2 (ALPN over TLS, h2c upgrade otherwise)
+    // and multiplexes concurrent requests to a host over one connection, falling back to pooled HTTP/1.1.
+    // It has no per-host limit and exposes no pool counters, so the stats endpoint only counts requests.
+    @Bean
+    @ConditionalOnProperty(name = "app.http-client.transport", havingValue = "jdk")
+    public HttpClient jdkHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(CONNECT_TIMEOUT.toMilliseconds()))
+                // Same redirect handling as the Apache client's default strategy
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    @ConditionalOnProperty(name = "app.http-client.transport", havingValue = "jdk")
+    public RestTemplate jdkRestTemplate(RestTemplateBuilder builder, HttpClient jdkHttpClient,
+                                        HttpClientPoolMetrics metrics) {
+        metrics.useJdkTransport();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(jdkHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(READ_TIMEOUT.toMilliseconds()));
         return builder
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(10))
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors((request, body, execution) -> {
+                    metrics.requestExecuted();
+                    return execution.execute(request, body);
+                })
                 .build();
     }
-}
\ No newline at end of file
+}
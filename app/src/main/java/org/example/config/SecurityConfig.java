@@ -2,6 +2,7 @@ package org.example.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.User;
@@ -28,6 +29,12 @@ public class SecurityConfig {
                 .requestMatchers("/", "/greeting", "/help", "/error", "/login", "/oauth2/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                // Admin-only diagnostics: in-process JFR recordings
+                .requestMatchers("/utils/profile/**").hasRole("ADMIN")
+                // Admin-only load generation against caller-chosen URLs
+                .requestMatchers("/api/load-test/**").hasRole("ADMIN")
+                // Admin-only reloads that re-read a large table from disk
+                .requestMatchers(HttpMethod.POST, "/api/geoip/reload", "/api/network-tags/reload").hasRole("ADMIN")
                 // Protected endpoints - authentication required
                 .requestMatchers("/api/**", "/utils/**", "/status", "/echo/**", "/random").authenticated()
                 .anyRequest().authenticated()
@@ -1,12 +1,37 @@
 package org.example.controller;
 
 import org.example.service.ApiPingService;
+import org.example.service.BatchPingService;
+import org.example.service.GeoIpDatabase;
+import org.example.service.HostCircuitBreakerRegistry;
+import org.example.service.HttpClientPoolMetrics;
+import org.example.service.IpLocationCache;
 import org.example.service.IpLocationService;
+import org.example.service.LoadTestService;
+import org.example.service.LogEnrichmentService;
+import org.example.service.NetworkTagDatabase;
+import org.example.service.PingResultCache;
+import org.example.service.PingStreamService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api")
@@ -16,10 +41,52 @@ public class ApiController {
     private ApiPingService apiPingService;
 
     @Autowired
-    private IpLocationService ipLocationService;
+    private IpLocationCache ipLocationCache;
+
+    @Autowired
+    private BatchPingService batchPingService;
+
+    @Autowired
+    private HttpClientPoolMetrics httpClientPoolMetrics;
+
+    @Autowired
+    private PingStreamService pingStreamService;
+
+    @Autowired
+    private LoadTestService loadTestService;
+
+    @Autowired
+    private PingResultCache pingResultCache;
+
+    @Autowired
+    private HostCircuitBreakerRegistry circuitBreakers;
+
+    @Autowired
+    private GeoIpDatabase geoIpDatabase;
+
+    @Autowired
+    private NetworkTagDatabase networkTagDatabase;
+
+    @Autowired
+    private LogEnrichmentService logEnrichmentService;
+
+    @Value("${app.ping.batch.timeout-ms:600000}")
+    private long batchTimeoutMs;
+
+    @Value("${app.ip-location.batch.max-size:10000}")
+    private int ipBatchMaxSize;
+
+    @Value("${app.ip-location.enrich.timeout-ms:3600000}")
+    private long enrichTimeoutMs;
+
+    // Time allowed after the last scheduled load-test request for the ones in flight to finish
+    @Value("${app.load-test.drain-timeout-ms:30000}")
+    private long loadTestDrainTimeoutMs;
 
     @GetMapping("/ping")
-    public ResponseEntity<Map<String, Object>> pingEndpoint(@RequestParam String url) {
+    public ResponseEntity<Map<String, Object>> pingEndpoint(@RequestParam String url,
+                                                            @RequestParam(defaultValue = "false") boolean detailed,
+                                                            @RequestParam(defaultValue = "false") boolean checksum) {
         if (url == null || url.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of(
                 "error", "URL parameter is required",
@@ -27,7 +94,9 @@ public class ApiController {
             ));
         }
         
-        Map<String, Object> result = apiPingService.pingEndpoint(url);
+        Map<String, Object> result = detailed
+                ? apiPingService.pingEndpointDetailed(url)
+                : apiPingService.pingEndpoint(url, checksum);
         return ResponseEntity.ok(result);
     }
 
@@ -40,7 +109,7 @@ public class ApiController {
             ));
         }
         
-        Map<String, Object> result = apiPingService.healthCheck(url);
+        Map<String, Object> result = pingResultCache.healthCheck(url);
         return ResponseEntity.ok(result);
     }
 
@@ -53,7 +122,7 @@ public class ApiController {
             ));
         }
         
-        Map<String, Object> result = apiPingService.getEndpointInfo(url);
+        Map<String, Object> result = pingResultCache.getEndpointInfo(url);
         return ResponseEntity.ok(result);
     }
 
@@ -67,10 +136,137 @@ public class ApiController {
             ));
         }
         
-        Map<String, Object> result = apiPingService.pingEndpoint(url);
+        Map<String, Object> result = Boolean.parseBoolean(request.get("detailed"))
+                ? apiPingService.pingEndpointDetailed(url)
+                : apiPingService.pingEndpoint(url, Boolean.parseBoolean(request.get("checksum")));
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/ping/batch")
+    public ResponseEntity<ResponseBodyEmitter> pingBatch(@RequestBody Map<String, List<String>> request) {
+        List<String> urls = request.get("urls");
+        if (urls == null || urls.isEmpty()) {
+            return badRequestStream(Map.of(
+                "error", "urls array is required in request body",
+                "example", "{ \"urls\": [\"https://httpbin.org/get\", \"https://example.com\"] }"
+            ));
+        }
+        if (urls.size() > batchPingService.getMaxBatchSize()) {
+            return badRequestStream(Map.of(
+                "error", "Too many URLs in one batch",
+                "provided", urls.size(),
+                "max", batchPingService.getMaxBatchSize()
+            ));
+        }
+        if (urls.stream().anyMatch(url -> url == null || url.trim().isEmpty())) {
+            return badRequestStream(Map.of(
+                "error", "urls must not contain empty entries"
+            ));
+        }
+
+        // One JSON object per line, written as soon as each ping completes
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchTimeoutMs);
+        batchPingService.pingAll(urls, result -> {
+            try {
+                synchronized (emitter) {
+                    emitter.send(result, MediaType.APPLICATION_JSON);
+                    emitter.send("\n", MediaType.TEXT_PLAIN);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; remaining pings still release their permits normally
+            }
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    @GetMapping("/ping/stream")
+    public ResponseEntity<SseEmitter> pingStream(@RequestParam String url,
+                                                 @RequestParam(defaultValue = "5") long interval) {
+        if (url == null || url.trim().isEmpty() || interval < 1 || interval > 3600) {
+            SseEmitter emitter = new SseEmitter();
+            try {
+                emitter.send(SseEmitter.event().name("error").data(Map.of(
+                    "error", "URL parameter is required and interval must be between 1 and 3600 seconds",
+                    "example", "/api/ping/stream?url=https://httpbin.org/get&interval=5"
+                ), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+            return ResponseEntity.badRequest().body(emitter);
+        }
+
+        try {
+            return ResponseEntity.ok(pingStreamService.subscribe(url.trim(), interval));
+        } catch (IllegalStateException e) {
+            SseEmitter emitter = new SseEmitter();
+            try {
+                emitter.send(SseEmitter.event().name("error").data(Map.of("error", e.getMessage()),
+                    MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException sendError) {
+                emitter.completeWithError(sendError);
+            }
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(emitter);
+        }
+    }
+
+    // Admin only (see SecurityConfig). The run happens off the servlet thread; the response is sent when it ends.
+    @PostMapping("/load-test")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> runLoadTest(@RequestBody Map<String, Object> request) {
+        DeferredResult<ResponseEntity<Map<String, Object>>> result = new DeferredResult<>(
+                loadTestService.getMaxDurationSeconds() * 1000L + loadTestDrainTimeoutMs,
+                ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of(
+                    "error", "Load test did not finish in time"
+                )));
+        Object url = request.get("url");
+        if (url == null || url.toString().trim().isEmpty()) {
+            result.setResult(ResponseEntity.badRequest().body(Map.of(
+                "error", "URL is required in request body",
+                "example", "{ \"url\": \"https://httpbin.org/get\", \"requestsPerSecond\": 50, \"durationSeconds\": 30, \"concurrency\": 20 }"
+            )));
+            return result;
+        }
+
+        try {
+            loadTestService.runLoadTest(
+                    url.toString().trim(),
+                    Integer.parseInt(request.getOrDefault("requestsPerSecond", 10).toString()),
+                    Integer.parseInt(request.getOrDefault("durationSeconds", 10).toString()),
+                    Integer.parseInt(request.getOrDefault("concurrency", 10).toString()))
+                .whenComplete((summary, error) -> {
+                    if (error == null) {
+                        result.setResult(ResponseEntity.ok(summary));
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                            "error", "Load test failed: " + cause.getMessage()
+                        )));
+                    }
+                });
+        } catch (NumberFormatException e) {
+            result.setResult(ResponseEntity.badRequest().body(Map.of(
+                "error", "requestsPerSecond, durationSeconds and concurrency must be whole numbers"
+            )));
+        } catch (IllegalArgumentException e) {
+            result.setResult(ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage()
+            )));
+        } catch (IllegalStateException e) {
+            result.setResult(ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", e.getMessage()
+            )));
+        }
+        return result;
+    }
+
     @GetMapping("/ip-location")
     public ResponseEntity<Map<String, Object>> getIpLocation(@RequestParam String ip) {
         if (ip == null || ip.trim().isEmpty()) {
@@ -80,8 +276,8 @@ public class ApiController {
             ));
         }
         
-        Map<String, Object> result = ipLocationService.getIpLocation(ip);
-        return ResponseEntity.ok(result);
+        Map<String, Object> result = ipLocationCache.getIpLocation(ip);
+        return ipLocationResponse(result);
     }
 
     @PostMapping("/ip-location")
@@ -94,10 +290,182 @@ public class ApiController {
             ));
         }
         
-        Map<String, Object> result = ipLocationService.getIpLocation(ip);
+        Map<String, Object> result = ipLocationCache.getIpLocation(ip);
+        return ipLocationResponse(result);
+    }
+
+    @PostMapping("/ip-location/batch")
+    public ResponseEntity<Map<String, Object>> getIpLocationBatch(@RequestBody Map<String, List<String>> request) {
+        List<String> ips = request.get("ips");
+        if (ips == null || ips.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "ips array is required in request body",
+                "example", "{ \"ips\": [\"8.8.8.8\", \"1.1.1.1\"] }"
+            ));
+        }
+        if (ips.size() > ipBatchMaxSize) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Too many IPs in one batch",
+                "provided", ips.size(),
+                "max", ipBatchMaxSize
+            ));
+        }
+
+        long startTime = System.currentTimeMillis();
+        Set<String> invalid = new LinkedHashSet<>();
+        for (String ip : ips) {
+            if (!IpLocationService.isValidIpAddress(ip)) {
+                invalid.add(String.valueOf(ip));
+            }
+        }
+        // Duplicates and cache hits are resolved locally; the rest go upstream in grouped batch calls
+        List<Map<String, Object>> results = ipLocationCache.getIpLocations(ips);
+        long cacheHits = results.stream()
+                .filter(result -> result.get("cache") instanceof Map<?, ?> cache && "HIT".equals(cache.get("status")))
+                .count();
+        long retryAfterMs = 0;
+        int rateLimited = 0;
+        for (Map<String, Object> result : results) {
+            if ("RATE_LIMITED".equals(result.get("status"))) {
+                rateLimited++;
+                retryAfterMs = Math.max(retryAfterMs, ((Number) result.get("retryAfterMs")).longValue());
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("requested", ips.size());
+        response.put("unique", results.size());
+        response.put("invalid", invalid);
+        response.put("cacheHits", cacheHits);
+        response.put("rateLimited", rateLimited);
+        response.put("durationMs", System.currentTimeMillis() - startTime);
+        response.put("results", results);
+        // Partial answers are still returned; Retry-After tells the caller when to resubmit the rest
+        if (rateLimited > 0) {
+            return ResponseEntity.ok().header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(retryAfterMs)).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // Our ip-api budget is exhausted: pass the back-pressure on instead of queueing the caller
+    private ResponseEntity<Map<String, Object>> ipLocationResponse(Map<String, Object> result) {
+        if ("RATE_LIMITED".equals(result.get("status"))) {
+            long retryAfterMs = ((Number) result.get("retryAfterMs")).longValue();
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(retryAfterMs))
+                    .body(result);
+        }
         return ResponseEntity.ok(result);
     }
 
+    static String retryAfterSeconds(long retryAfterMs) {
+        return String.valueOf(Math.max(1, (retryAfterMs + 999) / 1000));
+    }
+
+    // Streams an NDJSON or CSV log back with geolocation added to each record; the upload is read
+    // window by window while the response is being written, never buffered as a whole
+    @PostMapping("/ip-location/enrich")
+    public ResponseEntity<ResponseBodyEmitter> enrichLog(HttpServletRequest request,
+                                                         @RequestParam(required = false) String format,
+                                                         @RequestParam(defaultValue = "ip") String ipField) {
+        LogEnrichmentService.Format resolved;
+        if (format != null) {
+            try {
+                resolved = LogEnrichmentService.Format.valueOf(format.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return badRequestStream(Map.of(
+                    "error", "format must be ndjson or csv",
+                    "example", "POST /api/ip-location/enrich?format=csv&ipField=client_ip"
+                ));
+            }
+        } else {
+            String contentType = request.getContentType();
+            resolved = contentType != null && contentType.toLowerCase().contains("csv")
+                    ? LogEnrichmentService.Format.CSV
+                    : LogEnrichmentService.Format.NDJSON;
+        }
+
+        LogEnrichmentService.EnrichmentJob job;
+        try {
+            job = logEnrichmentService.open(request.getInputStream(), resolved, ipField);
+        } catch (IllegalArgumentException | IOException e) {
+            return badRequestStream(Map.of(
+                "error", e.getMessage(),
+                "example", "POST /api/ip-location/enrich?format=csv&ipField=client_ip"
+            ));
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(enrichTimeoutMs);
+        MediaType chunkType = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        logEnrichmentService.run(job, chunk -> {
+            try {
+                emitter.send(chunk, chunkType);
+            } catch (IOException e) {
+                // Client went away: stop reading the upload
+                throw new IllegalStateException("Client disconnected", e);
+            }
+        }).whenComplete((summary, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        });
+
+        MediaType responseType = resolved == LogEnrichmentService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok().contentType(responseType).body(emitter);
+    }
+
+    @GetMapping("/http-client/stats")
+    public ResponseEntity<Map<String, Object>> getHttpClientStats() {
+        Map<String, Object> stats = new HashMap<>(httpClientPoolMetrics.getStats());
+        // Each open ping stream group issues one outbound ping per interval
+        stats.put("pingStreams", pingStreamService.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(pingResultCache.getStats());
+    }
+
+    @GetMapping("/geoip/stats")
+    public ResponseEntity<Map<String, Object>> getGeoIpStats() {
+        return ResponseEntity.ok(geoIpDatabase.getStats());
+    }
+
+    @PostMapping("/geoip/reload")
+    public ResponseEntity<Map<String, Object>> reloadGeoIp() {
+        Map<String, Object> result = geoIpDatabase.reload();
+        return "SUCCESS".equals(result.get("status"))
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result);
+    }
+
+    @GetMapping("/network-tags/stats")
+    public ResponseEntity<Map<String, Object>> getNetworkTagStats() {
+        return ResponseEntity.ok(networkTagDatabase.getStats());
+    }
+
+    @PostMapping("/network-tags/reload")
+    public ResponseEntity<Map<String, Object>> reloadNetworkTags() {
+        Map<String, Object> result = networkTagDatabase.reload();
+        return "SUCCESS".equals(result.get("status"))
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result);
+    }
+
+    @GetMapping("/circuit-breakers")
+    public ResponseEntity<Map<String, Object>> getCircuitBreakers() {
+        List<Map<String, Object>> breakers = circuitBreakers.getStates();
+        return ResponseEntity.ok(Map.of(
+            "count", breakers.size(),
+            "breakers", breakers
+        ));
+    }
+
     @GetMapping("/test-endpoints")
     public ResponseEntity<Map<String, Object>> getTestEndpoints() {
         return ResponseEntity.ok(Map.of(
@@ -126,10 +494,26 @@ public class ApiController {
             ),
             "usage", Map.of(
                 "ping", "/api/ping?url=https://httpbin.org/get",
+                "ping_batch", "POST /api/ping/batch",
+                "ping_stream", "/api/ping/stream?url=https://httpbin.org/get&interval=5",
+                "load_test", "POST /api/load-test",
                 "health", "/api/health-check?url=https://httpbin.org",
                 "info", "/api/endpoint-info?url=https://httpbin.org",
-                "ip_location", "/api/ip-location?ip=8.8.8.8"
+                "ip_location", "/api/ip-location?ip=8.8.8.8",
+                "ip_location_batch", "POST /api/ip-location/batch",
+                "ip_location_enrich", "POST /api/ip-location/enrich?format=ndjson|csv&ipField=ip"
             )
         ));
     }
+
+    private ResponseEntity<ResponseBodyEmitter> badRequestStream(Map<String, Object> body) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(body, MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(emitter);
+    }
 }
\ No newline at end of file
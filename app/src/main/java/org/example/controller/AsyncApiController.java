@@ -0,0 +1,97 @@
+package org.example.controller;
+
+import org.example.service.AsyncOutboundService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+@RestController
+@RequestMapping("/api/async")
+public class AsyncApiController {
+
+    @Autowired
+    private AsyncOutboundService asyncOutboundService;
+
+    @GetMapping("/ping")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> pingEndpoint(@RequestParam String url) {
+        if (url == null || url.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
+                "error", "URL parameter is required",
+                "example", "/api/async/ping?url=https://httpbin.org/get"
+            )));
+        }
+        return respond(asyncOutboundService.pingEndpoint(url));
+    }
+
+    @GetMapping("/health-check")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> healthCheck(@RequestParam String url) {
+        if (url == null || url.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
+                "error", "URL parameter is required",
+                "example", "/api/async/health-check?url=https://httpbin.org"
+            )));
+        }
+        return respond(asyncOutboundService.healthCheck(url));
+    }
+
+    @GetMapping("/endpoint-info")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getEndpointInfo(@RequestParam String url) {
+        if (url == null || url.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
+                "error", "URL parameter is required",
+                "example", "/api/async/endpoint-info?url=https://httpbin.org"
+            )));
+        }
+        return respond(asyncOutboundService.getEndpointInfo(url));
+    }
+
+    @GetMapping("/ip-location")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getIpLocation(@RequestParam String ip) {
+        if (ip == null || ip.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
+                "error", "IP parameter is required",
+                "example", "/api/async/ip-location?ip=8.8.8.8"
+            )));
+        }
+        return respond(asyncOutboundService.getIpLocation(ip));
+    }
+
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> respond(CompletableFuture<Map<String, Object>> call) {
+        return call.handle((result, error) -> {
+            if (error == null) {
+                if ("RATE_LIMITED".equals(result.get("status"))) {
+                    long retryAfterMs = ((Number) result.get("retryAfterMs")).longValue();
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, ApiController.retryAfterSeconds(retryAfterMs))
+                            .body(result);
+                }
+                return ResponseEntity.ok(result);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of(
+                    "status", "ERROR",
+                    "message", "Upstream call did not finish within " + asyncOutboundService.getTimeoutMs() + "ms"
+                ));
+            }
+            if (cause instanceof RejectedExecutionException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "status", "ERROR",
+                    "message", "Too many outbound calls in progress, try again shortly"
+                ));
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "status", "ERROR",
+                "message", "Unexpected error: " + cause.getMessage()
+            ));
+        });
+    }
+}
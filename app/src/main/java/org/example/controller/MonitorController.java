@@ -0,0 +1,86 @@
+package org.example.controller;
+
+import org.example.service.MonitoringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/monitors")
+public class MonitorController {
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> register(@RequestBody Map<String, Object> request) {
+        Object url = request.get("url");
+        if (url == null || url.toString().trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "URL is required in request body",
+                "example", "{ \"url\": \"https://httpbin.org/get\", \"intervalSeconds\": 30, \"method\": \"HEAD\" }"
+            ));
+        }
+
+        long intervalSeconds;
+        try {
+            Object interval = request.getOrDefault("intervalSeconds", 60);
+            intervalSeconds = Long.parseLong(interval.toString());
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "intervalSeconds must be a whole number of seconds"
+            ));
+        }
+        Object method = request.get("method");
+
+        try {
+            Map<String, Object> target = monitoringService.register(url.toString().trim(), intervalSeconds,
+                    method != null ? method.toString() : null);
+            return ResponseEntity.status(HttpStatus.CREATED).body(target);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "supportedMethods", MonitoringService.SUPPORTED_METHODS
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> listTargets() {
+        List<Map<String, Object>> targets = monitoringService.listTargets();
+        return ResponseEntity.ok(Map.of(
+            "count", targets.size(),
+            "targets", targets
+        ));
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<Map<String, Object>> getStats(@PathVariable long id) {
+        return monitoringService.getStats(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                    "error", "No monitor registered with id " + id
+                )));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> unregister(@PathVariable long id) {
+        if (!monitoringService.unregister(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "error", "No monitor registered with id " + id
+            ));
+        }
+        return ResponseEntity.ok(Map.of(
+            "id", id,
+            "message", "Monitor removed"
+        ));
+    }
+}
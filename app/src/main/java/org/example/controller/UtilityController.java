@@ -1,11 +1,39 @@
 package org.example.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.service.Base64StreamService;
+import org.example.service.CodecService;
+import org.example.service.EmailValidationService;
+import org.example.service.JvmTelemetrySampler;
+import org.example.service.ProfilingService;
+import org.example.service.RandomDataStreamService;
+import org.example.service.TimeConversionService;
 import org.example.service.UtilityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/utils")
@@ -14,12 +42,130 @@ public class UtilityController {
     @Autowired
     private UtilityService utilityService;
 
+    @Autowired
+    private RandomDataStreamService randomDataStreamService;
+
+    @Autowired
+    private EmailValidationService emailValidationService;
+
+    @Autowired
+    private Base64StreamService base64StreamService;
+
+    @Autowired
+    private CodecService codecService;
+
+    @Autowired
+    private TimeConversionService timeConversionService;
+
+    @Autowired
+    private JvmTelemetrySampler jvmTelemetrySampler;
+
+    @Autowired
+    private ProfilingService profilingService;
+
+    @Value("${app.random-data.stream.timeout-ms:1800000}")
+    private long randomStreamTimeoutMs;
+
+    @Value("${app.email.stream.timeout-ms:1800000}")
+    private long emailStreamTimeoutMs;
+
+    @Value("${app.base64.stream.timeout-ms:1800000}")
+    private long base64StreamTimeoutMs;
+
+    @Value("${app.time.stream.timeout-ms:1800000}")
+    private long timeStreamTimeoutMs;
+
+    @Value("${app.profile.parse-timeout-ms:60000}")
+    private long profileParseTimeoutMs;
+
     @GetMapping("/system-info")
     public ResponseEntity<Map<String, Object>> getSystemInfo() {
         Map<String, Object> systemInfo = utilityService.getSystemInfo();
         return ResponseEntity.ok(systemInfo);
     }
 
+    @GetMapping("/system-info/telemetry")
+    public ResponseEntity<Map<String, Object>> getTelemetry(
+            @RequestParam(defaultValue = "0") int last) {
+        if (last < 0) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "last must not be negative",
+                "provided", last
+            ));
+        }
+        return ResponseEntity.ok(jvmTelemetrySampler.series(last));
+    }
+
+    @GetMapping("/system-info/threads")
+    public ResponseEntity<Map<String, Object>> getTopThreads(
+            @RequestParam(defaultValue = "10") int top,
+            @RequestParam(defaultValue = "cpu") String sort,
+            @RequestParam(defaultValue = "0") long windowMs) throws InterruptedException {
+        if (top < 1 || top > 100) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "top must be between 1 and 100",
+                "provided", top
+            ));
+        }
+        if (windowMs < 0 || windowMs > 10_000) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "windowMs must be between 0 and 10000",
+                "provided", windowMs
+            ));
+        }
+        return ResponseEntity.ok(jvmTelemetrySampler.topThreads(top, sort, windowMs));
+    }
+
+    // Admin only (see SecurityConfig). Holds the request open for the recording, then answers with the summary;
+    // keep=true also retains the .jfr file for /utils/profile/recording.
+    @GetMapping("/profile")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> profile(
+            @RequestParam(defaultValue = "30") int seconds,
+            @RequestParam(defaultValue = "false") boolean keep) {
+        // Leave time for stopping the recording and parsing it on top of the recording itself
+        ResponseEntity<Map<String, Object>> timedOut = ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of(
+            "error", "Profiling did not finish in time"
+        ));
+        DeferredResult<ResponseEntity<Map<String, Object>>> result =
+                new DeferredResult<>(Math.max(seconds, 0) * 1000L + profileParseTimeoutMs, timedOut);
+        try {
+            profilingService.profile(seconds, keep).whenComplete((summary, error) -> {
+                if (error == null) {
+                    result.setResult(ResponseEntity.ok(summary));
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                        "error", "Profiling failed: " + cause.getMessage()
+                    )));
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            result.setResult(ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "provided", seconds
+            )));
+        } catch (IllegalStateException e) {
+            result.setResult(ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", e.getMessage()
+            )));
+        }
+        return result;
+    }
+
+    @GetMapping("/profile/recording")
+    public ResponseEntity<?> getProfileRecording() {
+        Path recording = profilingService.getLastRecording();
+        if (recording == null || !Files.exists(recording)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "error", "No kept recording; run /utils/profile?seconds=30&keep=true first"
+            ));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"profile.jfr\"")
+                .body(new FileSystemResource(recording));
+    }
+
     @GetMapping("/random-data")
     public ResponseEntity<Map<String, Object>> generateRandomData(
             @RequestParam(defaultValue = "5") int count) {
@@ -34,6 +180,56 @@ public class UtilityController {
         return ResponseEntity.ok(randomData);
     }
 
+    // Millions of rows for load-test fixtures, written block by block as they are generated.
+    // Pass the seed from the X-Random-Seed header to reproduce a dataset exactly.
+    @GetMapping("/random-data/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamRandomData(
+            @RequestParam(defaultValue = "1000") long rows,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(defaultValue = "false") boolean summary) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(randomStreamTimeoutMs);
+        RandomDataStreamService.Format resolved;
+        try {
+            resolved = RandomDataStreamService.Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return badRequestStream(emitter, Map.of(
+                "error", "format must be ndjson or csv",
+                "provided", format
+            ));
+        }
+        if (rows < 1 || rows > randomDataStreamService.getMaxRows()) {
+            return badRequestStream(emitter, Map.of(
+                "error", "rows must be between 1 and " + randomDataStreamService.getMaxRows(),
+                "provided", rows
+            ));
+        }
+
+        long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        randomDataStreamService.stream(rows, resolved, effectiveSeed, summary, chunk -> {
+            try {
+                emitter.send(chunk, MediaType.APPLICATION_OCTET_STREAM);
+            } catch (IOException e) {
+                // Client went away: stop generating
+                throw new IllegalStateException("Client disconnected", e);
+            }
+        }).whenComplete((stats, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        });
+
+        MediaType contentType = resolved == RandomDataStreamService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header("X-Random-Seed", String.valueOf(effectiveSeed))
+                .body(emitter);
+    }
+
     @GetMapping("/validate-email")
     public ResponseEntity<Map<String, Object>> validateEmail(@RequestParam String email) {
         Map<String, Object> validation = utilityService.validateEmail(email);
@@ -47,6 +243,48 @@ public class UtilityController {
         return ResponseEntity.ok(validation);
     }
 
+    @PostMapping("/validate-email/batch")
+    public ResponseEntity<Map<String, Object>> validateEmailBatch(@RequestBody Map<String, List<String>> request) {
+        List<String> emails = request.get("emails");
+        if (emails == null || emails.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "emails array is required in request body",
+                "example", "{ \"emails\": [\"user@example.com\", \"not-an-email\"] }"
+            ));
+        }
+        if (emails.size() > emailValidationService.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Too many emails in one batch, use /utils/validate-email/stream",
+                "provided", emails.size(),
+                "max", emailValidationService.getMaxBatchSize()
+            ));
+        }
+
+        return ResponseEntity.ok(emailValidationService.validateAll(emails));
+    }
+
+    // One address per line in, one NDJSON line per failure out, then a summary line
+    @PostMapping("/validate-email/stream")
+    public ResponseEntity<ResponseBodyEmitter> validateEmailStream(HttpServletRequest request) throws IOException {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(emailStreamTimeoutMs);
+        MediaType chunkType = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        emailValidationService.validateStream(request.getInputStream(), chunk -> {
+            try {
+                emitter.send(chunk, chunkType);
+            } catch (IOException e) {
+                // Client went away: stop reading the upload
+                throw new IllegalStateException("Client disconnected", e);
+            }
+        }).whenComplete((summary, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
     @GetMapping("/encode-base64")
     public ResponseEntity<Map<String, Object>> encodeBase64(@RequestParam String text) {
         Map<String, Object> result = utilityService.encodeBase64(text);
@@ -80,6 +318,208 @@ public class UtilityController {
         return ResponseEntity.ok(timeInfo);
     }
 
+    // Epoch timestamps that are wall-clock time in `from` (default UTC, i.e. plain instants) converted to
+    // wall-clock time in `to`, with the offset applied to each. format=iso adds ISO-8601 strings.
+    @PostMapping("/time/convert")
+    public ResponseEntity<Map<String, Object>> convertTimes(@RequestBody TimeConversionService.ConvertRequest request) {
+        long[] timestamps = request.timestamps();
+        if (timestamps == null || timestamps.length == 0) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "timestamps array is required in request body",
+                "example", "{ \"timestamps\": [1710037800000], \"from\": \"UTC\", \"to\": \"Asia/Tokyo\", \"unit\": \"ms\" }"
+            ));
+        }
+        if (timestamps.length > timeConversionService.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Too many timestamps in one batch, use /utils/time/convert/stream",
+                "provided", timestamps.length,
+                "max", timeConversionService.getMaxBatchSize()
+            ));
+        }
+
+        ZoneId from;
+        ZoneId to;
+        TimeConversionService.Unit unit;
+        try {
+            from = timeConversionService.resolveZone(request.from() != null ? request.from() : "UTC");
+            to = timeConversionService.resolveZone(request.to() != null ? request.to() : "UTC");
+            unit = TimeConversionService.Unit.parse(request.unit() != null ? request.unit() : "ms");
+        } catch (DateTimeException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        long startTime = System.nanoTime();
+        TimeConversionService.Conversion conversion;
+        try {
+            conversion = timeConversionService.convert(timestamps, from, to, unit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("from", from.getId());
+        result.put("to", to.getId());
+        result.put("unit", unit.name());
+        result.put("count", timestamps.length);
+        result.put("timestamps", conversion.timestamps());
+        result.put("offsetSeconds", conversion.offsets());
+        if ("iso".equalsIgnoreCase(request.format())) {
+            result.put("iso", timeConversionService.formatIso(conversion, unit));
+        }
+        result.put("durationMs", (System.nanoTime() - startTime) / 1_000_000);
+        return ResponseEntity.ok(result);
+    }
+
+    // One timestamp per line in, one converted value (or ISO string with format=iso) per line out
+    @PostMapping("/time/convert/stream")
+    public ResponseEntity<ResponseBodyEmitter> convertTimesStream(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "UTC") String from,
+            @RequestParam(defaultValue = "UTC") String to,
+            @RequestParam(defaultValue = "ms") String unit,
+            @RequestParam(defaultValue = "epoch") String format,
+            @RequestParam(defaultValue = "false") boolean summary) throws IOException {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeStreamTimeoutMs);
+        ZoneId fromZone;
+        ZoneId toZone;
+        TimeConversionService.Unit resolvedUnit;
+        try {
+            fromZone = timeConversionService.resolveZone(from);
+            toZone = timeConversionService.resolveZone(to);
+            resolvedUnit = TimeConversionService.Unit.parse(unit);
+        } catch (DateTimeException | IllegalArgumentException e) {
+            return badRequestStream(emitter, Map.of("error", e.getMessage()));
+        }
+
+        MediaType chunkType = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        timeConversionService.convertStream(request.getInputStream(), fromZone, toZone, resolvedUnit,
+                "iso".equalsIgnoreCase(format), summary, chunk -> {
+                    try {
+                        emitter.send(chunk, chunkType);
+                    } catch (IOException e) {
+                        // Client went away: stop reading the upload
+                        throw new IllegalStateException("Client disconnected", e);
+                    }
+                }).whenComplete((stats, error) -> complete(emitter, error));
+        return ResponseEntity.ok().contentType(chunkType).body(emitter);
+    }
+
+    // Zone IDs starting with prefix (case-insensitive), optionally only those at `offset` (e.g. +01:00)
+    // at the instant `at` (epoch seconds, default now)
+    @GetMapping("/time/zones")
+    public ResponseEntity<Map<String, Object>> searchZones(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(required = false) String offset,
+            @RequestParam(required = false) Long at,
+            @RequestParam(defaultValue = "100") int limit) {
+        ZoneOffset resolvedOffset;
+        try {
+            resolvedOffset = offset != null ? ZoneOffset.of(offset.trim().replace(' ', '+')) : null;
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "offset must look like +01:00, -05:30 or Z",
+                "provided", offset
+            ));
+        }
+
+        long atEpochSecond = at != null ? at : Instant.now().getEpochSecond();
+        try {
+            return ResponseEntity.ok(timeConversionService.searchZones(prefix, resolvedOffset, atEpochSecond,
+                    Math.max(1, Math.min(limit, 1000))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "provided", at
+            ));
+        }
+    }
+
+    // Raw bytes in (any content type, usually application/octet-stream), Base64 text out, without
+    // buffering the payload. variant: basic, url (URL- and filename-safe) or mime (76-char lines).
+    @PostMapping("/encode-base64/stream")
+    public ResponseEntity<ResponseBodyEmitter> encodeBase64Stream(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "basic") String variant,
+            @RequestParam(defaultValue = "true") boolean padding) throws IOException {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(base64StreamTimeoutMs);
+        Base64StreamService.Variant resolved = base64Variant(variant);
+        if (resolved == null) {
+            return badRequestStream(emitter, Map.of(
+                "error", "variant must be basic, url or mime",
+                "provided", variant
+            ));
+        }
+
+        base64StreamService.encode(request.getInputStream(), resolved, padding, sendTo(emitter))
+                .whenComplete((stats, error) -> complete(emitter, error));
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.US_ASCII))
+                .body(emitter);
+    }
+
+    // Base64 text in, raw bytes out. Input that is invalid for the variant aborts the response part-way,
+    // since the status has already been sent; mime tolerates line breaks and other stray characters.
+    @PostMapping("/decode-base64/stream")
+    public ResponseEntity<ResponseBodyEmitter> decodeBase64Stream(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "basic") String variant) throws IOException {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(base64StreamTimeoutMs);
+        Base64StreamService.Variant resolved = base64Variant(variant);
+        if (resolved == null) {
+            return badRequestStream(emitter, Map.of(
+                "error", "variant must be basic, url or mime",
+                "provided", variant
+            ));
+        }
+
+        base64StreamService.decode(request.getInputStream(), resolved, sendTo(emitter))
+                .whenComplete((stats, error) -> complete(emitter, error));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(emitter);
+    }
+
+    // Raw bytes in, hex/Base32/Base64 text out. X-Codec-Path says whether the Vector API or the scalar code ran.
+    @PostMapping("/encode")
+    public ResponseEntity<?> encode(
+            @RequestParam String codec,
+            @RequestParam(defaultValue = "true") boolean padding,
+            @RequestBody(required = false) byte[] body) {
+        CodecService.Codec resolved = codec(codec);
+        byte[] input = body != null ? body : new byte[0];
+        ResponseEntity<?> invalid = checkCodecRequest(resolved, codec, input);
+        if (invalid != null) {
+            return invalid;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.US_ASCII))
+                .header("X-Codec-Path", codecService.getPath())
+                .body(codecService.encode(resolved, input, padding));
+    }
+
+    // The reverse of /encode: text in (padding optional, either case for hex), raw bytes out
+    @PostMapping("/decode")
+    public ResponseEntity<?> decode(
+            @RequestParam String codec,
+            @RequestBody(required = false) byte[] body) {
+        CodecService.Codec resolved = codec(codec);
+        byte[] input = body != null ? body : new byte[0];
+        ResponseEntity<?> invalid = checkCodecRequest(resolved, codec, input);
+        if (invalid != null) {
+            return invalid;
+        }
+
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header("X-Codec-Path", codecService.getPath())
+                    .body(codecService.decode(resolved, input));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "codec", resolved.name().toLowerCase()
+            ));
+        }
+    }
+
     @GetMapping("/help")
     public ResponseEntity<Map<String, Object>> getUtilityHelp() {
         return ResponseEntity.ok(Map.of(
@@ -87,33 +527,55 @@ public class UtilityController {
             "endpoints", Map.of(
                 "system-info", Map.of(
                     "method", "GET",
-                    "path", "/utils/system-info",
-                    "description", "Get system information"
+                    "path", "/utils/system-info (telemetry: /utils/system-info/telemetry?last=60, "
+                        + "/utils/system-info/threads?top=10&sort=cpu|allocated&windowMs=1000; "
+                        + "admin: /utils/profile?seconds=30&keep=true, /utils/profile/recording)",
+                    "description", "Get system information, sampled GC/memory/thread time series, top threads and JFR profiles"
                 ),
                 "random-data", Map.of(
                     "method", "GET",
                     "path", "/utils/random-data?count=10",
                     "description", "Generate random data (count: 1-100)"
                 ),
+                "random-data-stream", Map.of(
+                    "method", "GET",
+                    "path", "/utils/random-data/stream?rows=1000000&format=csv&seed=42&summary=true",
+                    "description", "Stream a large random dataset as NDJSON or CSV"
+                ),
                 "validate-email", Map.of(
                     "method", "GET/POST",
                     "path", "/utils/validate-email?email=test@example.com",
                     "description", "Validate email format"
                 ),
+                "validate-email-batch", Map.of(
+                    "method", "POST",
+                    "path", "/utils/validate-email/batch (or /utils/validate-email/stream with one address per line)",
+                    "description", "Validate many emails; returns a summary and only the failures"
+                ),
                 "encode-base64", Map.of(
                     "method", "GET/POST",
-                    "path", "/utils/encode-base64?text=hello",
-                    "description", "Encode text to Base64"
+                    "path", "/utils/encode-base64?text=hello (binary: POST /utils/encode-base64/stream?variant=url)",
+                    "description", "Encode text to Base64; the stream form takes raw bytes"
                 ),
                 "decode-base64", Map.of(
                     "method", "GET/POST",
-                    "path", "/utils/decode-base64?encoded=aGVsbG8=",
-                    "description", "Decode Base64 to text"
+                    "path", "/utils/decode-base64?encoded=aGVsbG8= (binary: POST /utils/decode-base64/stream?variant=mime)",
+                    "description", "Decode Base64 to text; the stream form returns raw bytes"
+                ),
+                "encode-decode", Map.of(
+                    "method", "POST",
+                    "path", "/utils/encode?codec=hex (and /utils/decode?codec=base32) with the raw body",
+                    "description", "Hex, Base32, Base64 and Base64URL on the Vector API with a scalar fallback"
                 ),
                 "current-time", Map.of(
                     "method", "GET",
                     "path", "/utils/current-time?timezone=UTC",
                     "description", "Get current time in specified timezone"
+                ),
+                "time-convert", Map.of(
+                    "method", "POST/GET",
+                    "path", "/utils/time/convert (or /utils/time/convert/stream), /utils/time/zones?prefix=Europe/&offset=+01:00",
+                    "description", "Convert many epoch timestamps between zones; search zone IDs by prefix and offset"
                 )
             ),
             "examples", Map.of(
@@ -128,4 +590,66 @@ public class UtilityController {
             )
         ));
     }
-}
\ No newline at end of file
+
+    private static CodecService.Codec codec(String codec) {
+        try {
+            return CodecService.Codec.parse(codec);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ResponseEntity<?> checkCodecRequest(CodecService.Codec resolved, String codec, byte[] input) {
+        if (resolved == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "codec must be hex, base32, base64 or base64url",
+                "provided", codec
+            ));
+        }
+        if (input.length > codecService.getMaxBytes()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Request body too large, use /utils/encode-base64/stream for large Base64 payloads",
+                "provided", input.length,
+                "max", codecService.getMaxBytes()
+            ));
+        }
+        return null;
+    }
+
+    private static Base64StreamService.Variant base64Variant(String variant) {
+        try {
+            return Base64StreamService.Variant.valueOf(variant.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Consumer<byte[]> sendTo(ResponseBodyEmitter emitter) {
+        return chunk -> {
+            try {
+                emitter.send(chunk, MediaType.APPLICATION_OCTET_STREAM);
+            } catch (IOException e) {
+                // Client went away: stop reading the upload
+                throw new IllegalStateException("Client disconnected", e);
+            }
+        };
+    }
+
+    private static void complete(ResponseBodyEmitter emitter, Throwable error) {
+        if (error != null) {
+            emitter.completeWithError(error);
+        } else {
+            emitter.complete();
+        }
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> badRequestStream(ResponseBodyEmitter emitter, Map<String, Object> body) {
+        try {
+            emitter.send(body, MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(emitter);
+    }
+}
@@ -1,29 +1,95 @@
 package org.example.service;
 
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
 
 @Service
 public class ApiPingService {
 
     private final RestTemplate restTemplate;
+    private final HostCircuitBreakerRegistry circuitBreakers;
+    private final long maxBodyBytes;
+    private final HttpPhaseTimer phaseTimer;
 
-    public ApiPingService(RestTemplate restTemplate) {
+    public ApiPingService(RestTemplate restTemplate,
+                          HostCircuitBreakerRegistry circuitBreakers,
+                          @Value("${app.ping.max-body-bytes:10485760}") long maxBodyBytes) {
         this.restTemplate = restTemplate;
+        this.circuitBreakers = circuitBreakers;
+        this.maxBodyBytes = maxBodyBytes;
+        this.phaseTimer = new HttpPhaseTimer(10_000, 10_000, maxBodyBytes, 30_000);
     }
 
     public Map<String, Object> pingEndpoint(String url) {
+        return pingEndpoint(url, false);
+    }
+
+    public Map<String, Object> pingEndpoint(String url, boolean checksum) {
+        return guarded(url, () -> doPingEndpoint(url, checksum));
+    }
+
+    public Map<String, Object> pingEndpointDetailed(String url) {
+        return guarded(url, () -> doPingEndpointDetailed(url));
+    }
+
+    public Map<String, Object> healthCheck(String url) {
+        return guarded(url, () -> doHealthCheck(url));
+    }
+
+    public Map<String, Object> getEndpointInfo(String url) {
+        return guarded(url, () -> doGetEndpointInfo(url));
+    }
+
+    // Fails fast while the target host's circuit is open, and feeds every outcome back to its breaker
+    private Map<String, Object> guarded(String url, Supplier<Map<String, Object>> call) {
+        String host = HostCircuitBreakerRegistry.hostOf(url);
+        long permit = circuitBreakers.tryAcquire(host);
+        if (permit == HostCircuitBreakerRegistry.REJECTED) {
+            long retryAfterMs = circuitBreakers.retryAfterMillis(host);
+            Map<String, Object> result = new HashMap<>();
+            result.put("url", url);
+            result.put("timestamp", LocalDateTime.now());
+            result.put("status", "CIRCUIT_OPEN");
+            result.put("retryAfterMs", retryAfterMs);
+            result.put("message", "Circuit open for host " + host + " after repeated failures; not calling it for "
+                    + retryAfterMs + "ms");
+            return result;
+        }
+
+        long start = System.nanoTime();
+        Map<String, Object> result = call.get();
+        circuitBreakers.record(host, permit, isHostFailure(result), System.nanoTime() - start);
+        return result;
+    }
+
+    // Connection failures and 5xx count against the host; 4xx means the host answered
+    private static boolean isHostFailure(Map<String, Object> result) {
+        Object status = result.get("status");
+        if ("SUCCESS".equals(status) || "HEALTHY".equals(status)) {
+            return false;
+        }
+        return !(result.get("httpStatus") instanceof Integer httpStatus) || httpStatus >= 500;
+    }
+
+    private Map<String, Object> doPingEndpoint(String url, boolean checksum) {
         Map<String, Object> result = new HashMap<>();
         result.put("url", url);
         result.put("timestamp", LocalDateTime.now());
@@ -31,17 +97,22 @@ public class ApiPingService {
         try {
             long startTime = System.currentTimeMillis();
             
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+            BodyStats body = restTemplate.execute(url, HttpMethod.GET, null, response -> measureBody(response, checksum));
 
             long endTime = System.currentTimeMillis();
             long responseTime = endTime - startTime;
 
             result.put("status", "SUCCESS");
-            result.put("httpStatus", response.getStatusCode().value());
+            result.put("httpStatus", body.httpStatus());
             result.put("responseTime", responseTime + "ms");
-            result.put("responseLength", response.getBody() != null ? response.getBody().length() : 0);
+            result.put("responseLength", body.bytes());
+            result.put("truncated", body.truncated());
+            result.put("downloadMBps", body.megabytesPerSecond());
+            if (body.checksum() != null) {
+                result.put("checksum", body.checksum());
+            }
             result.put("message", "Endpoint is reachable");
-            result.put("headers", response.getHeaders().toSingleValueMap());
+            result.put("headers", body.headers());
 
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             result.put("status", "ERROR");
@@ -58,7 +129,95 @@ public class ApiPingService {
         return result;
     }
 
-    public Map<String, Object> healthCheck(String url) {
+    // Lean GET used by the load generator on its own client: no result map, throws on connection and HTTP errors
+    public int fetchStatus(RestTemplate client, String url) {
+        BodyStats body = client.execute(url, HttpMethod.GET, null, response -> measureBody(response, false));
+        return body.httpStatus();
+    }
+
+    // Counts the body through a fixed buffer instead of materialising it, so memory stays flat for any size
+    private BodyStats measureBody(ClientHttpResponse response, boolean checksum) throws IOException {
+        CRC32C crc = checksum ? new CRC32C() : null;
+        byte[] buffer = new byte[16 * 1024];
+        long bytes = 0;
+        boolean truncated = false;
+        long transferStart = System.nanoTime();
+
+        try (InputStream in = response.getBody()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                long allowed = maxBodyBytes - bytes;
+                if (read > allowed) {
+                    read = (int) allowed;
+                    truncated = true;
+                }
+                bytes += read;
+                if (crc != null) {
+                    crc.update(buffer, 0, read);
+                }
+                if (truncated) {
+                    // Drop the connection instead of letting close() drain the rest of an oversized body. With the
+                    // pooled client this is the outermost stream even for gzip bodies (see AppConfig.abortableBody)
+                    if (in instanceof EofSensorInputStream eofSensor) {
+                        eofSensor.abortConnection();
+                    }
+                    break;
+                }
+            }
+        }
+
+        long transferNanos = System.nanoTime() - transferStart;
+        return new BodyStats(
+                response.getStatusCode().value(),
+                response.getHeaders().toSingleValueMap(),
+                bytes,
+                truncated,
+                transferNanos,
+                crc != null ? String.format("crc32c:%08x", crc.getValue()) : null);
+    }
+
+    private Map<String, Object> doPingEndpointDetailed(String url) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("url", url);
+        result.put("timestamp", LocalDateTime.now());
+
+        try {
+            HttpPhaseTimer.PhaseTimings timings = phaseTimer.measure(url);
+            boolean success = timings.httpStatus() < 400;
+
+            Map<String, Object> phases = new HashMap<>();
+            phases.put("dnsNanos", timings.dnsNanos());
+            phases.put("connectNanos", timings.connectNanos());
+            phases.put("tlsNanos", timings.tlsNanos());
+            phases.put("timeToFirstByteNanos", timings.timeToFirstByteNanos());
+            phases.put("transferNanos", timings.transferNanos());
+            phases.put("totalNanos", timings.totalNanos());
+
+            result.put("status", success ? "SUCCESS" : "ERROR");
+            result.put("httpStatus", timings.httpStatus());
+            result.put("responseTimeMs", timings.totalNanos() / 1_000_000.0);
+            result.put("timings", phases);
+            result.put("bodyBytes", timings.bodyBytes());
+            result.put("truncated", timings.truncated());
+            result.put("remoteAddress", timings.remoteAddress());
+            result.put("tlsProtocol", timings.tlsProtocol());
+            result.put("message", success ? "Endpoint is reachable" : "HTTP Error: " + timings.httpStatus());
+
+        } catch (IllegalArgumentException e) {
+            result.put("status", "ERROR");
+            result.put("message", "Invalid URL: " + e.getMessage());
+        } catch (IOException e) {
+            result.put("status", "ERROR");
+            result.put("message", "Connection failed: " + e.getMessage());
+        } catch (Exception e) {
+            result.put("status", "ERROR");
+            result.put("message", "Unexpected error: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    private Map<String, Object> doHealthCheck(String url) {
         Map<String, Object> result = new HashMap<>();
         result.put("url", url);
         result.put("timestamp", LocalDateTime.now());
@@ -91,7 +250,7 @@ public class ApiPingService {
         return result;
     }
 
-    public Map<String, Object> getEndpointInfo(String url) {
+    private Map<String, Object> doGetEndpointInfo(String url) {
         Map<String, Object> result = new HashMap<>();
         result.put("url", url);
         result.put("timestamp", LocalDateTime.now());
@@ -112,4 +271,16 @@ public class ApiPingService {
 
         return result;
     }
+
+    private record BodyStats(int httpStatus, Map<String, String> headers, long bytes, boolean truncated,
+                             long transferNanos, String checksum) {
+
+        double megabytesPerSecond() {
+            if (transferNanos <= 0) {
+                return 0.0;
+            }
+            double mbPerSecond = (bytes / 1_000_000.0) / (transferNanos / 1_000_000_000.0);
+            return Math.round(mbPerSecond * 100.0) / 100.0;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs outbound calls off the servlet thread on a bounded pool, with a per-request deadline
+@Service
+public class AsyncOutboundService {
+
+    private final ApiPingService apiPingService;
+    private final PingResultCache pingResultCache;
+    private final IpLocationCache ipLocationCache;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public AsyncOutboundService(ApiPingService apiPingService,
+                                PingResultCache pingResultCache,
+                                IpLocationCache ipLocationCache,
+                                @Value("${app.async.threads:64}") int threads,
+                                @Value("${app.async.queue-capacity:1000}") int queueCapacity,
+                                @Value("${app.async.timeout-ms:15000}") long timeoutMs) {
+        this.apiPingService = apiPingService;
+        this.pingResultCache = pingResultCache;
+        this.ipLocationCache = ipLocationCache;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbound-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public CompletableFuture<Map<String, Object>> pingEndpoint(String url) {
+        return submit(() -> apiPingService.pingEndpoint(url));
+    }
+
+    public CompletableFuture<Map<String, Object>> healthCheck(String url) {
+        return submit(() -> pingResultCache.healthCheck(url));
+    }
+
+    public CompletableFuture<Map<String, Object>> getEndpointInfo(String url) {
+        return submit(() -> pingResultCache.getEndpointInfo(url));
+    }
+
+    public CompletableFuture<Map<String, Object>> getIpLocation(String ip) {
+        return submit(() -> ipLocationCache.getIpLocation(ip));
+    }
+
+    // On timeout the task is cancelled too: a queued one is removed and never runs, a running one is
+    // interrupted (which ends a pool lease wait, or a wait on a cache load). Its HTTP calls were given only the
+    // time left before the deadline, also when a cache runs them on its own loader, so a socket read in
+    // progress ends by then as well.
+    private CompletableFuture<Map<String, Object>> submit(Supplier<Map<String, Object>> call) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(OutboundDeadline.runUntil(deadlineNanos, call));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Queue is full: fail this request instead of growing the backlog
+            return CompletableFuture.failedFuture(e);
+        }
+        result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException && task.cancel(true)) {
+                executor.remove(task);
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
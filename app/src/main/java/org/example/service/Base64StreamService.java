@@ -0,0 +1,156 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Base64 encode/decode of arbitrary binary payloads without holding them in memory: the input is read in
+// fixed-size buffers through the JDK's wrapping encoder/decoder streams and handed to the sink in chunks.
+@Service
+public class Base64StreamService {
+
+    public enum Variant {
+        BASIC(Base64.getEncoder(), Base64.getDecoder()),
+        URL(Base64.getUrlEncoder(), Base64.getUrlDecoder()),
+        // 76-character lines separated by CRLF; the decoder skips anything outside the alphabet
+        MIME(Base64.getMimeEncoder(), Base64.getMimeDecoder());
+
+        private final Base64.Encoder encoder;
+        private final Base64.Decoder decoder;
+
+        Variant(Base64.Encoder encoder, Base64.Decoder decoder) {
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+    }
+
+    private final int bufferSize;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public Base64StreamService(@Value("${app.base64.stream.buffer-size:65536}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    // Completes with bytesIn and bytesOut once the input is exhausted and the last chunk is written
+    public CompletableFuture<Map<String, Object>> encode(InputStream input, Variant variant, boolean padding,
+                                                        Consumer<byte[]> sink) {
+        Base64.Encoder encoder = padding ? variant.encoder : variant.encoder.withoutPadding();
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.nanoTime();
+            CountingSink out = new CountingSink(sink);
+            long bytesIn;
+            // The encoder stream writes a line (MIME) or a few KB at a time; buffer that up into full chunks.
+            // Closing it writes the final quantum and padding.
+            try (InputStream in = input;
+                 OutputStream encoded = encoder.wrap(new BufferedOutputStream(out, bufferSize))) {
+                bytesIn = in.transferTo(encoded);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return stats(bytesIn, out.bytes, startTime);
+        }, executor);
+    }
+
+    // Fails with UncheckedIOException on input that is not valid for the variant; chunks decoded before
+    // the bad character have already been passed to the sink by then.
+    public CompletableFuture<Map<String, Object>> decode(InputStream input, Variant variant, Consumer<byte[]> sink) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.nanoTime();
+            CountingInputStream counted = new CountingInputStream(input);
+            CountingSink out = new CountingSink(sink);
+            // The decoder stream may pull its input a byte at a time, so give it a buffered view
+            try (InputStream decoded = variant.decoder.wrap(new BufferedInputStream(counted, bufferSize));
+                 OutputStream buffered = new BufferedOutputStream(out, bufferSize)) {
+                decoded.transferTo(buffered);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return stats(counted.bytes, out.bytes, startTime);
+        }, executor);
+    }
+
+    private static Map<String, Object> stats(long bytesIn, long bytesOut, long startTime) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("bytesIn", bytesIn);
+        stats.put("bytesOut", bytesOut);
+        stats.put("durationMs", elapsedNanos / 1_000_000);
+        stats.put("megabytesPerSecond", Math.round(bytesIn * 1000.0 / elapsedNanos * 100) / 100.0);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Hands each write to the sink as its own array: the sink (an emitter) may hold on to it after returning
+    private static final class CountingSink extends OutputStream {
+        private final Consumer<byte[]> sink;
+        private long bytes;
+
+        CountingSink(Consumer<byte[]> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len > 0) {
+                sink.accept(Arrays.copyOfRange(b, off, off + len));
+                bytes += len;
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final InputStream in;
+        private long bytes;
+
+        CountingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                bytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                bytes += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+@Service
+public class BatchPingService {
+
+    private final ApiPingService apiPingService;
+    private final int maxBatchSize;
+    private final int perHostConcurrency;
+
+    // Shared by every batch so concurrent sweeps cannot exceed the global cap together
+    private final Semaphore globalPermits;
+    // Only hosts with pings queued or in flight; an entry is dropped when its last user leaves
+    private final Map<String, HostLimit> hostLimits = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchPingService(ApiPingService apiPingService,
+                            @Value("${app.ping.batch.max-size:5000}") int maxBatchSize,
+                            @Value("${app.ping.batch.max-concurrency:128}") int maxConcurrency,
+                            @Value("${app.ping.batch.per-host-concurrency:8}") int perHostConcurrency,
+                            @Value("${app.http-client.max-total:200}") int poolMaxTotal,
+                            @Value("${app.http-client.max-per-route:20}") int poolMaxPerRoute) {
+        this.apiPingService = apiPingService;
+        this.maxBatchSize = maxBatchSize;
+        // Never allow more pings than the shared pool has connections: the excess would wait on connection
+        // leases and fail with lease timeouts instead of queueing on the permits
+        this.perHostConcurrency = Math.min(perHostConcurrency, poolMaxPerRoute);
+        this.globalPermits = new Semaphore(Math.min(maxConcurrency, poolMaxTotal), true);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public CompletableFuture<Void> pingAll(List<String> urls, Consumer<Map<String, Object>> onResult) {
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[urls.size()];
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> onResult.accept(pingWithLimits(url)), executor);
+        }
+        return CompletableFuture.allOf(tasks);
+    }
+
+    // Number of hosts currently holding a per-host limit entry
+    int trackedHosts() {
+        return hostLimits.size();
+    }
+
+    private Map<String, Object> pingWithLimits(String url) {
+        String host = HostCircuitBreakerRegistry.hostOf(url);
+        HostLimit hostLimit = hostLimits.compute(host, (key, limit) -> {
+            HostLimit entered = limit != null ? limit : new HostLimit(new Semaphore(perHostConcurrency, true));
+            entered.users++;
+            return entered;
+        });
+        try {
+            // Host permit first so requests queued behind a busy host don't hold global slots
+            hostLimit.permits.acquire();
+            try {
+                globalPermits.acquire();
+                try {
+                    return apiPingService.pingEndpoint(url);
+                } finally {
+                    globalPermits.release();
+                }
+            } finally {
+                hostLimit.permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Map<String, Object> result = new HashMap<>();
+            result.put("url", url);
+            result.put("timestamp", LocalDateTime.now());
+            result.put("status", "ERROR");
+            result.put("message", "Batch ping interrupted");
+            return result;
+        } finally {
+            hostLimits.computeIfPresent(host, (key, limit) -> --limit.users == 0 ? null : limit);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Per-host semaphore plus the number of pings using it; users only changes inside compute calls
+    private static final class HostLimit {
+        private final Semaphore permits;
+        private int users;
+
+        HostLimit(Semaphore permits) {
+            this.permits = permits;
+        }
+    }
+}
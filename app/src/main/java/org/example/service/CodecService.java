@@ -0,0 +1,123 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Hex, Base32 and Base64 encoding for checksum and token pipelines. Runs on the Vector API when the JVM was
+// started with --add-modules=jdk.incubator.vector and the platform has at least 128-bit vectors, otherwise
+// on the scalar codecs; both produce identical output and the same errors.
+@Service
+public class CodecService {
+
+    public enum Codec {
+        HEX, BASE32, BASE64, BASE64URL;
+
+        public static Codec parse(String name) {
+            return valueOf(name.trim().replace("-", "").replace("_", "").toUpperCase());
+        }
+    }
+
+    private final boolean vectorized;
+    private final int maxBytes;
+
+    public CodecService(@Value("${app.codec.vector-enabled:true}") boolean vectorEnabled,
+                        @Value("${app.codec.max-bytes:67108864}") int maxBytes) {
+        this.vectorized = vectorEnabled && vectorApiAvailable();
+        this.maxBytes = maxBytes;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    // "vector (Species[byte, 32, S_256_BIT])" or "scalar"; reported with every response
+    public String getPath() {
+        return vectorized ? "vector (" + VectorCodecs.species() + ")" : "scalar";
+    }
+
+    public byte[] encode(Codec codec, byte[] input, boolean padding) {
+        int length = input.length;
+        return switch (codec) {
+            case HEX -> {
+                byte[] output = new byte[length * 2];
+                int done = vectorized ? VectorCodecs.encodeHex(input, 0, length, output, 0) : 0;
+                ScalarCodecs.encodeHex(input, done, length, output, done * 2);
+                yield output;
+            }
+            case BASE32 -> {
+                int tail = length % 5;
+                byte[] output = new byte[length / 5 * 8 + (tail == 0 ? 0 : padding ? 8 : (tail * 8 + 4) / 5)];
+                int done = vectorized ? VectorCodecs.encodeBase32(input, 0, length, output, 0) : 0;
+                ScalarCodecs.encodeBase32(input, done, length, output, done / 5 * 8, padding);
+                yield output;
+            }
+            case BASE64, BASE64URL -> {
+                boolean url = codec == Codec.BASE64URL;
+                int tail = length % 3;
+                byte[] output = new byte[length / 3 * 4 + (tail == 0 ? 0 : padding ? 4 : tail + 1)];
+                int done = vectorized ? VectorCodecs.encodeBase64(input, 0, length, output, 0, url) : 0;
+                ScalarCodecs.encodeBase64(input, done, length, output, done / 3 * 4, url, padding);
+                yield output;
+            }
+        };
+    }
+
+    // Padding is optional and trailing whitespace (a final newline from a file) is ignored. Throws
+    // IllegalArgumentException for characters outside the alphabet or an impossible length.
+    public byte[] decode(Codec codec, byte[] input) {
+        int length = input.length;
+        while (length > 0 && (input[length - 1] & 0xFF) <= ' ') {
+            length--;
+        }
+        if (codec != Codec.HEX) {
+            while (length > 0 && input[length - 1] == '=') {
+                length--;
+            }
+        }
+
+        return switch (codec) {
+            case HEX -> {
+                if (length % 2 != 0) {
+                    throw new IllegalArgumentException("Hex input must have an even number of characters");
+                }
+                byte[] output = new byte[length / 2];
+                int done = vectorized ? VectorCodecs.decodeHex(input, 0, length, output, 0) : 0;
+                ScalarCodecs.decodeHex(input, done, length, output, done / 2);
+                yield output;
+            }
+            case BASE32 -> {
+                int tail = length % 8;
+                if (tail == 1 || tail == 3 || tail == 6) {
+                    throw new IllegalArgumentException("Base32 input has an invalid length (" + length + " characters)");
+                }
+                byte[] output = new byte[length / 8 * 5 + tail * 5 / 8];
+                int done = vectorized ? VectorCodecs.decodeBase32(input, 0, length, output, 0) : 0;
+                ScalarCodecs.decodeBase32(input, done, length, output, done / 8 * 5);
+                yield output;
+            }
+            case BASE64, BASE64URL -> {
+                boolean url = codec == Codec.BASE64URL;
+                int tail = length % 4;
+                if (tail == 1) {
+                    throw new IllegalArgumentException("Base64 input has an invalid length (" + length + " characters)");
+                }
+                byte[] output = new byte[length / 4 * 3 + (tail == 0 ? 0 : tail - 1)];
+                int done = vectorized ? VectorCodecs.decodeBase64(input, 0, length, output, 0, url) : 0;
+                ScalarCodecs.decodeBase64(input, done, length, output, done / 4 * 3, url);
+                yield output;
+            }
+        };
+    }
+
+    // The incubator module has to be resolved explicitly; without it VectorCodecs cannot even be loaded
+    private static boolean vectorApiAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorCodecs.isWorthwhile();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
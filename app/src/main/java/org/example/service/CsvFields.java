@@ -0,0 +1,40 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Splits one line of the CSV tables loaded from disk (GeoIP ranges, network tags). Fields may be quoted to
+// contain commas, with "" for a literal quote; every field is trimmed.
+final class CsvFields {
+
+    private CsvFields() {
+    }
+
+    static List<String> split(String line, int expectedFields) {
+        List<String> fields = new ArrayList<>(expectedFields);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
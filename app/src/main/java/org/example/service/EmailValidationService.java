@@ -0,0 +1,168 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// Validates large sets of addresses with EmailValidator. Results are kept as one byte per address;
+// only failures are materialized, and the response is a summary plus those failures.
+@Service
+public class EmailValidationService {
+
+    // Below this, splitting the work across threads costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final EmailValidator.Result[] RESULTS = EmailValidator.Result.values();
+
+    private final int maxBatchSize;
+    private final int maxFailures;
+    private final int streamChunkLines;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EmailValidationService(@Value("${app.email.batch.max-size:1000000}") int maxBatchSize,
+                                  @Value("${app.email.batch.max-failures:10000}") int maxFailures,
+                                  @Value("${app.email.stream.chunk-lines:65536}") int streamChunkLines) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxFailures = maxFailures;
+        this.streamChunkLines = streamChunkLines;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Map<String, Object> validateAll(List<String> emails) {
+        long startTime = System.nanoTime();
+        byte[] results = validateChunk(emails);
+
+        int[] counts = new int[RESULTS.length];
+        List<Failure> failures = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            counts[results[i]]++;
+            if (results[i] != EmailValidator.Result.VALID.ordinal() && failures.size() < maxFailures) {
+                failures.add(new Failure(i, emails.get(i), RESULTS[results[i]].name()));
+            }
+        }
+
+        Map<String, Object> summary = summarize(emails.size(), counts, System.nanoTime() - startTime);
+        summary.put("failures", failures);
+        summary.put("failuresTruncated", summary.get("invalid") instanceof Long invalid && invalid > failures.size());
+        return summary;
+    }
+
+    // Reads one address per line and writes each failure as an NDJSON line (line numbers are 1-based),
+    // followed by a final {"summary": ...} line. Blank lines are skipped.
+    public CompletableFuture<Map<String, Object>> validateStream(InputStream input, Consumer<String> sink) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.nanoTime();
+            int[] counts = new int[RESULTS.length];
+            long total = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                List<String> chunk = new ArrayList<>(streamChunkLines);
+                long[] lineNumbers = new long[streamChunkLines];
+                long lineNumber = 0;
+                boolean more = true;
+                while (more) {
+                    String line = reader.readLine();
+                    more = line != null;
+                    if (more && !line.isBlank()) {
+                        lineNumbers[chunk.size()] = lineNumber + 1;
+                        chunk.add(line);
+                    }
+                    lineNumber++;
+                    if (chunk.size() == streamChunkLines || (!more && !chunk.isEmpty())) {
+                        total += chunk.size();
+                        writeFailures(chunk, lineNumbers, validateChunk(chunk), counts, sink);
+                        chunk.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            Map<String, Object> summary = summarize(total, counts, System.nanoTime() - startTime);
+            sink.accept(toJson(Map.of("summary", summary)) + "\n");
+            return summary;
+        }, executor);
+    }
+
+    private byte[] validateChunk(List<String> emails) {
+        byte[] results = new byte[emails.size()];
+        IntStream indexes = IntStream.range(0, emails.size());
+        if (emails.size() >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> results[i] = (byte) EmailValidator.validate(emails.get(i)).ordinal());
+        return results;
+    }
+
+    private void writeFailures(List<String> chunk, long[] lineNumbers, byte[] results, int[] counts,
+                               Consumer<String> sink) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < results.length; i++) {
+            counts[results[i]]++;
+            if (results[i] != EmailValidator.Result.VALID.ordinal()) {
+                out.append(toJson(new Failure(lineNumbers[i], chunk.get(i), RESULTS[results[i]].name()))).append('\n');
+            }
+        }
+        if (!out.isEmpty()) {
+            sink.accept(out.toString());
+        }
+    }
+
+    private static Map<String, Object> summarize(long total, int[] counts, long elapsedNanos) {
+        long valid = counts[EmailValidator.Result.VALID.ordinal()];
+        Map<String, Long> byReason = new LinkedHashMap<>();
+        for (EmailValidator.Result result : RESULTS) {
+            if (result != EmailValidator.Result.VALID && counts[result.ordinal()] > 0) {
+                byReason.put(result.name(), (long) counts[result.ordinal()]);
+            }
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("total", total);
+        summary.put("valid", valid);
+        summary.put("invalid", total - valid);
+        summary.put("byReason", byReason);
+        summary.put("durationMs", elapsedNanos / 1_000_000);
+        summary.put("timestamp", LocalDateTime.now().toString());
+        return summary;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // index is the position in a batch request, or the 1-based line number in stream mode
+    public record Failure(long index, String email, String reason) {
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.service;
+
+// Hand-written, allocation-free equivalent of the email format check
+//   ^[a-zA-Z0-9_+&*-]+(?:\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}$
+// Single pass over the input; the result says which part failed rather than just true/false.
+public final class EmailValidator {
+
+    public enum Result {
+        VALID("Valid email format"),
+        EMPTY("Email is empty or null"),
+        MISSING_AT("Missing @"),
+        INVALID_LOCAL_PART("Invalid local part"),
+        INVALID_DOMAIN("Invalid domain"),
+        INVALID_TLD("Top-level domain must be 2-7 letters");
+
+        private final String message;
+
+        Result(String message) {
+            this.message = message;
+        }
+
+        public String message() {
+            return message;
+        }
+    }
+
+    // Characters allowed in local-part atoms and domain labels, indexed by ASCII code
+    private static final boolean[] LOCAL = new boolean[128];
+    private static final boolean[] LABEL = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            LOCAL[c] = LOCAL[Character.toUpperCase(c)] = true;
+            LABEL[c] = LABEL[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            LOCAL[c] = LABEL[c] = true;
+        }
+        for (char c : "_+&*-".toCharArray()) {
+            LOCAL[c] = true;
+        }
+        LABEL['-'] = true;
+    }
+
+    private EmailValidator() {
+    }
+
+    public static boolean isValid(CharSequence email) {
+        return validate(email) == Result.VALID;
+    }
+
+    public static Result validate(CharSequence email) {
+        if (email == null || isBlank(email)) {
+            return Result.EMPTY;
+        }
+        int length = email.length();
+
+        // Local part: atoms separated by single dots, no leading or trailing dot
+        int i = 0;
+        int atomLength = 0;
+        while (i < length) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                break;
+            }
+            if (c == '.') {
+                if (atomLength == 0) {
+                    return Result.INVALID_LOCAL_PART;
+                }
+                atomLength = 0;
+            } else if (c < 128 && LOCAL[c]) {
+                atomLength++;
+            } else {
+                return Result.INVALID_LOCAL_PART;
+            }
+            i++;
+        }
+        if (i == length) {
+            return Result.MISSING_AT;
+        }
+        if (atomLength == 0) {
+            return Result.INVALID_LOCAL_PART;
+        }
+
+        // Domain: one or more non-empty labels each followed by a dot, then a 2-7 letter TLD
+        int labels = 0;
+        int labelLength = 0;
+        boolean lettersOnly = true;
+        for (i = i + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return Result.INVALID_DOMAIN;
+                }
+                labels++;
+                labelLength = 0;
+                lettersOnly = true;
+            } else if (c < 128 && LABEL[c]) {
+                labelLength++;
+                lettersOnly &= (c | 0x20) >= 'a' && (c | 0x20) <= 'z';
+            } else {
+                return Result.INVALID_DOMAIN;
+            }
+        }
+        if (labels == 0) {
+            return Result.INVALID_DOMAIN;
+        }
+        if (!lettersOnly || labelLength < 2 || labelLength > 7) {
+            return Result.INVALID_TLD;
+        }
+        return Result.VALID;
+    }
+
+    // Same notion of blank as String.trim()
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
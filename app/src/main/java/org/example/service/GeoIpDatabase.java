@@ -0,0 +1,243 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Offline IPv4 range lookup. Expected CSV columns:
+// start_ip,end_ip,country_code,country,region,region_name,city,zip,latitude,longitude,timezone,isp,org,as
+@Service
+public class GeoIpDatabase {
+
+    private static final int COLUMNS = 14;
+
+    private final String databasePath;
+    // Replaced wholesale on reload; lookups never see a half-built index
+    private volatile RangeIndex index = RangeIndex.EMPTY;
+    private volatile String lastError;
+
+    public GeoIpDatabase(@Value("${app.geoip.database-path:}") String databasePath) {
+        this.databasePath = databasePath;
+        if (isConfigured()) {
+            reload();
+        }
+    }
+
+    public boolean isConfigured() {
+        return databasePath != null && !databasePath.isBlank();
+    }
+
+    public boolean isLoaded() {
+        return index.size() > 0;
+    }
+
+    // Returns null when the address is not covered by any range
+    public GeoRecord lookup(String ipAddress) {
+        long address = IpAddresses.parseIpv4(ipAddress);
+        return address < 0 ? null : index.find(toSortableInt(address));
+    }
+
+    public synchronized Map<String, Object> reload() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("path", databasePath);
+        result.put("timestamp", LocalDateTime.now());
+        if (!isConfigured()) {
+            result.put("status", "ERROR");
+            result.put("message", "No database configured, set app.geoip.database-path");
+            return result;
+        }
+
+        long startTime = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(databasePath), StandardCharsets.UTF_8)) {
+            index = load(reader);
+            lastError = null;
+            result.put("status", "SUCCESS");
+            result.put("ranges", index.size());
+            result.put("distinctRecords", index.records.length);
+            result.put("loadTimeMs", (System.nanoTime() - startTime) / 1_000_000);
+        } catch (IOException | IllegalArgumentException e) {
+            // Keep serving the previous index if the new file is unreadable or malformed
+            lastError = e.getMessage();
+            result.put("status", "ERROR");
+            result.put("message", "Failed to load database: " + e.getMessage());
+        }
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        RangeIndex current = index;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("configured", isConfigured());
+        stats.put("path", databasePath);
+        stats.put("ranges", current.size());
+        stats.put("distinctRecords", current.records.length);
+        stats.put("loadedAt", current.loadedAt);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    static RangeIndex load(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        int[] starts = new int[1024];
+        int[] ends = new int[1024];
+        int[] recordIds = new int[1024];
+        int count = 0;
+        // Many ranges share a city/ISP, so records are deduplicated and ranges point at them
+        Map<List<String>, Integer> recordIdsByFields = new HashMap<>();
+        List<GeoRecord> records = new ArrayList<>();
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            List<String> fields = CsvFields.split(line, COLUMNS);
+            if (lineNumber == 1 && (fields.get(0).isEmpty() || !Character.isDigit(fields.get(0).charAt(0)))) {
+                continue; // header row
+            }
+            if (fields.size() < COLUMNS) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected " + COLUMNS + " columns");
+            }
+            long start = parseAddressColumn(fields.get(0), lineNumber);
+            long end = parseAddressColumn(fields.get(1), lineNumber);
+            if (end < start) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": end address before start address");
+            }
+
+            List<String> recordFields = fields.subList(2, COLUMNS);
+            Integer recordId = recordIdsByFields.get(recordFields);
+            if (recordId == null) {
+                recordId = records.size();
+                records.add(GeoRecord.of(recordFields, lineNumber));
+                recordIdsByFields.put(List.copyOf(recordFields), recordId);
+            }
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                recordIds = Arrays.copyOf(recordIds, count * 2);
+            }
+            starts[count] = toSortableInt(start);
+            ends[count] = toSortableInt(end);
+            recordIds[count] = recordId;
+            count++;
+        }
+        return RangeIndex.build(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count),
+                Arrays.copyOf(recordIds, count), records.toArray(new GeoRecord[0]));
+    }
+
+    private static long parseAddressColumn(String value, int lineNumber) {
+        long address = value.indexOf('.') >= 0 ? IpAddresses.parseIpv4(value) : parseUnsigned(value);
+        if (address < 0) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": invalid address " + value);
+        }
+        return address;
+    }
+
+    private static long parseUnsigned(String value) {
+        try {
+            long address = Long.parseLong(value.trim());
+            return address <= 0xFFFFFFFFL ? address : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Flip the sign bit so unsigned addresses order correctly as signed ints
+    private static int toSortableInt(long address) {
+        return (int) address ^ Integer.MIN_VALUE;
+    }
+
+    public record GeoRecord(String countryCode, String country, String region, String regionName, String city,
+                            String zipCode, double latitude, double longitude, String timezone,
+                            String isp, String organization, String as) {
+
+        static GeoRecord of(List<String> fields, int lineNumber) {
+            try {
+                return new GeoRecord(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4),
+                        fields.get(5), Double.parseDouble(fields.get(6)), Double.parseDouble(fields.get(7)),
+                        fields.get(8), fields.get(9), fields.get(10), fields.get(11));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid latitude/longitude");
+            }
+        }
+    }
+
+    static final class RangeIndex {
+        static final RangeIndex EMPTY = new RangeIndex(new int[0], new int[0], new int[0], new GeoRecord[0], null);
+
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] recordIds;
+        private final GeoRecord[] records;
+        private final LocalDateTime loadedAt;
+
+        private RangeIndex(int[] starts, int[] ends, int[] recordIds, GeoRecord[] records, LocalDateTime loadedAt) {
+            this.starts = starts;
+            this.ends = ends;
+            this.recordIds = recordIds;
+            this.records = records;
+            this.loadedAt = loadedAt;
+        }
+
+        static RangeIndex build(int[] starts, int[] ends, int[] recordIds, GeoRecord[] records) {
+            // Most GeoIP exports are already sorted; only pay for the sort when they are not
+            boolean sorted = true;
+            for (int i = 1; i < starts.length && sorted; i++) {
+                sorted = starts[i - 1] <= starts[i];
+            }
+            if (!sorted) {
+                Integer[] order = new Integer[starts.length];
+                for (int i = 0; i < order.length; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (a, b) -> Integer.compare(starts[a], starts[b]));
+                int[] sortedStarts = new int[starts.length];
+                int[] sortedEnds = new int[starts.length];
+                int[] sortedRecordIds = new int[starts.length];
+                for (int i = 0; i < order.length; i++) {
+                    sortedStarts[i] = starts[order[i]];
+                    sortedEnds[i] = ends[order[i]];
+                    sortedRecordIds[i] = recordIds[order[i]];
+                }
+                return new RangeIndex(sortedStarts, sortedEnds, sortedRecordIds, records, LocalDateTime.now());
+            }
+            return new RangeIndex(starts, ends, recordIds, records, LocalDateTime.now());
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        GeoRecord find(int key) {
+            // Last range whose start is <= key, then check the key falls before its end
+            int low = 0;
+            int high = starts.length - 1;
+            int candidate = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= key) {
+                    candidate = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return candidate >= 0 && key <= ends[candidate] ? records[recordIds[candidate]] : null;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class HostCircuitBreakerRegistry {
+
+    public static final long REJECTED = -1;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long baseOpenNanos;
+    private final long maxOpenNanos;
+    private final int halfOpenProbes;
+    // Hosts come from request URLs, so breakers are bounded in number and dropped once idle. The idle
+    // time is at least max-open-ms, so an open circuit is never forgotten before its wait is over.
+    private final Cache<String, CircuitBreaker> breakers;
+
+    public HostCircuitBreakerRegistry(
+            @Value("${app.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${app.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${app.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${app.circuit-breaker.slow-call-ms:5000}") long slowCallMillis,
+            @Value("${app.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+            @Value("${app.circuit-breaker.open-ms:5000}") long baseOpenMillis,
+            @Value("${app.circuit-breaker.max-open-ms:300000}") long maxOpenMillis,
+            @Value("${app.circuit-breaker.half-open-probes:3}") int halfOpenProbes,
+            @Value("${app.circuit-breaker.max-hosts:10000}") long maxHosts,
+            @Value("${app.circuit-breaker.idle-expiry-ms:600000}") long idleExpiryMillis) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallMillis * 1_000_000;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.baseOpenNanos = baseOpenMillis * 1_000_000;
+        this.maxOpenNanos = maxOpenMillis * 1_000_000;
+        this.halfOpenProbes = halfOpenProbes;
+        this.breakers = Caffeine.newBuilder()
+                .maximumSize(maxHosts)
+                .expireAfterAccess(Duration.ofMillis(Math.max(idleExpiryMillis, maxOpenMillis)))
+                // Evict on the calling thread so the bound holds without a background pool
+                .executor(Runnable::run)
+                .build();
+    }
+
+    // Returns a permit to pass to record(), or REJECTED when the host's circuit is open
+    public long tryAcquire(String host) {
+        return breakerFor(host).tryAcquire(System.nanoTime());
+    }
+
+    public void record(String host, long permit, boolean failure, long elapsedNanos) {
+        breakerFor(host).record(permit, failure, elapsedNanos >= slowCallNanos, System.nanoTime());
+    }
+
+    public long retryAfterMillis(String host) {
+        return breakerFor(host).retryAfterMillis(System.nanoTime());
+    }
+
+    public List<Map<String, Object>> getStates() {
+        long now = System.nanoTime();
+        List<Map<String, Object>> states = new ArrayList<>();
+        breakers.cleanUp();
+        breakers.asMap().forEach((host, breaker) -> states.add(breaker.describe(host, now)));
+        return states;
+    }
+
+    public static String hostOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private CircuitBreaker breakerFor(String host) {
+        return breakers.get(host, h -> new CircuitBreaker());
+    }
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final class CircuitBreaker {
+        private final boolean[] failures = new boolean[windowSize];
+        private final boolean[] slowCalls = new boolean[windowSize];
+        private int next;
+        private int calls;
+        private int failureCount;
+        private int slowCount;
+        private State state = State.CLOSED;
+        // Bumped on every transition so results of calls admitted under an older state are ignored
+        private long generation;
+        private long openUntil;
+        private int consecutiveOpenings;
+        private int probesIssued;
+        private int probesSucceeded;
+
+        synchronized long tryAcquire(long now) {
+            if (state == State.OPEN) {
+                if (now - openUntil < 0) {
+                    return REJECTED;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesIssued >= halfOpenProbes) {
+                    return REJECTED;
+                }
+                probesIssued++;
+            }
+            return generation;
+        }
+
+        synchronized void record(long permit, boolean failure, boolean slow, long now) {
+            if (permit != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (failure || slow) {
+                    open(now);
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    consecutiveOpenings = 0;
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+
+            if (calls == windowSize) {
+                failureCount -= failures[next] ? 1 : 0;
+                slowCount -= slowCalls[next] ? 1 : 0;
+            } else {
+                calls++;
+            }
+            failures[next] = failure;
+            slowCalls[next] = slow;
+            failureCount += failure ? 1 : 0;
+            slowCount += slow ? 1 : 0;
+            next = (next + 1) % windowSize;
+
+            if (calls >= minimumCalls
+                    && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+                open(now);
+            }
+        }
+
+        synchronized long retryAfterMillis(long now) {
+            return state == State.OPEN ? Math.max(0, (openUntil - now) / 1_000_000) : 0;
+        }
+
+        synchronized Map<String, Object> describe(String host, long now) {
+            Map<String, Object> description = new HashMap<>();
+            description.put("host", host);
+            description.put("state", state.name());
+            description.put("callsInWindow", calls);
+            description.put("failureRate", Math.round(failureRate() * 10.0) / 10.0);
+            description.put("slowCallRate", Math.round(slowCallRate() * 10.0) / 10.0);
+            description.put("consecutiveOpenings", consecutiveOpenings);
+            description.put("retryAfterMs", retryAfterMillis(now));
+            return description;
+        }
+
+        private void open(long now) {
+            consecutiveOpenings++;
+            // Exponential backoff: each re-open without an intervening recovery doubles the wait
+            int doublings = Math.min(consecutiveOpenings - 1, 62);
+            long openNanos = baseOpenNanos > (maxOpenNanos >> doublings) ? maxOpenNanos : baseOpenNanos << doublings;
+            openUntil = now + openNanos;
+            transition(State.OPEN);
+        }
+
+        private void transition(State target) {
+            state = target;
+            generation++;
+            probesIssued = 0;
+            probesSucceeded = 0;
+            if (target != State.OPEN) {
+                calls = 0;
+                next = 0;
+                failureCount = 0;
+                slowCount = 0;
+            }
+        }
+
+        private double failureRate() {
+            return calls == 0 ? 0.0 : failureCount * 100.0 / calls;
+        }
+
+        private double slowCallRate() {
+            return calls == 0 ? 0.0 : slowCount * 100.0 / calls;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class HttpClientPoolMetrics {
+
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder requestsExecuted = new LongAdder();
+    private volatile PoolingHttpClientConnectionManager connectionManager;
+    private volatile boolean jdkTransport;
+
+    public void bind(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    // The RestTemplate runs on the JDK HttpClient, whose connections are not visible from here
+    public void useJdkTransport() {
+        this.jdkTransport = true;
+    }
+
+    public void connectionCreated() {
+        connectionsCreated.increment();
+    }
+
+    public void requestExecuted() {
+        requestsExecuted.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        if (jdkTransport) {
+            stats.put("transport", "jdk");
+            stats.put("protocol", "HTTP/2 where the server supports it, otherwise HTTP/1.1");
+            stats.put("requestsExecuted", requestsExecuted.sum());
+            return stats;
+        }
+        stats.put("transport", "apache");
+        long created = connectionsCreated.sum();
+        long requests = requestsExecuted.sum();
+        stats.put("connectionsCreated", created);
+        stats.put("requestsExecuted", requests);
+        // Share of requests that were served on an already-open connection
+        stats.put("reuseRatio", requests == 0 ? 0.0 : Math.max(0.0, Math.round((1.0 - (double) created / requests) * 1000.0) / 1000.0));
+
+        PoolingHttpClientConnectionManager manager = connectionManager;
+        if (manager == null) {
+            return stats;
+        }
+
+        PoolStats total = manager.getTotalStats();
+        stats.put("leased", total.getLeased());
+        stats.put("idle", total.getAvailable());
+        stats.put("pending", total.getPending());
+        stats.put("maxTotal", total.getMax());
+        stats.put("maxPerRoute", manager.getDefaultMaxPerRoute());
+
+        List<Map<String, Object>> routes = new ArrayList<>();
+        for (HttpRoute route : manager.getRoutes()) {
+            PoolStats routeStats = manager.getStats(route);
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("target", route.getTargetHost().toURI());
+            entry.put("leased", routeStats.getLeased());
+            entry.put("idle", routeStats.getAvailable());
+            entry.put("pending", routeStats.getPending());
+            routes.add(entry);
+        }
+        routes.sort(Comparator.comparingInt((Map<String, Object> entry) -> (int) entry.get("leased")).reversed());
+        stats.put("routes", routes);
+        return stats;
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.service;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+// Issues a single GET over a fresh connection so every phase (DNS, connect, TLS) is actually paid and timed
+public class HttpPhaseTimer {
+
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    // The body is read to EOF, so both a byte cap and a wall-clock cap are needed: the read timeout alone
+    // does not stop an endless or trickling body
+    private final long maxBodyBytes;
+    private final long maxTransferNanos;
+    private final SSLSocketFactory sslSocketFactory;
+
+    public HttpPhaseTimer(int connectTimeoutMillis, int readTimeoutMillis, long maxBodyBytes, long maxTransferMillis) {
+        this(connectTimeoutMillis, readTimeoutMillis, maxBodyBytes, maxTransferMillis,
+                (SSLSocketFactory) SSLSocketFactory.getDefault());
+    }
+
+    public HttpPhaseTimer(int connectTimeoutMillis, int readTimeoutMillis, long maxBodyBytes, long maxTransferMillis,
+                          SSLSocketFactory sslSocketFactory) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.maxBodyBytes = maxBodyBytes;
+        this.maxTransferNanos = maxTransferMillis * 1_000_000;
+        this.sslSocketFactory = sslSocketFactory;
+    }
+
+    public PhaseTimings measure(String url) throws IOException {
+        URI uri = URI.create(url.trim());
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        boolean secure = scheme.equals("https");
+        if (!secure && !scheme.equals("http")) {
+            throw new IllegalArgumentException("Only http and https URLs are supported");
+        }
+        String host = uri.getHost();
+        if (host == null) {
+            throw new IllegalArgumentException("URL has no host");
+        }
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+
+        long start = System.nanoTime();
+        // Subject to the JVM's positive DNS cache, so repeat lookups may report near zero
+        InetAddress address = InetAddress.getByName(host);
+        long resolved = System.nanoTime();
+
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(address, port), connectTimeoutMillis);
+            socket.setSoTimeout(readTimeoutMillis);
+            long connected = System.nanoTime();
+
+            Socket channel = socket;
+            String tlsProtocol = null;
+            long handshaken = connected;
+            if (secure) {
+                SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, host, port, true);
+                SSLParameters parameters = sslSocket.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                sslSocket.setSSLParameters(parameters);
+                sslSocket.startHandshake();
+                tlsProtocol = sslSocket.getSession().getProtocol();
+                channel = sslSocket;
+                handshaken = System.nanoTime();
+            }
+
+            OutputStream out = channel.getOutputStream();
+            out.write(buildRequest(uri, host, port, secure));
+            out.flush();
+
+            InputStream in = new BufferedInputStream(channel.getInputStream());
+            int first = in.read();
+            long firstByte = System.nanoTime();
+            if (first < 0) {
+                throw new IOException("Connection closed before any response was received");
+            }
+
+            int status = parseStatus(readHeaderSection(first, in));
+            // Connection: close was requested, so the body runs to EOF; chunk framing is counted as transferred bytes.
+            // Past either cap the socket is simply closed, which abandons the rest of the body.
+            byte[] buffer = new byte[8192];
+            long bodyBytes = 0;
+            boolean truncated = false;
+            while (true) {
+                if (System.nanoTime() - firstByte > maxTransferNanos) {
+                    truncated = true;
+                    break;
+                }
+                long allowed = maxBodyBytes - bodyBytes;
+                // Ask for one byte past the cap so a body of exactly maxBodyBytes is not reported as truncated
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, allowed + 1));
+                if (read == -1) {
+                    break;
+                }
+                if (read > allowed) {
+                    bodyBytes += allowed;
+                    truncated = true;
+                    break;
+                }
+                bodyBytes += read;
+            }
+            long done = System.nanoTime();
+
+            return new PhaseTimings(
+                    status,
+                    resolved - start,
+                    connected - resolved,
+                    handshaken - connected,
+                    firstByte - handshaken,
+                    done - firstByte,
+                    done - start,
+                    bodyBytes,
+                    truncated,
+                    address.getHostAddress(),
+                    tlsProtocol);
+        }
+    }
+
+    private static byte[] buildRequest(URI uri, String host, int port, boolean secure) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path += "?" + uri.getRawQuery();
+        }
+        boolean defaultPort = port == (secure ? 443 : 80);
+        String request = "GET " + path + " HTTP/1.1\r\n"
+                + "Host: " + (defaultPort ? host : host + ":" + port) + "\r\n"
+                + "User-Agent: java-playground-ping\r\n"
+                + "Accept: */*\r\n"
+                + "Connection: close\r\n"
+                + "\r\n";
+        return request.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String readHeaderSection(int first, InputStream in) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream(512);
+        int matched = 0;
+        int b = first;
+        while (b != -1) {
+            header.write(b);
+            if (header.size() > MAX_HEADER_BYTES) {
+                throw new IOException("Response headers exceed " + MAX_HEADER_BYTES + " bytes");
+            }
+            // Looking for the blank line (CRLF CRLF) that ends the header block
+            matched = (b == '\r' && (matched == 0 || matched == 2)) || (b == '\n' && (matched == 1 || matched == 3))
+                    ? matched + 1
+                    : (b == '\r' ? 1 : 0);
+            if (matched == 4) {
+                return header.toString(StandardCharsets.ISO_8859_1);
+            }
+            b = in.read();
+        }
+        throw new IOException("Connection closed before response headers completed");
+    }
+
+    private static int parseStatus(String header) throws IOException {
+        int lineEnd = header.indexOf("\r\n");
+        String[] statusLine = header.substring(0, lineEnd).split(" ", 3);
+        if (statusLine.length < 2 || !statusLine[0].startsWith("HTTP/")) {
+            throw new IOException("Malformed status line: " + header.substring(0, lineEnd));
+        }
+        try {
+            return Integer.parseInt(statusLine[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed status code: " + statusLine[1]);
+        }
+    }
+
+    public record PhaseTimings(
+            int httpStatus,
+            long dnsNanos,
+            long connectNanos,
+            long tlsNanos,
+            long timeToFirstByteNanos,
+            long transferNanos,
+            long totalNanos,
+            long bodyBytes,
+            boolean truncated,
+            String remoteAddress,
+            String tlsProtocol) {
+    }
+}
@@ -0,0 +1,324 @@
+package org.example.service;
+
+// Allocation-free IP address parsing. IPv4 addresses become an unsigned 32-bit value held in a long,
+// IPv6 addresses become two longs (high and low 64 bits) written into a caller-supplied array.
+public final class IpAddresses {
+
+    public static final long INVALID = -1;
+
+    private static final long[] RESERVED_V4_NETWORKS;
+    private static final int[] RESERVED_V4_PREFIXES;
+    private static final ReservedRange[] RESERVED_V4_RANGES;
+
+    private static final long[] RESERVED_V6_HIGH;
+    private static final long[] RESERVED_V6_LOW;
+    private static final int[] RESERVED_V6_PREFIXES;
+    private static final ReservedRange[] RESERVED_V6_RANGES;
+
+    static {
+        // IANA special-purpose registries (RFC 6890 and updates). More specific entries come first.
+        Object[][] v4 = {
+            {"0.0.0.0", 8, "This network", false},
+            {"10.0.0.0", 8, "Private-Use", true},
+            {"100.64.0.0", 10, "Shared Address Space", true},
+            {"127.0.0.0", 8, "Loopback", true},
+            {"169.254.0.0", 16, "Link Local", true},
+            {"172.16.0.0", 12, "Private-Use", true},
+            {"192.0.0.0", 24, "IETF Protocol Assignments", false},
+            {"192.0.2.0", 24, "Documentation (TEST-NET-1)", false},
+            {"192.88.99.0", 24, "Deprecated 6to4 Relay Anycast", false},
+            {"192.168.0.0", 16, "Private-Use", true},
+            {"198.18.0.0", 15, "Benchmarking", false},
+            {"198.51.100.0", 24, "Documentation (TEST-NET-2)", false},
+            {"203.0.113.0", 24, "Documentation (TEST-NET-3)", false},
+            {"224.0.0.0", 4, "Multicast", false},
+            {"255.255.255.255", 32, "Limited Broadcast", false},
+            {"240.0.0.0", 4, "Reserved", false},
+        };
+        RESERVED_V4_NETWORKS = new long[v4.length];
+        RESERVED_V4_PREFIXES = new int[v4.length];
+        RESERVED_V4_RANGES = new ReservedRange[v4.length];
+        for (int i = 0; i < v4.length; i++) {
+            RESERVED_V4_NETWORKS[i] = parseIpv4((String) v4[i][0]);
+            RESERVED_V4_PREFIXES[i] = (Integer) v4[i][1];
+            RESERVED_V4_RANGES[i] = new ReservedRange(v4[i][0] + "/" + v4[i][1], (String) v4[i][2], (Boolean) v4[i][3]);
+        }
+
+        // IPv4-mapped and IPv4-compatible forms are checked against the IPv4 table instead
+        Object[][] v6 = {
+            {"::", 128, "Unspecified Address", false},
+            {"::1", 128, "Loopback", true},
+            {"64:ff9b:1::", 48, "IPv4-IPv6 Translation", false},
+            {"100::", 64, "Discard-Only", false},
+            {"2001:db8::", 32, "Documentation", false},
+            {"2001::", 23, "IETF Protocol Assignments", false},
+            {"fc00::", 7, "Unique-Local", true},
+            {"fe80::", 10, "Link-Local Unicast", true},
+            {"ff00::", 8, "Multicast", false},
+        };
+        RESERVED_V6_HIGH = new long[v6.length];
+        RESERVED_V6_LOW = new long[v6.length];
+        RESERVED_V6_PREFIXES = new int[v6.length];
+        RESERVED_V6_RANGES = new ReservedRange[v6.length];
+        long[] parsed = new long[2];
+        for (int i = 0; i < v6.length; i++) {
+            if (!parseIpv6((String) v6[i][0], parsed)) {
+                throw new IllegalStateException("Bad reserved range " + v6[i][0]);
+            }
+            RESERVED_V6_HIGH[i] = parsed[0];
+            RESERVED_V6_LOW[i] = parsed[1];
+            RESERVED_V6_PREFIXES[i] = (Integer) v6[i][1];
+            RESERVED_V6_RANGES[i] = new ReservedRange(v6[i][0] + "/" + v6[i][1], (String) v6[i][2], (Boolean) v6[i][3]);
+        }
+    }
+
+    private IpAddresses() {
+    }
+
+    public static boolean isValid(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        return parseIpv4(text) != INVALID || parseIpv6(text, null);
+    }
+
+    public static long parseIpv4(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        int start = trimStart(text);
+        return parseIpv4(text, start, trimEnd(text, start));
+    }
+
+    // Parses dotted-quad IPv4 in text[from, to). Each octet is 1-3 digits and at most 255.
+    public static long parseIpv4(CharSequence text, int from, int to) {
+        long address = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) {
+                    return INVALID;
+                }
+            } else if (c == '.' && digits > 0 && dots < 3) {
+                address = (address << 8) | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                return INVALID;
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            return INVALID;
+        }
+        return (address << 8) | octet;
+    }
+
+    public static boolean parseIpv6(CharSequence text, long[] out) {
+        if (text == null) {
+            return false;
+        }
+        int start = trimStart(text);
+        return parseIpv6(text, start, trimEnd(text, start), out);
+    }
+
+    // Parses RFC 4291 text form in text[from, to), including "::" compression and a trailing
+    // embedded IPv4 address. Zone ids ("%eth0") are rejected. On success out[0] holds the high
+    // 64 bits and out[1] the low 64 bits; pass a null out to only validate.
+    public static boolean parseIpv6(CharSequence text, int from, int to, long[] out) {
+        if (to - from < 2) {
+            return false;
+        }
+        // Groups before "::" are placed by position; groups after it are shifted in from the right
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headCount = 0;
+        int tailCount = 0;
+        boolean compressed = false;
+
+        int i = from;
+        if (text.charAt(i) == ':') {
+            if (text.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+
+        while (i < to) {
+            int tokenEnd = i;
+            long tokenBits = 0;
+            int tokenGroups = 1;
+            while (tokenEnd < to && text.charAt(tokenEnd) != ':' && text.charAt(tokenEnd) != '.') {
+                int digit = hexValue(text.charAt(tokenEnd));
+                if (digit < 0 || tokenEnd - i == 4) {
+                    return false;
+                }
+                tokenBits = (tokenBits << 4) | digit;
+                tokenEnd++;
+            }
+            if (tokenEnd < to && text.charAt(tokenEnd) == '.') {
+                // Embedded IPv4 must be the final token
+                tokenBits = parseIpv4(text, i, to);
+                if (tokenBits == INVALID) {
+                    return false;
+                }
+                tokenGroups = 2;
+                tokenEnd = to;
+            } else if (tokenEnd == i) {
+                return false;
+            }
+
+            for (int k = tokenGroups - 1; k >= 0; k--) {
+                long group = (tokenBits >>> (16 * k)) & 0xFFFF;
+                if (!compressed) {
+                    if (headCount == 8) {
+                        return false;
+                    }
+                    int shift = 48 - 16 * (headCount & 3);
+                    if (headCount < 4) {
+                        headHigh |= group << shift;
+                    } else {
+                        headLow |= group << shift;
+                    }
+                    headCount++;
+                } else {
+                    if (tailCount == 7) {
+                        return false;
+                    }
+                    tailHigh = (tailHigh << 16) | (tailLow >>> 48);
+                    tailLow = (tailLow << 16) | group;
+                    tailCount++;
+                }
+            }
+
+            if (tokenEnd == to) {
+                break;
+            }
+            i = tokenEnd + 1;
+            if (i == to) {
+                return false; // trailing single colon
+            }
+            if (text.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+
+        int groups = headCount + tailCount;
+        if (compressed ? groups > 7 : groups != 8) {
+            return false;
+        }
+        if (out != null) {
+            out[0] = headHigh | tailHigh;
+            out[1] = headLow | tailLow;
+        }
+        return true;
+    }
+
+    // Returns the matching special-purpose range, or null for globally routable addresses. scratch is a
+    // caller-owned long[2] that IPv6 addresses are parsed into, so a loop can reuse one array for all lookups.
+    public static ReservedRange reservedRange(CharSequence text, long[] scratch) {
+        long v4 = parseIpv4(text);
+        if (v4 != INVALID) {
+            return reservedRangeV4(v4);
+        }
+        return parseIpv6(text, scratch) ? reservedRangeV6(scratch[0], scratch[1]) : null;
+    }
+
+    public static ReservedRange reservedRangeV4(long address) {
+        for (int i = 0; i < RESERVED_V4_NETWORKS.length; i++) {
+            int prefix = RESERVED_V4_PREFIXES[i];
+            long mask = prefix == 0 ? 0 : (0xFFFFFFFFL << (32 - prefix)) & 0xFFFFFFFFL;
+            if ((address & mask) == RESERVED_V4_NETWORKS[i]) {
+                return RESERVED_V4_RANGES[i];
+            }
+        }
+        return null;
+    }
+
+    public static ReservedRange reservedRangeV6(long high, long low) {
+        // ::ffff:a.b.c.d (mapped) and ::a.b.c.d (deprecated compatible) carry an IPv4 address
+        if (high == 0 && (low >>> 32 == 0xFFFFL || (low >>> 32 == 0 && low > 1))) {
+            return reservedRangeV4(low & 0xFFFFFFFFL);
+        }
+        for (int i = 0; i < RESERVED_V6_HIGH.length; i++) {
+            if (matchesPrefix(high, low, RESERVED_V6_HIGH[i], RESERVED_V6_LOW[i], RESERVED_V6_PREFIXES[i])) {
+                return RESERVED_V6_RANGES[i];
+            }
+        }
+        return null;
+    }
+
+    public static String formatIpv4(long address) {
+        return ((address >>> 24) & 0xFF) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+    }
+
+    // Full form without "::" compression, e.g. 2001:db8:0:0:0:0:0:1
+    public static String formatIpv6(long high, long low) {
+        StringBuilder text = new StringBuilder(39);
+        for (int group = 0; group < 8; group++) {
+            long word = group < 4 ? high : low;
+            if (group > 0) {
+                text.append(':');
+            }
+            text.append(Long.toHexString((word >>> (48 - 16 * (group & 3))) & 0xFFFF));
+        }
+        return text.toString();
+    }
+
+    static boolean matchesPrefix(long high, long low, long networkHigh, long networkLow, int prefix) {
+        if (prefix <= 64) {
+            long mask = prefix == 0 ? 0 : -1L << (64 - prefix);
+            return (high & mask) == networkHigh;
+        }
+        long mask = -1L << (128 - prefix);
+        return high == networkHigh && (low & mask) == networkLow;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int trimStart(CharSequence text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(CharSequence text, int start) {
+        int end = text.length();
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    public record ReservedRange(String network, String description, boolean privateUse) {
+
+        // Same wording ip-api uses when it refuses these addresses
+        public String message() {
+            return privateUse ? "private range" : "reserved range";
+        }
+    }
+}
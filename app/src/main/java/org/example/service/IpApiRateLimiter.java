@@ -0,0 +1,119 @@
+package org.example.service;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+// Token bucket in front of one ip-api endpoint. The free tier limits /json (45 requests per minute) and
+// /batch (15 per minute) separately, each with its own X-Rl/X-Ttl, so AppConfig creates one limiter per
+// endpoint. Callers wait for a token up to a bounded time; beyond that, or when too many are already
+// waiting, they are turned away with a retry hint. X-Rl (requests left in the window) and X-Ttl (seconds
+// until it resets) tighten the bucket to what the server actually reports.
+public class IpApiRateLimiter {
+
+    private final double tokensPerNano;
+    private final int capacity;
+    private final long maxWaitNanos;
+    private final int maxQueued;
+
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+    private int waiting;
+
+    public IpApiRateLimiter(int requestsPerMinute, long maxWaitMillis, int maxQueued) {
+        this.capacity = requestsPerMinute;
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.maxQueued = maxQueued;
+        this.tokens = requestsPerMinute;
+        this.lastRefill = System.nanoTime();
+        this.blockedUntil = lastRefill;
+    }
+
+    // Blocks until a request may be sent and returns 0, or returns a retry-after in milliseconds
+    // without sending when the wait would exceed the limit or the queue is full
+    public long acquire() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+            long tokenWait = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+            waitNanos = Math.max(tokenWait, blockedUntil - now);
+            if (waitNanos > 0 && (waitNanos > maxWaitNanos || waiting >= maxQueued)) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+            // Reserve now, so later callers queue behind this one
+            tokens -= 1;
+            if (waitNanos <= 0) {
+                return 0;
+            }
+            waiting++;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Nothing is sent, so hand the reserved token back
+            synchronized (this) {
+                tokens = Math.min(capacity, tokens + 1);
+            }
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        } finally {
+            synchronized (this) {
+                waiting--;
+            }
+        }
+    }
+
+    public synchronized void onResponse(HttpHeaders headers) {
+        Integer remaining = intHeader(headers, "X-Rl");
+        Integer ttlSeconds = intHeader(headers, "X-Ttl");
+        if (remaining == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        refill(now);
+        if (remaining <= 0) {
+            block(now, ttlSeconds);
+        } else {
+            tokens = Math.min(tokens, remaining);
+        }
+    }
+
+    // Upstream answered 429: stop sending until its window resets
+    public synchronized long onThrottled(HttpHeaders headers) {
+        Integer ttlSeconds = intHeader(headers, "X-Ttl");
+        long now = System.nanoTime();
+        refill(now);
+        block(now, ttlSeconds);
+        return TimeUnit.NANOSECONDS.toMillis(blockedUntil - now);
+    }
+
+    private void block(long now, Integer ttlSeconds) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds != null ? ttlSeconds : 60);
+        if (now + ttlNanos - blockedUntil > 0) {
+            blockedUntil = now + ttlNanos;
+        }
+        tokens = Math.min(tokens, 0);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+
+    private static Integer intHeader(HttpHeaders headers, String name) {
+        String value = headers != null ? headers.getFirst(name) : null;
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class IpLocationCache {
+
+    private final IpLocationService ipLocationService;
+    private final AsyncLoadingCache<String, CachedLocation> cache;
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public IpLocationCache(IpLocationService ipLocationService,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.ip-location.cache.ttl-seconds:3600}") long ttlSeconds,
+                           @Value("${app.ip-location.cache.negative-ttl-seconds:300}") long negativeTtlSeconds,
+                           @Value("${app.ip-location.cache.max-size:100000}") long maxSize) {
+        this.ipLocationService = ipLocationService;
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        // Caffeine's size eviction is W-TinyLFU, which keeps the hot, heavily repeated IPs resident.
+        // Failures (private ranges, upstream errors) are cached too, but for a shorter time; rate-limited
+        // answers are not cached at all. Concurrent loads of the same IP share one upstream call.
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedLocation>() {
+                    @Override
+                    public long expireAfterCreate(String ip, CachedLocation value, long currentTime) {
+                        if (value.rateLimited()) {
+                            return 0;
+                        }
+                        return value.successful() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String ip, CachedLocation value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(ip, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String ip, CachedLocation value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync(new CacheLoader<String, CachedLocation>() {
+                    @Override
+                    public CachedLocation load(String ip) {
+                        return IpLocationCache.this.load(ip);
+                    }
+
+                    @Override
+                    public Map<String, CachedLocation> loadAll(Set<? extends String> ips) {
+                        return IpLocationCache.this.loadAll(ips);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "ip.location");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .tag("cache", "ip.location")
+                .description("Fraction of IP location lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    public Map<String, Object> getIpLocation(String ipAddress) {
+        // Malformed input is rejected without touching the cache so it cannot crowd out real entries
+        if (!IpLocationService.isValidIpAddress(ipAddress)) {
+            return ipLocationService.getIpLocation(ipAddress);
+        }
+
+        long requestedAt = System.nanoTime();
+        // A miss loads under the caller's OutboundDeadline, if any, and the wait for it can be interrupted
+        CompletableFuture<CachedLocation> location = cache.get(ipAddress.trim(),
+                (ip, executor) -> OutboundDeadline.supplyAsync(() -> load(ip), executor));
+        return withCacheStatus(OutboundDeadline.await(location), requestedAt);
+    }
+
+    // Returns one result per distinct valid address, in first-seen order. Invalid entries are left out;
+    // callers validate up front so they can report them.
+    public List<Map<String, Object>> getIpLocations(Collection<String> ipAddresses) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String ipAddress : ipAddresses) {
+            if (IpLocationService.isValidIpAddress(ipAddress)) {
+                distinct.add(ipAddress.trim());
+            }
+        }
+
+        long requestedAt = System.nanoTime();
+        Map<String, CachedLocation> cached = OutboundDeadline.await(cache.getAll(distinct,
+                (ips, executor) -> OutboundDeadline.supplyAsync(() -> loadAll(ips), executor)));
+        List<Map<String, Object>> results = new ArrayList<>(distinct.size());
+        for (String ip : distinct) {
+            results.add(withCacheStatus(cached.get(ip), requestedAt));
+        }
+        return results;
+    }
+
+    private CachedLocation load(String ip) {
+        Map<String, Object> result = ipLocationService.getIpLocation(ip);
+        return new CachedLocation(result, "SUCCESS".equals(result.get("status")), System.nanoTime());
+    }
+
+    // Every miss in a batch is resolved with one grouped upstream lookup
+    private Map<String, CachedLocation> loadAll(Set<? extends String> ips) {
+        Map<String, Map<String, Object>> results = ipLocationService.getIpLocations(new ArrayList<>(ips));
+        Map<String, CachedLocation> loaded = new HashMap<>();
+        long loadedAt = System.nanoTime();
+        results.forEach((ip, result) ->
+                loaded.put(ip, new CachedLocation(result, "SUCCESS".equals(result.get("status")), loadedAt)));
+        return loaded;
+    }
+
+    private Map<String, Object> withCacheStatus(CachedLocation cached, long requestedAt) {
+        Map<String, Object> response = new HashMap<>(cached.result());
+        response.put("cache", Map.of(
+            "status", cached.loadedAt() >= requestedAt ? "MISS" : "HIT",
+            "ageMs", (System.nanoTime() - cached.loadedAt()) / 1_000_000
+        ));
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    private record CachedLocation(Map<String, Object> result, boolean successful, long loadedAt) {
+        boolean rateLimited() {
+            return "RATE_LIMITED".equals(result.get("status"));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.ResourceAccessException;
@@ -9,30 +12,47 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 @Service
 public class IpLocationService {
 
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-    
-    // IP address validation pattern
-    private static final Pattern IP_PATTERN = Pattern.compile(
-        "^(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
-    );
-
-    public IpLocationService(RestTemplate restTemplate) {
+    private final GeoIpDatabase geoIpDatabase;
+    private final NetworkTagDatabase networkTags;
+    private final IpApiRateLimiter rateLimiter;
+    private final IpApiRateLimiter batchRateLimiter;
+    private final boolean remoteFallback;
+    private final String apiBaseUrl;
+
+    // ip-api accepts at most 100 queries per batch request
+    public static final int REMOTE_BATCH_SIZE = 100;
+    private static final String API_FIELDS =
+        "status,message,country,countryCode,region,regionName,city,zip,lat,lon,timezone,isp,org,as,query";
+
+    public IpLocationService(RestTemplate restTemplate,
+                             GeoIpDatabase geoIpDatabase,
+                             NetworkTagDatabase networkTags,
+                             @Qualifier("ipApiJsonRateLimiter") IpApiRateLimiter rateLimiter,
+                             @Qualifier("ipApiBatchRateLimiter") IpApiRateLimiter batchRateLimiter,
+                             @Value("${app.geoip.remote-fallback:true}") boolean remoteFallback,
+                             @Value("${app.ip-location.api-base-url:http://ip-api.com}") String apiBaseUrl) {
         this.restTemplate = restTemplate;
-        this.objectMapper = new ObjectMapper();
+        this.geoIpDatabase = geoIpDatabase;
+        this.networkTags = networkTags;
+        this.rateLimiter = rateLimiter;
+        this.batchRateLimiter = batchRateLimiter;
+        this.remoteFallback = remoteFallback;
+        this.apiBaseUrl = apiBaseUrl;
     }
 
     public Map<String, Object> getIpLocation(String ipAddress) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("ip", ipAddress);
-        result.put("timestamp", LocalDateTime.now());
+        Map<String, Object> result = newResult(ipAddress);
 
         // Validate IP address format
         if (!isValidIpAddress(ipAddress)) {
@@ -40,69 +60,234 @@ public class IpLocationService {
             result.put("message", "Invalid IP address format");
             return result;
         }
+        long[] scratch = new long[2];
+        if (resolveLocally(ipAddress, result, scratch)) {
+            return result;
+        }
+
+        long retryAfterMs = rateLimiter.acquire();
+        if (retryAfterMs > 0) {
+            putRateLimited(result, retryAfterMs);
+            return result;
+        }
 
         try {
             // Using ip-api.com free service (no API key required)
-            String apiUrl = "http://ip-api.com/json/" + ipAddress + "?fields=status,message,country,countryCode,region,regionName,city,zip,lat,lon,timezone,isp,org,as,query";
-            
+            String apiUrl = apiBaseUrl + "/json/" + ipAddress + "?fields=" + API_FIELDS;
+
             long startTime = System.currentTimeMillis();
-            String response = restTemplate.getForObject(apiUrl, String.class);
+            // Bound straight from the response stream into IpApiAnswer, no intermediate String or tree
+            ResponseEntity<IpApiAnswer> response = restTemplate.getForEntity(apiUrl, IpApiAnswer.class);
             long endTime = System.currentTimeMillis();
             long responseTime = endTime - startTime;
+            rateLimiter.onResponse(response.getHeaders());
 
-            // Parse JSON response
-            JsonNode jsonNode = objectMapper.readTree(response);
-            
-            if ("success".equals(jsonNode.get("status").asText())) {
-                result.put("status", "SUCCESS");
-                result.put("responseTime", responseTime + "ms");
-                
-                // Location information
-                Map<String, Object> location = new HashMap<>();
-                location.put("country", jsonNode.get("country").asText());
-                location.put("countryCode", jsonNode.get("countryCode").asText());
-                location.put("region", jsonNode.get("region").asText());
-                location.put("regionName", jsonNode.get("regionName").asText());
-                location.put("city", jsonNode.get("city").asText());
-                location.put("zipCode", jsonNode.get("zip").asText());
-                location.put("latitude", jsonNode.get("lat").asDouble());
-                location.put("longitude", jsonNode.get("lon").asDouble());
-                location.put("timezone", jsonNode.get("timezone").asText());
-                
-                result.put("location", location);
-                
-                // ISP information
-                Map<String, Object> isp = new HashMap<>();
-                isp.put("isp", jsonNode.get("isp").asText());
-                isp.put("organization", jsonNode.get("org").asText());
-                isp.put("as", jsonNode.get("as").asText());
-                
-                result.put("isp", isp);
-                result.put("message", "IP location retrieved successfully");
-                
-            } else {
+            putRemoteAnswer(result, response.getBody(), responseTime, scratch);
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            putRateLimited(result, rateLimiter.onThrottled(e.getResponseHeaders()));
+        } catch (Exception e) {
+            putRemoteError(result, e);
+        }
+
+        return result;
+    }
+
+    // Looks up distinct, already validated addresses. Whatever the local database can't answer is sent
+    // upstream in batches of REMOTE_BATCH_SIZE rather than one request per address.
+    public Map<String, Map<String, Object>> getIpLocations(Collection<String> ipAddresses) {
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        List<String> remote = new ArrayList<>();
+        // One IPv6 parse buffer for the whole batch
+        long[] scratch = new long[2];
+        for (String ipAddress : ipAddresses) {
+            Map<String, Object> result = newResult(ipAddress);
+            results.put(ipAddress, result);
+            if (!isValidIpAddress(ipAddress)) {
                 result.put("status", "ERROR");
-                result.put("message", jsonNode.has("message") ? jsonNode.get("message").asText() : "Failed to get location data");
+                result.put("message", "Invalid IP address format");
+            } else if (!resolveLocally(ipAddress, result, scratch)) {
+                remote.add(ipAddress);
+            }
+        }
+
+        for (int from = 0; from < remote.size(); from += REMOTE_BATCH_SIZE) {
+            fetchBatch(remote.subList(from, Math.min(from + REMOTE_BATCH_SIZE, remote.size())), results, scratch);
+        }
+        return results;
+    }
+
+    private void fetchBatch(List<String> ipAddresses, Map<String, Map<String, Object>> results, long[] scratch) {
+        long retryAfterMs = batchRateLimiter.acquire();
+        if (retryAfterMs > 0) {
+            for (String ipAddress : ipAddresses) {
+                putRateLimited(results.get(ipAddress), retryAfterMs);
+            }
+            return;
+        }
+
+        try {
+            long startTime = System.currentTimeMillis();
+            ResponseEntity<IpApiAnswer[]> response = restTemplate.postForEntity(apiBaseUrl + "/batch?fields=" + API_FIELDS,
+                    ipAddresses, IpApiAnswer[].class);
+            long responseTime = System.currentTimeMillis() - startTime;
+            batchRateLimiter.onResponse(response.getHeaders());
+
+            // Answers come back in request order
+            IpApiAnswer[] answers = response.getBody();
+            for (int i = 0; i < ipAddresses.size(); i++) {
+                Map<String, Object> result = results.get(ipAddresses.get(i));
+                IpApiAnswer answer = answers != null && i < answers.length ? answers[i] : null;
+                if (answer == null) {
+                    result.put("status", "ERROR");
+                    result.put("message", "No answer for this address in batch response");
+                } else {
+                    putRemoteAnswer(result, answer, responseTime, scratch);
+                }
+            }
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            long throttledMs = batchRateLimiter.onThrottled(e.getResponseHeaders());
+            for (String ipAddress : ipAddresses) {
+                putRateLimited(results.get(ipAddress), throttledMs);
+            }
+        } catch (Exception e) {
+            for (String ipAddress : ipAddresses) {
+                putRemoteError(results.get(ipAddress), e);
+            }
+        }
+    }
+
+    private Map<String, Object> newResult(String ipAddress) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("ip", ipAddress);
+        result.put("timestamp", LocalDateTime.now());
+        return result;
+    }
+
+    // Returns true when the result is final and the remote API must not be called
+    private boolean resolveLocally(String ipAddress, Map<String, Object> result, long[] scratch) {
+        // Private, loopback and other special-purpose ranges have no public location
+        IpAddresses.ReservedRange reserved = IpAddresses.reservedRange(ipAddress, scratch);
+        if (reserved != null) {
+            result.put("status", "ERROR");
+            result.put("source", "local");
+            result.put("message", reserved.message());
+            result.put("reservedRange", Map.of(
+                "network", reserved.network(),
+                "description", reserved.description()
+            ));
+            // Internal networks are often exactly what the custom tag tables describe
+            NetworkTagDatabase.NetworkMatch match = networkTags.lookup(ipAddress, scratch);
+            if (match != null) {
+                result.put("isp", Isp.EMPTY.withNetwork(match));
             }
+            return true;
+        }
 
-        } catch (HttpClientErrorException | HttpServerErrorException e) {
+        // Local database first; the remote API is only consulted for addresses it doesn't cover
+        long lookupStart = System.nanoTime();
+        GeoIpDatabase.GeoRecord record = geoIpDatabase.lookup(ipAddress);
+        if (record != null) {
+            putLocalRecord(result, record, System.nanoTime() - lookupStart, scratch);
+            return true;
+        }
+        if (!remoteFallback) {
             result.put("status", "ERROR");
-            result.put("message", "HTTP Error: " + e.getMessage());
-        } catch (ResourceAccessException e) {
+            result.put("message", geoIpDatabase.isLoaded()
+                    ? "IP address not found in local database"
+                    : "Local database not loaded and remote lookup is disabled");
+            return true;
+        }
+        return false;
+    }
+
+    private void putRemoteAnswer(Map<String, Object> result, IpApiAnswer answer, long responseTime, long[] scratch) {
+        if (answer != null && "success".equals(answer.status())) {
+            result.put("status", "SUCCESS");
+            result.put("source", "ip-api");
+            result.put("responseTime", responseTime + "ms");
+            result.put("location", answer.toLocation());
+            result.put("isp", withNetworkTags((String) result.get("ip"), answer.toIsp(), scratch));
+            result.put("message", "IP location retrieved successfully");
+        } else {
             result.put("status", "ERROR");
+            result.put("message", answer != null && answer.message() != null ? answer.message() : "Failed to get location data");
+        }
+    }
+
+    // The longest matching prefix from our own CIDR tables overrides the provider's ASN/org
+    private Isp withNetworkTags(String ipAddress, Isp isp, long[] scratch) {
+        NetworkTagDatabase.NetworkMatch match = networkTags.lookup(ipAddress, scratch);
+        return match == null ? isp : isp.withNetwork(match);
+    }
+
+    private void putRemoteError(Map<String, Object> result, Exception e) {
+        result.put("status", "ERROR");
+        if (e instanceof HttpClientErrorException || e instanceof HttpServerErrorException) {
+            result.put("message", "HTTP Error: " + e.getMessage());
+        } else if (e instanceof ResourceAccessException) {
             result.put("message", "Connection failed: " + e.getMessage());
-        } catch (Exception e) {
-            result.put("status", "ERROR");
+        } else {
             result.put("message", "Unexpected error: " + e.getMessage());
         }
+    }
 
-        return result;
+    // Not cached; callers are told when to come back
+    private void putRateLimited(Map<String, Object> result, long retryAfterMs) {
+        result.put("status", "RATE_LIMITED");
+        result.put("message", "ip-api rate limit reached, retry after " + retryAfterMs + "ms");
+        result.put("retryAfterMs", retryAfterMs);
+    }
+
+    private void putLocalRecord(Map<String, Object> result, GeoIpDatabase.GeoRecord record, long lookupNanos,
+                                long[] scratch) {
+        result.put("status", "SUCCESS");
+        result.put("source", "local");
+        result.put("responseTime", String.format("%.3fms", lookupNanos / 1_000_000.0));
+
+        result.put("location", new Location(record.country(), record.countryCode(), record.region(),
+                record.regionName(), record.city(), record.zipCode(), record.latitude(), record.longitude(),
+                record.timezone()));
+        result.put("isp", withNetworkTags((String) result.get("ip"),
+                new Isp(record.isp(), record.organization(), record.as(), null, null), scratch));
+        result.put("message", "IP location retrieved successfully");
+    }
+
+    public static boolean isValidIpAddress(String ip) {
+        return IpAddresses.isValid(ip);
+    }
+
+    // One ip-api answer, as requested through API_FIELDS. Failed lookups only carry status and message.
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record IpApiAnswer(String status, String message, String country, String countryCode, String region,
+                              String regionName, String city, String zip, double lat, double lon, String timezone,
+                              String isp, String org, String as, String query) {
+
+        public Location toLocation() {
+            return new Location(country, countryCode, region, regionName, city, zip, lat, lon, timezone);
+        }
+
+        public Isp toIsp() {
+            return new Isp(isp, org, as, null, null);
+        }
     }
 
-    private boolean isValidIpAddress(String ip) {
-        if (ip == null || ip.trim().isEmpty()) {
-            return false;
+    // The "location" and "isp" blocks of a result; serialized as-is by Jackson
+    public record Location(String country, String countryCode, String region, String regionName, String city,
+                           String zipCode, double latitude, double longitude, String timezone) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Isp(String isp, String organization, String as, String network, String tag) {
+
+        static final Isp EMPTY = new Isp(null, null, null, null, null);
+
+        Isp withNetwork(NetworkTagDatabase.NetworkMatch match) {
+            String organizationName = match.organization().isEmpty() ? organization : match.organization();
+            return new Isp(isp != null ? isp : organizationName,
+                    organizationName,
+                    match.asn().isEmpty() ? as : match.asn(),
+                    match.network(),
+                    match.tag().isEmpty() ? tag : match.tag());
         }
-        return IP_PATTERN.matcher(ip.trim()).matches();
     }
 }
\ No newline at end of file
@@ -0,0 +1,286 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Samples GC, memory pool, thread, JIT and allocation counters into fixed-size ring buffers on one daemon
+// thread, so latency spikes can be lined up against GC activity after the fact. Every metric is a
+// preallocated long[] column indexed by the same slot; a sample only stores numbers and allocates nothing
+// itself. The one exception is MemoryPoolMXBean.getUsage(), which has no allocation-free form and returns a
+// small MemoryUsage per pool. Cumulative counters are stored raw and turned into per-interval deltas on read.
+@Service
+public class JvmTelemetrySampler {
+
+    private static final Logger log = LoggerFactory.getLogger(JvmTelemetrySampler.class);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.OperatingSystemMXBean OS =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private final long intervalMs;
+    private final int capacity;
+    private final boolean enabled;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+    private final Runtime runtime = Runtime.getRuntime();
+
+    // Ring buffer columns: slot i of every array belongs to the same sample
+    private final long[] timestamps;
+    private final long[] heapUsed;
+    private final long[] heapCommitted;
+    private final long[] threadCount;
+    private final long[] allocatedBytes;
+    private final long[] compilationMs;
+    private final long[] processCpuNanos;
+    private final long[][] gcCounts;
+    private final long[][] gcTimesMs;
+    private final long[][] poolUsed;
+    private int next;
+    private int size;
+    private long failedSamples;
+    private boolean lastSampleFailed;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "jvm-telemetry-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JvmTelemetrySampler(@Value("${app.telemetry.interval-ms:1000}") long intervalMs,
+                               @Value("${app.telemetry.capacity:900}") int capacity,
+                               @Value("${app.telemetry.enabled:true}") boolean enabled) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("app.telemetry.interval-ms must be positive, got " + intervalMs);
+        }
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        this.intervalMs = intervalMs;
+        this.capacity = capacity;
+        this.enabled = enabled;
+        this.timestamps = new long[capacity];
+        this.heapUsed = new long[capacity];
+        this.heapCommitted = new long[capacity];
+        this.threadCount = new long[capacity];
+        this.allocatedBytes = new long[capacity];
+        this.compilationMs = new long[capacity];
+        this.processCpuNanos = new long[capacity];
+        this.gcCounts = new long[collectors.size()][capacity];
+        this.gcTimesMs = new long[collectors.size()][capacity];
+        this.poolUsed = new long[pools.size()][capacity];
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleAtFixedRate(this::sample, 0, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Package-private so tests can drive sampling without the scheduler. Never throws: an exception escaping a
+    // scheduleAtFixedRate task would silently cancel every later run. A failed sample is dropped, not stored.
+    synchronized void sample() {
+        try {
+            record(next);
+        } catch (RuntimeException e) {
+            failedSamples++;
+            // Once per run of consecutive failures, so a persistent one does not flood the log every interval
+            if (!lastSampleFailed) {
+                log.warn("JVM telemetry sample failed; skipping it and sampling again in {}ms", intervalMs, e);
+            }
+            lastSampleFailed = true;
+            return;
+        }
+        lastSampleFailed = false;
+        next = (next + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    // Fills one slot of every column. Package-private so tests can make a sample fail.
+    void record(int slot) {
+        timestamps[slot] = System.currentTimeMillis();
+        long committed = runtime.totalMemory();
+        heapCommitted[slot] = committed;
+        heapUsed[slot] = committed - runtime.freeMemory();
+        threadCount[slot] = THREADS.getThreadCount();
+        allocatedBytes[slot] = THREADS.isThreadAllocatedMemoryEnabled() ? THREADS.getTotalThreadAllocatedBytes() : -1;
+        compilationMs[slot] = compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation.getTotalCompilationTime() : -1;
+        // Cumulative CPU time rather than getProcessCpuLoad(), which allocates heavily on every call in containers
+        processCpuNanos[slot] = OS.getProcessCpuTime();
+        for (int i = 0; i < gcCounts.length; i++) {
+            gcCounts[i][slot] = collectors.get(i).getCollectionCount();
+            gcTimesMs[i][slot] = collectors.get(i).getCollectionTime();
+        }
+        for (int i = 0; i < poolUsed.length; i++) {
+            // null once a pool is no longer valid (e.g. removed with its class loader)
+            MemoryUsage usage = pools.get(i).getUsage();
+            poolUsed[i][slot] = usage != null ? usage.getUsed() : -1;
+        }
+    }
+
+    // The last `last` samples (all when <= 0) as parallel numeric arrays, oldest first. Counters become
+    // per-interval deltas, so the first sample of the window has none and the arrays are one shorter.
+    public synchronized Map<String, Object> series(int last) {
+        int count = last <= 0 ? size : Math.min(last, size);
+        int first = Math.floorMod(next - count, capacity);
+
+        Map<String, Object> series = new LinkedHashMap<>();
+        series.put("timestamps", window(timestamps, first, count));
+        series.put("heapUsedBytes", window(heapUsed, first, count));
+        series.put("heapCommittedBytes", window(heapCommitted, first, count));
+        series.put("threads", window(threadCount, first, count));
+        series.put("processCpuPermille", cpuPermille(first, count));
+        series.put("allocatedBytesPerSecond", ratePerSecond(allocatedBytes, first, count));
+        series.put("compilationMs", deltas(compilationMs, first, count));
+
+        Map<String, Object> gc = new LinkedHashMap<>();
+        for (int i = 0; i < collectors.size(); i++) {
+            gc.put(collectors.get(i).getName(), Map.of(
+                "collections", deltas(gcCounts[i], first, count),
+                "pauseMs", deltas(gcTimesMs[i], first, count)
+            ));
+        }
+        series.put("gc", gc);
+
+        Map<String, Object> poolSeries = new LinkedHashMap<>();
+        for (int i = 0; i < pools.size(); i++) {
+            poolSeries.put(pools.get(i).getName(), window(poolUsed[i], first, count));
+        }
+        series.put("memoryPoolUsedBytes", poolSeries);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("intervalMs", intervalMs);
+        result.put("capacity", capacity);
+        result.put("samples", count);
+        result.put("failedSamples", failedSamples);
+        result.put("sampling", enabled && !scheduler.isShutdown());
+        result.put("series", series);
+        return result;
+    }
+
+    // Platform threads (virtual threads are not visible to ThreadMXBean) ranked by CPU time or allocated
+    // bytes. With windowMs > 0 the ranking is over that window, measured by sleeping on the caller's thread;
+    // otherwise it is over each thread's lifetime.
+    public Map<String, Object> topThreads(int top, String sortBy, long windowMs) throws InterruptedException {
+        boolean byAllocation = "allocated".equalsIgnoreCase(sortBy) || "allocation".equalsIgnoreCase(sortBy);
+        long[] ids = THREADS.getAllThreadIds();
+        long[] cpuBefore = THREADS.getThreadCpuTime(ids);
+        long[] allocatedBefore = THREADS.getThreadAllocatedBytes(ids);
+        long[] cpu = cpuBefore;
+        long[] allocated = allocatedBefore;
+        if (windowMs > 0) {
+            Thread.sleep(windowMs);
+            cpu = THREADS.getThreadCpuTime(ids);
+            allocated = THREADS.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                // -1 means the thread ended or the counter is unsupported
+                cpu[i] = cpu[i] < 0 || cpuBefore[i] < 0 ? -1 : cpu[i] - cpuBefore[i];
+                allocated[i] = allocated[i] < 0 || allocatedBefore[i] < 0 ? -1 : allocated[i] - allocatedBefore[i];
+            }
+        }
+
+        long[] key = byAllocation ? allocated : cpu;
+        Integer[] order = new Integer[ids.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> key[i]).reversed());
+
+        int limit = Math.min(top, ids.length);
+        long[] topIds = new long[limit];
+        for (int i = 0; i < limit; i++) {
+            topIds[i] = ids[order[i]];
+        }
+        ThreadInfo[] infos = THREADS.getThreadInfo(topIds);
+
+        List<Map<String, Object>> threads = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            int index = order[i];
+            if (infos[i] == null || key[index] < 0) {
+                continue;
+            }
+            Map<String, Object> thread = new LinkedHashMap<>();
+            thread.put("id", ids[index]);
+            thread.put("name", infos[i].getThreadName());
+            thread.put("state", infos[i].getThreadState().name());
+            thread.put("cpuMs", cpu[index] < 0 ? null : cpu[index] / 1_000_000);
+            thread.put("allocatedBytes", allocated[index] < 0 ? null : allocated[index]);
+            threads.add(thread);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("sortBy", byAllocation ? "allocated" : "cpu");
+        result.put("windowMs", windowMs > 0 ? windowMs : null);
+        result.put("platformThreads", ids.length);
+        result.put("threads", threads);
+        return result;
+    }
+
+    private long[] window(long[] column, int first, int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = column[(first + i) % capacity];
+        }
+        return values;
+    }
+
+    private long[] deltas(long[] column, int first, int count) {
+        long[] values = new long[Math.max(0, count - 1)];
+        for (int i = 1; i < count; i++) {
+            long previous = column[(first + i - 1) % capacity];
+            long current = column[(first + i) % capacity];
+            values[i - 1] = previous < 0 || current < 0 ? -1 : current - previous;
+        }
+        return values;
+    }
+
+    private long[] ratePerSecond(long[] column, int first, int count) {
+        long[] values = deltas(column, first, count);
+        for (int i = 1; i < count; i++) {
+            long elapsedMs = timestamps[(first + i) % capacity] - timestamps[(first + i - 1) % capacity];
+            values[i - 1] = values[i - 1] < 0 || elapsedMs <= 0 ? -1 : values[i - 1] * 1000 / elapsedMs;
+        }
+        return values;
+    }
+
+    // Share of all available processors used by this process in each interval, in thousandths
+    private long[] cpuPermille(int first, int count) {
+        long[] values = deltas(processCpuNanos, first, count);
+        int processors = runtime.availableProcessors();
+        for (int i = 1; i < count; i++) {
+            long elapsedMs = timestamps[(first + i) % capacity] - timestamps[(first + i - 1) % capacity];
+            values[i - 1] = values[i - 1] < 0 || elapsedMs <= 0
+                    ? -1 : values[i - 1] / (elapsedMs * processors * 1_000L);
+        }
+        return values;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Log-linear (HDR-style) histogram of nanosecond values with 256 sub-buckets per power of two (< 0.8% error)
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * HALF_COUNT;
+
+    public static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9, 99.99, 100};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(indexFor(clamped));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(clamped);
+        maxValue.accumulateAndGet(clamped, Math::max);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalValue.get() / count;
+    }
+
+    public long valueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        if (percentile >= 100.0) {
+            return maxValue.get();
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) {
+                return Math.min(highestEquivalentValue(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    public Map<String, Object> toMillisSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getTotalCount());
+        summary.put("mean", toMillis(getMean()));
+        for (double percentile : PERCENTILES) {
+            summary.put(percentileLabel(percentile), toMillis(valueAtPercentile(percentile)));
+        }
+        return summary;
+    }
+
+    static int indexFor(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_COUNT + (subBucket - HALF_COUNT);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / HALF_COUNT + 1;
+        long subBucket = offset % HALF_COUNT + HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static String percentileLabel(double percentile) {
+        if (percentile >= 100.0) {
+            return "max";
+        }
+        String label = percentile == Math.floor(percentile)
+                ? Integer.toString((int) percentile)
+                : Double.toString(percentile).replace('.', '_');
+        return "p" + label;
+    }
+
+    private static double toMillis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LatencyRingBuffer {
+
+    private final long[] latencies;
+    private final boolean[] successes;
+    private int next;
+    private int size;
+    private long totalCount;
+    private long errorCount;
+
+    public LatencyRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.latencies = new long[capacity];
+        this.successes = new boolean[capacity];
+    }
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        latencies[next] = latencyNanos;
+        successes[next] = success;
+        next = (next + 1) % latencies.length;
+        if (size < latencies.length) {
+            size++;
+        }
+        totalCount++;
+        if (!success) {
+            errorCount++;
+        }
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        long[] successful = new long[size];
+        int successCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (successes[i]) {
+                successful[successCount++] = latencies[i];
+            }
+        }
+        Arrays.sort(successful, 0, successCount);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("windowSize", size);
+        stats.put("windowErrors", size - successCount);
+        stats.put("totalChecks", totalCount);
+        stats.put("totalErrors", errorCount);
+        stats.put("availability", size == 0 ? null : Math.round(successCount * 10000.0 / size) / 100.0);
+
+        Map<String, Object> latency = new HashMap<>();
+        if (successCount > 0) {
+            latency.put("p50", toMillis(percentile(successful, successCount, 50)));
+            latency.put("p95", toMillis(percentile(successful, successCount, 95)));
+            latency.put("p99", toMillis(percentile(successful, successCount, 99)));
+            latency.put("min", toMillis(successful[0]));
+            latency.put("max", toMillis(successful[successCount - 1]));
+        }
+        stats.put("latencyMs", latency);
+        return stats;
+    }
+
+    // Nearest-rank percentile over the first count entries of a sorted array
+    static long percentile(long[] sorted, int count, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class LoadTestService {
+
+    private static final Timeout CONNECT_TIMEOUT = Timeout.ofSeconds(10);
+    private static final Timeout READ_TIMEOUT = Timeout.ofSeconds(10);
+
+    private final ApiPingService apiPingService;
+    private final int maxRequestsPerSecond;
+    private final int maxDurationSeconds;
+    private final int maxConcurrency;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService runner = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LoadTestService(ApiPingService apiPingService,
+                           @Value("${app.load-test.max-rps:5000}") int maxRequestsPerSecond,
+                           @Value("${app.load-test.max-duration-seconds:300}") int maxDurationSeconds,
+                           @Value("${app.load-test.max-concurrency:1000}") int maxConcurrency) {
+        this.apiPingService = apiPingService;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxDurationSeconds() {
+        return maxDurationSeconds;
+    }
+
+    // Validates and starts the run in the background; throws IllegalStateException right away when another
+    // run is in progress. The future completes with the summary once every request has finished.
+    public CompletableFuture<Map<String, Object>> runLoadTest(String url, int requestsPerSecond, int durationSeconds,
+                                                             int concurrency) {
+        if (requestsPerSecond < 1 || requestsPerSecond > maxRequestsPerSecond) {
+            throw new IllegalArgumentException("requestsPerSecond must be between 1 and " + maxRequestsPerSecond);
+        }
+        if (durationSeconds < 1 || durationSeconds > maxDurationSeconds) {
+            throw new IllegalArgumentException("durationSeconds must be between 1 and " + maxDurationSeconds);
+        }
+        if (concurrency < 1 || concurrency > maxConcurrency) {
+            throw new IllegalArgumentException("concurrency must be between 1 and " + maxConcurrency);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A load test is already running");
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> execute(url, requestsPerSecond, durationSeconds, concurrency), runner)
+                    .whenComplete((result, error) -> running.set(false));
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    // Each run gets its own pool sized to its concurrency, so it neither queues on the shared client's
+    // per-route limit nor takes connections from regular ping traffic. Compression is off so a capped body
+    // read can drop the connection directly, and the generator does not spend CPU inflating responses.
+    private Map<String, Object> execute(String url, int requestsPerSecond, int durationSeconds, int concurrency) {
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(concurrency)
+                        .setMaxConnPerRoute(concurrency)
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(CONNECT_TIMEOUT)
+                                .setSocketTimeout(READ_TIMEOUT)
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(CONNECT_TIMEOUT)
+                        .setResponseTimeout(READ_TIMEOUT)
+                        .build())
+                .disableContentCompression()
+                .build()) {
+            RestTemplate client = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+            return execute(client, url, requestsPerSecond, durationSeconds, concurrency);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> execute(RestTemplate client, String url, int requestsPerSecond, int durationSeconds,
+                                        int concurrency) {
+        long totalRequests = (long) requestsPerSecond * durationSeconds;
+        long intervalNanos = 1_000_000_000L / requestsPerSecond;
+
+        // Latency from the scheduled send time, so queueing behind a slow server is not hidden (coordinated omission)
+        LatencyHistogram corrected = new LatencyHistogram();
+        // Latency from the actual send time, i.e. what a closed-loop client would have reported
+        LatencyHistogram uncorrected = new LatencyHistogram();
+        LongAdder successes = new LongAdder();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Stops issuing on shutdown; requests already in flight still finish
+            for (long i = 0; i < totalRequests && !Thread.currentThread().isInterrupted(); i++) {
+                long intendedStart = start + i * intervalNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    long sentAt = System.nanoTime();
+                    try {
+                        apiPingService.fetchStatus(client, url);
+                        successes.increment();
+                    } catch (HttpStatusCodeException e) {
+                        errors.computeIfAbsent("http_" + e.getStatusCode().value(), key -> new LongAdder()).increment();
+                    } catch (ResourceAccessException e) {
+                        errors.computeIfAbsent("connection", key -> new LongAdder()).increment();
+                    } catch (RuntimeException e) {
+                        errors.computeIfAbsent("other", key -> new LongAdder()).increment();
+                    } finally {
+                        long completedAt = System.nanoTime();
+                        corrected.record(completedAt - intendedStart);
+                        uncorrected.record(completedAt - sentAt);
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        long completed = corrected.getTotalCount();
+        long errorCount = completed - successes.sum();
+        Map<String, Long> errorBreakdown = new HashMap<>();
+        errors.forEach((key, count) -> errorBreakdown.put(key, count.sum()));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("url", url);
+        result.put("timestamp", startedAt);
+        result.put("status", "COMPLETED");
+        result.put("targetRps", requestsPerSecond);
+        result.put("durationSeconds", durationSeconds);
+        result.put("concurrency", concurrency);
+        result.put("elapsedSeconds", Math.round(elapsedNanos / 1_000_000.0) / 1_000.0);
+        result.put("requests", completed);
+        result.put("successes", successes.sum());
+        result.put("errors", errorCount);
+        result.put("errorRate", completed == 0 ? 0.0 : Math.round(errorCount * 10_000.0 / completed) / 10_000.0);
+        result.put("errorBreakdown", errorBreakdown);
+        result.put("achievedRps", Math.round(completed / (elapsedNanos / 1_000_000_000.0) * 100.0) / 100.0);
+        result.put("latencyMs", corrected.toMillisSummary());
+        result.put("uncorrectedLatencyMs", uncorrected.toMillisSummary());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+}
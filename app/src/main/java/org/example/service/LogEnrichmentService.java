@@ -0,0 +1,368 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Adds geolocation to every record of an NDJSON or CSV log while it streams through. Records are read in
+// windows; each window's distinct IPs are resolved in one grouped lookup (cache first, then batched
+// upstream calls) while the next window is being read, so at most two windows are held at once.
+@Service
+public class LogEnrichmentService {
+
+    public enum Format { NDJSON, CSV }
+
+    static final String CSV_COLUMNS = "geo_status,country_code,country,region,city,latitude,longitude,timezone,isp,as";
+    private static final String CSV_EMPTY_COLUMNS = ",,,,,,,,,";
+    private static final long MIN_RETRY_WAIT_MS = 100;
+
+    private final IpLocationCache ipLocationCache;
+    private final int windowSize;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LogEnrichmentService(IpLocationCache ipLocationCache,
+                                @Value("${app.ip-location.enrich.window-size:1000}") int windowSize) {
+        this.ipLocationCache = ipLocationCache;
+        this.windowSize = windowSize;
+    }
+
+    // Reads the CSV header up front so a missing IP column can still be reported as a bad request
+    public EnrichmentJob open(InputStream input, Format format, String ipField) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (format == Format.NDJSON) {
+            return new EnrichmentJob(reader, format, ipField, -1, null);
+        }
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty, expected a header row");
+        }
+        List<String> columns = csvFields(header);
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).trim().equalsIgnoreCase(ipField)) {
+                return new EnrichmentJob(reader, format, ipField, i, header + "," + CSV_COLUMNS + "\n");
+            }
+        }
+        throw new IllegalArgumentException("CSV header has no '" + ipField + "' column");
+    }
+
+    // Runs the job in the background, handing enriched output to the sink one window at a time.
+    // The sink may block (a slow client), which in turn stops reading further input.
+    public CompletableFuture<Map<String, Object>> run(EnrichmentJob job, Consumer<String> sink) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (BufferedReader reader = job.reader) {
+                return enrich(job, reader, sink);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private Map<String, Object> enrich(EnrichmentJob job, BufferedReader reader, Consumer<String> sink) throws IOException {
+        long startTime = System.currentTimeMillis();
+        if (job.csvHeader != null) {
+            sink.accept(job.csvHeader);
+        }
+
+        long records = 0;
+        long distinctIps = 0;
+        int windows = 0;
+        Window pending = null;
+        CompletableFuture<Map<String, Map<String, Object>>> pendingLookup = null;
+        while (true) {
+            Window window = readWindow(job, reader);
+            CompletableFuture<Map<String, Map<String, Object>>> lookup = window.ips.isEmpty()
+                    ? CompletableFuture.completedFuture(Map.of())
+                    : CompletableFuture.supplyAsync(() -> resolve(window.ips), executor);
+            if (pending != null) {
+                sink.accept(render(job, pending, join(pendingLookup)));
+            }
+            if (window.lines.isEmpty()) {
+                break;
+            }
+            records += window.lines.size();
+            distinctIps += window.ips.size();
+            windows++;
+            pending = window;
+            pendingLookup = lookup;
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("records", records);
+        summary.put("distinctIps", distinctIps); // counted per window
+        summary.put("windows", windows);
+        summary.put("durationMs", System.currentTimeMillis() - startTime);
+        return summary;
+    }
+
+    private Window readWindow(EnrichmentJob job, BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>(windowSize);
+        List<String> lineIps = new ArrayList<>(windowSize);
+        BitSet passThrough = new BitSet();
+        Set<String> ips = new LinkedHashSet<>();
+        String line;
+        while (lines.size() < windowSize && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String ip;
+            if (job.format == Format.CSV) {
+                ip = csvField(line, job.csvColumn);
+            } else {
+                try {
+                    ip = jsonField(line, job.ipField);
+                } catch (IOException e) {
+                    // Not a JSON object: echoed back untouched
+                    passThrough.set(lines.size());
+                    ip = null;
+                }
+            }
+            ip = ip == null ? null : ip.trim();
+            lines.add(line);
+            lineIps.add(ip);
+            if (ip != null && IpLocationService.isValidIpAddress(ip)) {
+                ips.add(ip);
+            }
+        }
+        return new Window(lines, lineIps, passThrough, ips);
+    }
+
+    // Rate-limited answers are not cached, so the IPs that got one are looked up again once the limiter says a
+    // slot is free. Waiting here holds back rendering of this window and, through it, reading of the upload.
+    private Map<String, Map<String, Object>> resolve(Set<String> ips) {
+        Map<String, Map<String, Object>> byIp = new HashMap<>();
+        Collection<String> remaining = ips;
+        while (!remaining.isEmpty()) {
+            List<String> rateLimited = new ArrayList<>();
+            long retryAfterMs = 0;
+            for (Map<String, Object> result : ipLocationCache.getIpLocations(remaining)) {
+                String ip = (String) result.get("ip");
+                byIp.put(ip, result);
+                if ("RATE_LIMITED".equals(result.get("status"))) {
+                    rateLimited.add(ip);
+                    if (result.get("retryAfterMs") instanceof Number waitMs) {
+                        retryAfterMs = Math.max(retryAfterMs, waitMs.longValue());
+                    }
+                }
+            }
+            if (!rateLimited.isEmpty()) {
+                try {
+                    Thread.sleep(Math.max(retryAfterMs, MIN_RETRY_WAIT_MS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Enrichment was interrupted while waiting for the ip-api rate limit", e);
+                }
+            }
+            remaining = rateLimited;
+        }
+        return byIp;
+    }
+
+    private String render(EnrichmentJob job, Window window, Map<String, Map<String, Object>> results) {
+        StringBuilder out = new StringBuilder(window.lines.size() * 256);
+        // Each distinct IP is formatted once per window
+        Map<String, String> rendered = new HashMap<>();
+        for (int i = 0; i < window.lines.size(); i++) {
+            String line = window.lines.get(i);
+            String ip = window.lineIps.get(i);
+            Map<String, Object> result = ip == null ? null : results.get(ip);
+            if (window.passThrough.get(i)) {
+                out.append(line).append('\n');
+            } else if (job.format == Format.NDJSON) {
+                int end = line.lastIndexOf('}');
+                String geo = rendered.computeIfAbsent(String.valueOf(ip), key -> geoJson(result));
+                out.append(line, 0, end);
+                if (line.substring(0, end).trim().length() > 1) {
+                    out.append(',');
+                }
+                out.append("\"geo\":").append(geo).append(line, end, line.length()).append('\n');
+            } else {
+                String geo = rendered.computeIfAbsent(String.valueOf(ip), key -> geoCsv(result));
+                out.append(line).append(geo).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private String geoJson(Map<String, Object> result) {
+        Map<String, Object> geo = new LinkedHashMap<>();
+        if (result == null) {
+            geo.put("status", "ERROR");
+            geo.put("message", "No valid IP address in record");
+        } else {
+            geo.put("status", result.get("status"));
+            if (result.get("location") != null) {
+                geo.put("location", result.get("location"));
+                geo.put("isp", result.get("isp"));
+            } else {
+                geo.put("message", result.get("message"));
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(geo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String geoCsv(Map<String, Object> result) {
+        if (result == null) {
+            return ",ERROR" + CSV_EMPTY_COLUMNS;
+        }
+        StringBuilder columns = new StringBuilder(128);
+        columns.append(',').append(csvValue(result.get("status")));
+        if (result.get("location") instanceof IpLocationService.Location location) {
+            columns.append(',').append(csvValue(location.countryCode()))
+                    .append(',').append(csvValue(location.country()))
+                    .append(',').append(csvValue(location.regionName()))
+                    .append(',').append(csvValue(location.city()))
+                    .append(',').append(location.latitude())
+                    .append(',').append(location.longitude())
+                    .append(',').append(csvValue(location.timezone()));
+        } else {
+            columns.append(",,,,,,,");
+        }
+        if (result.get("isp") instanceof IpLocationService.Isp isp) {
+            columns.append(',').append(csvValue(isp.isp())).append(',').append(csvValue(isp.as()));
+        } else {
+            columns.append(",,");
+        }
+        return columns.toString();
+    }
+
+    // Top-level string field of a JSON object, or null; nested values are skipped without being built
+    private String jsonField(String line, String field) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT || line.lastIndexOf('}') < 0) {
+                throw new JsonParseException(parser, "Not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals(name) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    // Field at the given index of an RFC 4180 line, or null if the line is shorter
+    static String csvField(String line, int index) {
+        int field = 0;
+        int i = 0;
+        while (i <= line.length()) {
+            StringBuilder value = field == index ? new StringBuilder() : null;
+            boolean quoted = i < line.length() && line.charAt(i) == '"';
+            if (quoted) {
+                i++;
+                while (i < line.length()) {
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (value != null) {
+                        value.append(c);
+                    }
+                }
+            }
+            while (i < line.length() && line.charAt(i) != ',') {
+                if (value != null) {
+                    value.append(line.charAt(i));
+                }
+                i++;
+            }
+            if (value != null) {
+                return value.toString();
+            }
+            field++;
+            i++;
+        }
+        return null;
+    }
+
+    static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        String field;
+        while ((field = csvField(line, fields.size())) != null) {
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static final class EnrichmentJob {
+        private final BufferedReader reader;
+        private final Format format;
+        private final String ipField;
+        private final int csvColumn;
+        private final String csvHeader;
+
+        private EnrichmentJob(BufferedReader reader, Format format, String ipField, int csvColumn, String csvHeader) {
+            this.reader = reader;
+            this.format = format;
+            this.ipField = ipField;
+            this.csvColumn = csvColumn;
+            this.csvHeader = csvHeader;
+        }
+    }
+
+    private record Window(List<String> lines, List<String> lineIps, BitSet passThrough, Set<String> ips) {
+    }
+}
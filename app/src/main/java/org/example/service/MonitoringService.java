@@ -0,0 +1,169 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class MonitoringService {
+
+    public static final List<String> SUPPORTED_METHODS = List.of("GET", "HEAD");
+
+    private final ApiPingService apiPingService;
+    private final int sampleSize;
+    private final int maxTargets;
+    private final Map<Long, MonitorTarget> targets = new ConcurrentHashMap<>();
+    // Slots reserved before a target is inserted, so concurrent registrations cannot overshoot maxTargets
+    private final AtomicInteger registered = new AtomicInteger();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    // The scheduler only fires ticks; the checks themselves run on virtual threads
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService checkExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public MonitoringService(ApiPingService apiPingService,
+                             @Value("${app.monitor.sample-size:1024}") int sampleSize,
+                             @Value("${app.monitor.max-targets:500}") int maxTargets,
+                             @Value("${app.monitor.scheduler-threads:2}") int schedulerThreads) {
+        this.apiPingService = apiPingService;
+        this.sampleSize = sampleSize;
+        this.maxTargets = maxTargets;
+        this.scheduler = Executors.newScheduledThreadPool(schedulerThreads);
+    }
+
+    public Map<String, Object> register(String url, long intervalSeconds, String method) {
+        String normalizedMethod = method == null ? "HEAD" : method.trim().toUpperCase(Locale.ROOT);
+        if (!SUPPORTED_METHODS.contains(normalizedMethod)) {
+            throw new IllegalArgumentException("Unsupported method: " + method);
+        }
+        if (intervalSeconds < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1 second");
+        }
+        if (registered.getAndUpdate(count -> count < maxTargets ? count + 1 : count) >= maxTargets) {
+            throw new IllegalStateException("Maximum number of monitored targets reached: " + maxTargets);
+        }
+
+        MonitorTarget target = new MonitorTarget(nextId.getAndIncrement(), url, normalizedMethod, intervalSeconds,
+                new LatencyRingBuffer(sampleSize));
+        try {
+            target.schedule = scheduler.scheduleAtFixedRate(() -> dispatch(target), 0, intervalSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            registered.decrementAndGet();
+            throw e;
+        }
+        targets.put(target.id, target);
+        return describe(target);
+    }
+
+    public boolean unregister(long id) {
+        MonitorTarget target = targets.remove(id);
+        if (target == null) {
+            return false;
+        }
+        target.schedule.cancel(false);
+        registered.decrementAndGet();
+        return true;
+    }
+
+    public List<Map<String, Object>> listTargets() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        targets.values().forEach(target -> result.add(describe(target)));
+        return result;
+    }
+
+    public Optional<Map<String, Object>> getStats(long id) {
+        MonitorTarget target = targets.get(id);
+        if (target == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> stats = describe(target);
+        stats.putAll(target.samples.snapshot());
+        stats.put("lastStatus", target.lastStatus);
+        stats.put("lastMessage", target.lastMessage);
+        stats.put("lastCheckedAt", target.lastCheckedAt);
+        return Optional.of(stats);
+    }
+
+    private void dispatch(MonitorTarget target) {
+        // Skip the tick rather than pile up checks behind a target that is slower than its interval
+        if (target.running.compareAndSet(false, true)) {
+            checkExecutor.execute(() -> {
+                try {
+                    check(target);
+                } finally {
+                    target.running.set(false);
+                }
+            });
+        }
+    }
+
+    private void check(MonitorTarget target) {
+        long start = System.nanoTime();
+        Map<String, Object> result = "GET".equals(target.method)
+                ? apiPingService.pingEndpoint(target.url)
+                : apiPingService.healthCheck(target.url);
+        long elapsed = System.nanoTime() - start;
+
+        Object status = result.get("status");
+        boolean success = "SUCCESS".equals(status) || "HEALTHY".equals(status);
+        target.samples.record(elapsed, success);
+        target.lastStatus = status;
+        target.lastMessage = result.get("message");
+        target.lastCheckedAt = LocalDateTime.now();
+    }
+
+    private Map<String, Object> describe(MonitorTarget target) {
+        Map<String, Object> description = new HashMap<>();
+        description.put("id", target.id);
+        description.put("url", target.url);
+        description.put("method", target.method);
+        description.put("intervalSeconds", target.intervalSeconds);
+        description.put("registeredAt", target.registeredAt);
+        return description;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        checkExecutor.shutdownNow();
+    }
+
+    private static final class MonitorTarget {
+        final long id;
+        final String url;
+        final String method;
+        final long intervalSeconds;
+        final LatencyRingBuffer samples;
+        final LocalDateTime registeredAt = LocalDateTime.now();
+        final AtomicBoolean running = new AtomicBoolean();
+        volatile ScheduledFuture<?> schedule;
+        volatile Object lastStatus;
+        volatile Object lastMessage;
+        volatile LocalDateTime lastCheckedAt;
+
+        MonitorTarget(long id, String url, String method, long intervalSeconds, LatencyRingBuffer samples) {
+            this.id = id;
+            this.url = url;
+            this.method = method;
+            this.intervalSeconds = intervalSeconds;
+            this.samples = samples;
+        }
+    }
+}
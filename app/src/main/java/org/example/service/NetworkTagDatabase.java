@@ -0,0 +1,171 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+// CIDR -> (ASN, organization, tag) tables, resolved by longest-prefix match. Expected CSV columns:
+// cidr,asn,organization,tag   e.g. 8.8.8.0/24,AS15169,"Google, LLC",public-dns   or   2001:db8::/32,,Lab,test
+// Fields containing commas must be quoted; a row with more or fewer than four fields fails the load.
+@Service
+public class NetworkTagDatabase {
+
+    private static final int COLUMNS = 4;
+
+    private final String tablePath;
+    // Readers take one snapshot per lookup; a reload builds a new trie and swaps it in
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private volatile String lastError;
+
+    public NetworkTagDatabase(@Value("${app.network-tags.path:}") String tablePath) {
+        this.tablePath = tablePath;
+        if (isConfigured()) {
+            reload();
+        }
+    }
+
+    public boolean isConfigured() {
+        return tablePath != null && !tablePath.isBlank();
+    }
+
+    // Returns null when no prefix covers the address. scratch is a caller-owned long[2] that IPv6 addresses are
+    // parsed into, as for IpAddresses.reservedRange, so a batch can reuse one array for all its lookups.
+    public NetworkMatch lookup(String ipAddress, long[] scratch) {
+        Snapshot current = snapshot.get();
+        if (current.trie.size() == 0) {
+            return null;
+        }
+        int node;
+        long v4 = IpAddresses.parseIpv4(ipAddress);
+        if (v4 != IpAddresses.INVALID) {
+            node = current.trie.lookupNode(0, 0xFFFFL << 32 | v4);
+        } else {
+            if (!IpAddresses.parseIpv6(ipAddress, scratch)) {
+                return null;
+            }
+            node = current.trie.lookupNode(scratch[0], scratch[1]);
+        }
+        if (node < 0) {
+            return null;
+        }
+        NetworkInfo info = current.records[current.trie.valueOf(node)];
+        return new NetworkMatch(current.trie.prefixOf(node), info.asn(), info.organization(), info.tag());
+    }
+
+    public synchronized Map<String, Object> reload() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("path", tablePath);
+        result.put("timestamp", LocalDateTime.now());
+        if (!isConfigured()) {
+            result.put("status", "ERROR");
+            result.put("message", "No table configured, set app.network-tags.path");
+            return result;
+        }
+
+        long startTime = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(tablePath), StandardCharsets.UTF_8)) {
+            Snapshot loaded = load(reader);
+            snapshot.set(loaded);
+            lastError = null;
+            result.put("status", "SUCCESS");
+            result.put("prefixes", loaded.trie.size());
+            result.put("nodes", loaded.trie.nodeCount());
+            result.put("loadTimeMs", (System.nanoTime() - startTime) / 1_000_000);
+        } catch (IOException | IllegalArgumentException e) {
+            // Keep serving the previous table if the new one is unreadable or malformed
+            lastError = e.getMessage();
+            result.put("status", "ERROR");
+            result.put("message", "Failed to load network tags: " + e.getMessage());
+        }
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("configured", isConfigured());
+        stats.put("path", tablePath);
+        stats.put("prefixes", current.trie.size());
+        stats.put("nodes", current.trie.nodeCount());
+        stats.put("distinctRecords", current.records.length);
+        stats.put("loadedAt", current.loadedAt);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private static Snapshot load(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        PrefixTrie trie = new PrefixTrie(1024);
+        Map<NetworkInfo, Integer> recordIds = new HashMap<>();
+        List<NetworkInfo> records = new ArrayList<>();
+        long[] v6 = new long[2];
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            List<String> fields = CsvFields.split(line, COLUMNS);
+            if (lineNumber == 1 && fields.get(0).equalsIgnoreCase("cidr")) {
+                continue; // header row
+            }
+            if (fields.size() != COLUMNS) {
+                // Usually an unquoted comma inside the organization, which would shift the tag
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected 4 fields cidr,asn,organization,tag"
+                        + " (quote values containing commas), found " + fields.size());
+            }
+
+            String cidr = fields.get(0);
+            int slash = cidr.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": missing prefix length in " + cidr);
+            }
+            int length;
+            try {
+                length = Integer.parseInt(cidr, slash + 1, cidr.length(), 10);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid prefix length in " + cidr);
+            }
+
+            NetworkInfo info = new NetworkInfo(fields.get(1), fields.get(2), fields.get(3));
+            int recordId = recordIds.computeIfAbsent(info, key -> {
+                records.add(key);
+                return records.size() - 1;
+            });
+
+            long v4 = IpAddresses.parseIpv4(cidr, 0, slash);
+            if (v4 != IpAddresses.INVALID) {
+                trie.putIpv4(v4, length, recordId);
+            } else if (IpAddresses.parseIpv6(cidr, 0, slash, v6)) {
+                trie.put(v6[0], v6[1], length, recordId);
+            } else {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid network " + cidr);
+            }
+        }
+        return new Snapshot(trie.trim(), records.toArray(new NetworkInfo[0]), LocalDateTime.now());
+    }
+
+    public record NetworkMatch(String network, String asn, String organization, String tag) {
+    }
+
+    private record NetworkInfo(String asn, String organization, String tag) {
+    }
+
+    private record Snapshot(PrefixTrie trie, NetworkInfo[] records, LocalDateTime loadedAt) {
+        static final Snapshot EMPTY = new Snapshot(new PrefixTrie(0).trim(), new NetworkInfo[0], null);
+    }
+}
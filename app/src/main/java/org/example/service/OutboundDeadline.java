@@ -0,0 +1,68 @@
+package org.example.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Deadline of the outbound call running on the current thread. AsyncOutboundService sets it around each
+// task, and the pooled client's request factory (AppConfig) caps lease and response timeouts at what is left,
+// so a timed-out async call does not keep its worker and connection for the full client timeouts. Calls that
+// hand their HTTP work to another thread (the caches' loaders) carry the deadline over with supplyAsync and
+// wait with await.
+public final class OutboundDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private OutboundDeadline() {
+    }
+
+    static <T> T runUntil(long deadlineNanos, Supplier<T> call) {
+        DEADLINE_NANOS.set(deadlineNanos);
+        try {
+            return call.get();
+        } finally {
+            DEADLINE_NANOS.remove();
+        }
+    }
+
+    // Runs call on executor under the current thread's deadline, if it has one
+    static <T> CompletableFuture<T> supplyAsync(Supplier<T> call, Executor executor) {
+        Long deadlineNanos = DEADLINE_NANOS.get();
+        if (deadlineNanos == null) {
+            return CompletableFuture.supplyAsync(call, executor);
+        }
+        return CompletableFuture.supplyAsync(() -> runUntil(deadlineNanos, call), executor);
+    }
+
+    // Like join(), but the wait ends when the current thread is interrupted (a cancelled async task) or its
+    // deadline passes, so the worker is released. The future itself is left alone: other callers may share it.
+    static <T> T await(CompletableFuture<T> future) {
+        Long deadlineNanos = DEADLINE_NANOS.get();
+        try {
+            return deadlineNanos == null
+                    ? future.get()
+                    : future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for an outbound call");
+        } catch (TimeoutException e) {
+            throw new CompletionException("Outbound deadline passed", e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    // Milliseconds left on the current thread's deadline (at least 1), or -1 when the call has none
+    public static long remainingMillis() {
+        Long deadlineNanos = DEADLINE_NANOS.get();
+        if (deadlineNanos == null) {
+            return -1;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class PingResultCache {
+
+    private final ApiPingService apiPingService;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final AsyncLoadingCache<CacheKey, CachedResult> cache;
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PingResultCache(ApiPingService apiPingService,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.ping.cache.ttl-seconds:15}") long ttlSeconds,
+                           @Value("${app.ping.cache.stale-seconds:60}") long staleSeconds,
+                           @Value("${app.ping.cache.max-size:10000}") long maxSize) {
+        this.apiPingService = apiPingService;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.staleNanos = Duration.ofSeconds(staleSeconds).toNanos();
+        // Concurrent gets for a key share one in-flight load. Past the TTL the stale value is served
+        // while a single refresh runs; past TTL + stale window the entry expires and callers wait.
+        // Failures are only kept for the TTL, and CIRCUIT_OPEN answers not at all (see expiryNanos).
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .expireAfter(new Expiry<CacheKey, CachedResult>() {
+                    @Override
+                    public long expireAfterCreate(CacheKey key, CachedResult value, long currentTime) {
+                        return expiryNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(CacheKey key, CachedResult value, long currentTime,
+                                                  long currentDuration) {
+                        return expiryNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(CacheKey key, CachedResult value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "ping.results");
+    }
+
+    public Map<String, Object> healthCheck(String url) {
+        return get(new CacheKey("HEAD", url));
+    }
+
+    public Map<String, Object> getEndpointInfo(String url) {
+        return get(new CacheKey("OPTIONS", url));
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRatio", Math.round(stats.hitRate() * 1000.0) / 1000.0);
+        result.put("loads", stats.loadCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("averageLoadMs", Math.round(stats.averageLoadPenalty() / 1_000.0) / 1_000.0);
+        return result;
+    }
+
+    private Map<String, Object> get(CacheKey key) {
+        long requestedAt = System.nanoTime();
+        // A miss loads under the caller's OutboundDeadline, if any, and the wait for it can be interrupted
+        CachedResult cached = OutboundDeadline.await(
+                cache.get(key, (missing, executor) -> OutboundDeadline.supplyAsync(() -> load(missing), executor)));
+
+        long ageNanos = System.nanoTime() - cached.loadedAt();
+        String cacheStatus = cached.loadedAt() >= requestedAt ? "MISS" : (ageNanos > ttlNanos ? "STALE" : "HIT");
+
+        Map<String, Object> response = new HashMap<>(cached.result());
+        response.put("cache", Map.of(
+            "status", cacheStatus,
+            "ageMs", ageNanos / 1_000_000
+        ));
+        return response;
+    }
+
+    // A CIRCUIT_OPEN answer was made without calling the host and says nothing about it once the circuit
+    // half-opens, so it is dropped as soon as the callers sharing its load have it. Failures are not served stale.
+    private long expiryNanos(CachedResult value) {
+        Object status = value.result().get("status");
+        if ("CIRCUIT_OPEN".equals(status)) {
+            return 0;
+        }
+        return "HEALTHY".equals(status) || "SUCCESS".equals(status) ? ttlNanos + staleNanos : ttlNanos;
+    }
+
+    private CachedResult load(CacheKey key) {
+        Map<String, Object> result = "HEAD".equals(key.method())
+                ? apiPingService.healthCheck(key.url())
+                : apiPingService.getEndpointInfo(key.url());
+        return new CachedResult(result, System.nanoTime());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    private record CacheKey(String method, String url) {
+    }
+
+    private record CachedResult(Map<String, Object> result, long loadedAt) {
+    }
+}
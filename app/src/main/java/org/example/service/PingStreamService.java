@@ -0,0 +1,154 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class PingStreamService {
+
+    private final ApiPingService apiPingService;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final int maxSubscribers;
+    // Open emitters across all groups, reserved before an emitter is added so the cap holds under concurrency
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // Subscribers watching the same URL at the same interval share one schedule and one ping per tick
+    private final Map<String, StreamGroup> groups = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService pingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PingStreamService(ApiPingService apiPingService,
+                             ObjectMapper objectMapper,
+                             @Value("${app.ping.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                             @Value("${app.ping.stream.max-subscribers:500}") int maxSubscribers) {
+        this.apiPingService = apiPingService;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    // Throws IllegalStateException when max-subscribers emitters are already open
+    public SseEmitter subscribe(String url, long intervalSeconds) {
+        if (subscribers.getAndUpdate(count -> count < maxSubscribers ? count + 1 : count) >= maxSubscribers) {
+            throw new IllegalStateException("Maximum number of ping stream subscribers (" + maxSubscribers + ") reached");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        try {
+            groups.compute(key(url, intervalSeconds), (k, group) -> {
+                if (group == null) {
+                    group = new StreamGroup(url);
+                    StreamGroup created = group;
+                    group.schedule = scheduler.scheduleAtFixedRate(() -> tick(created), 0, intervalSeconds, TimeUnit.SECONDS);
+                }
+                group.emitters.add(emitter);
+                return group;
+            });
+        } catch (RuntimeException e) {
+            subscribers.decrementAndGet();
+            throw e;
+        }
+
+        emitter.onCompletion(() -> unsubscribe(url, intervalSeconds, emitter));
+        emitter.onTimeout(() -> unsubscribe(url, intervalSeconds, emitter));
+        emitter.onError(error -> unsubscribe(url, intervalSeconds, emitter));
+        return emitter;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("subscribers", subscribers.get());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("streams", groups.size());
+        return stats;
+    }
+
+    // Completion, timeout and error can all fire for one emitter; only the first removal frees its slot.
+    // Package-private so tests can end a subscription without a servlet response behind the emitter.
+    void unsubscribe(String url, long intervalSeconds, SseEmitter emitter) {
+        groups.computeIfPresent(key(url, intervalSeconds), (k, group) -> {
+            if (group.emitters.remove(emitter)) {
+                subscribers.decrementAndGet();
+            }
+            if (group.emitters.isEmpty()) {
+                group.schedule.cancel(false);
+                return null;
+            }
+            return group;
+        });
+    }
+
+    private static String key(String url, long intervalSeconds) {
+        return intervalSeconds + " " + url;
+    }
+
+    private void tick(StreamGroup group) {
+        if (!group.running.compareAndSet(false, true)) {
+            return;
+        }
+        pingExecutor.execute(() -> {
+            try {
+                broadcast(group, apiPingService.pingEndpoint(group.url));
+            } finally {
+                group.running.set(false);
+            }
+        });
+    }
+
+    private void broadcast(StreamGroup group, Map<String, Object> result) {
+        String payload;
+        try {
+            // Serialised once per tick and reused for every subscriber
+            payload = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            return;
+        }
+        String id = Long.toString(group.sequence.incrementAndGet());
+        for (SseEmitter emitter : group.emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("ping").id(id).data(payload));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pingExecutor.shutdownNow();
+        groups.values().forEach(group -> group.emitters.forEach(SseEmitter::complete));
+    }
+
+    private static final class StreamGroup {
+        final String url;
+        final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicLong sequence = new AtomicLong();
+        volatile ScheduledFuture<?> schedule;
+
+        StreamGroup(String url) {
+            this.url = url;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+// Path-compressed binary (Patricia) trie over 128-bit keys for longest-prefix matching.
+// IPv4 prefixes are stored in the IPv4-mapped space (::ffff:0:0/96). Nodes live in parallel
+// primitive arrays; once built the trie is never modified, so any number of threads can read it.
+public final class PrefixTrie {
+
+    public static final int NO_VALUE = -1;
+    private static final int NO_CHILD = -1;
+    private static final long IPV4_MAPPED_LOW = 0xFFFFL << 32;
+
+    private long[] keyHigh;
+    private long[] keyLow;
+    private byte[] prefixLength; // 0-128, read as unsigned
+    private int[] left;
+    private int[] right;
+    private int[] value;
+    private int nodeCount;
+    private int prefixCount;
+
+    public PrefixTrie(int expectedPrefixes) {
+        int capacity = Math.max(16, expectedPrefixes * 2);
+        keyHigh = new long[capacity];
+        keyLow = new long[capacity];
+        prefixLength = new byte[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        value = new int[capacity];
+        newNode(0, 0, 0, NO_VALUE); // root, the empty prefix
+    }
+
+    public int size() {
+        return prefixCount;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public void putIpv4(long address, int length, int valueIndex) {
+        if (length < 0 || length > 32) {
+            throw new IllegalArgumentException("IPv4 prefix length must be 0-32: " + length);
+        }
+        put(0, IPV4_MAPPED_LOW | address, 96 + length, valueIndex);
+    }
+
+    public void put(long high, long low, int length, int valueIndex) {
+        if (length < 0 || length > 128) {
+            throw new IllegalArgumentException("IPv6 prefix length must be 0-128: " + length);
+        }
+        long maskedHigh = high & highMask(length);
+        long maskedLow = low & lowMask(length);
+
+        int current = 0;
+        while (true) {
+            // Invariant: the key extends the prefix of `current`
+            int currentLength = lengthOf(current);
+            if (currentLength == length) {
+                if (value[current] == NO_VALUE) {
+                    prefixCount++;
+                }
+                value[current] = valueIndex;
+                return;
+            }
+            boolean goRight = bitAt(maskedHigh, maskedLow, currentLength) == 1;
+            int child = goRight ? right[current] : left[current];
+            if (child == NO_CHILD) {
+                setChild(current, goRight, newNode(maskedHigh, maskedLow, length, valueIndex));
+                prefixCount++;
+                return;
+            }
+
+            int childLength = lengthOf(child);
+            int common = Math.min(commonPrefixLength(maskedHigh, maskedLow, keyHigh[child], keyLow[child]),
+                    Math.min(length, childLength));
+            if (common == childLength) {
+                current = child;
+                continue;
+            }
+
+            // The key diverges from the child's prefix (or ends inside it): split the edge
+            int split;
+            if (common == length) {
+                split = newNode(maskedHigh, maskedLow, length, valueIndex);
+            } else {
+                split = newNode(maskedHigh & highMask(common), maskedLow & lowMask(common), common, NO_VALUE);
+                int leaf = newNode(maskedHigh, maskedLow, length, valueIndex);
+                setChild(split, bitAt(maskedHigh, maskedLow, common) == 1, leaf);
+            }
+            setChild(split, bitAt(keyHigh[child], keyLow[child], common) == 1, child);
+            setChild(current, goRight, split);
+            prefixCount++;
+            return;
+        }
+    }
+
+    public int lookupIpv4(long address) {
+        return lookup(0, IPV4_MAPPED_LOW | address);
+    }
+
+    // Returns the value of the longest prefix containing the address, or NO_VALUE
+    public int lookup(long high, long low) {
+        int node = lookupNode(high, low);
+        return node == NO_CHILD ? NO_VALUE : value[node];
+    }
+
+    // Returns the node of the longest matching prefix (see valueOf/prefixOf), or -1
+    public int lookupNode(long high, long low) {
+        int bestNode = NO_CHILD;
+        int node = 0;
+        while (node != NO_CHILD) {
+            int length = lengthOf(node);
+            if (!matches(high, low, node, length)) {
+                break;
+            }
+            if (value[node] != NO_VALUE) {
+                bestNode = node;
+            }
+            if (length == 128) {
+                break;
+            }
+            node = bitAt(high, low, length) == 1 ? right[node] : left[node];
+        }
+        return bestNode;
+    }
+
+    public int valueOf(int node) {
+        return value[node];
+    }
+
+    public String prefixOf(int node) {
+        int length = lengthOf(node);
+        if (keyHigh[node] == 0 && (keyLow[node] >>> 32) == 0xFFFFL && length >= 96) {
+            return IpAddresses.formatIpv4(keyLow[node] & 0xFFFFFFFFL) + "/" + (length - 96);
+        }
+        return IpAddresses.formatIpv6(keyHigh[node], keyLow[node]) + "/" + length;
+    }
+
+    // Drops the spare capacity left over from building
+    public PrefixTrie trim() {
+        keyHigh = Arrays.copyOf(keyHigh, nodeCount);
+        keyLow = Arrays.copyOf(keyLow, nodeCount);
+        prefixLength = Arrays.copyOf(prefixLength, nodeCount);
+        left = Arrays.copyOf(left, nodeCount);
+        right = Arrays.copyOf(right, nodeCount);
+        value = Arrays.copyOf(value, nodeCount);
+        return this;
+    }
+
+    private boolean matches(long high, long low, int node, int length) {
+        return (high & highMask(length)) == keyHigh[node] && (low & lowMask(length)) == keyLow[node];
+    }
+
+    private int lengthOf(int node) {
+        return prefixLength[node] & 0xFF;
+    }
+
+    private void setChild(int parent, boolean rightSide, int child) {
+        if (rightSide) {
+            right[parent] = child;
+        } else {
+            left[parent] = child;
+        }
+    }
+
+    private int newNode(long high, long low, int length, int valueIndex) {
+        if (nodeCount == keyHigh.length) {
+            int capacity = nodeCount * 2;
+            keyHigh = Arrays.copyOf(keyHigh, capacity);
+            keyLow = Arrays.copyOf(keyLow, capacity);
+            prefixLength = Arrays.copyOf(prefixLength, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            value = Arrays.copyOf(value, capacity);
+        }
+        int node = nodeCount++;
+        keyHigh[node] = high;
+        keyLow[node] = low;
+        prefixLength[node] = (byte) length;
+        left[node] = NO_CHILD;
+        right[node] = NO_CHILD;
+        value[node] = valueIndex;
+        return node;
+    }
+
+    private static int bitAt(long high, long low, int position) {
+        return position < 64 ? (int) (high >>> (63 - position)) & 1 : (int) (low >>> (127 - position)) & 1;
+    }
+
+    private static int commonPrefixLength(long high1, long low1, long high2, long low2) {
+        if (high1 != high2) {
+            return Long.numberOfLeadingZeros(high1 ^ high2);
+        }
+        return 64 + Long.numberOfLeadingZeros(low1 ^ low2);
+    }
+
+    private static long highMask(int length) {
+        return length == 0 ? 0 : length >= 64 ? -1L : -1L << (64 - length);
+    }
+
+    private static long lowMask(int length) {
+        return length <= 64 ? 0 : -1L << (128 - length);
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+// Runs an in-process Java Flight Recorder recording for a fixed time and boils it down to what is usually
+// looked at first: hot methods from execution samples, allocation sites by sampled bytes, contended monitors
+// and parks, and GC pauses. One recording at a time; the raw file of the last kept recording can be fetched.
+@Service
+public class ProfilingService {
+
+    private final int maxSeconds;
+    private final int top;
+    private final String settings;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Path lastRecording;
+
+    public ProfilingService(@Value("${app.profile.max-seconds:300}") int maxSeconds,
+                            @Value("${app.profile.top:15}") int top,
+                            @Value("${app.profile.settings:profile}") String settings) {
+        this.maxSeconds = maxSeconds;
+        this.top = top;
+        this.settings = settings;
+    }
+
+    public int getMaxSeconds() {
+        return maxSeconds;
+    }
+
+    // The recording kept by the last profile(seconds, true) call, or null
+    public Path getLastRecording() {
+        return lastRecording;
+    }
+
+    // Throws IllegalStateException right away when another recording is in progress. With keepRecording the
+    // .jfr file replaces the previously kept one instead of being deleted after summarizing.
+    public CompletableFuture<Map<String, Object>> profile(int seconds, boolean keepRecording) {
+        if (seconds < 1 || seconds > maxSeconds) {
+            throw new IllegalArgumentException("seconds must be between 1 and " + maxSeconds);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A profiling recording is already running");
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> record(seconds, keepRecording), executor)
+                    .whenComplete((summary, error) -> running.set(false));
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private Map<String, Object> record(int seconds, boolean keepRecording) {
+        Path file;
+        try {
+            file = Files.createTempFile("profile-", ".jfr");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            try (Recording recording = new Recording(Configuration.getConfiguration(settings))) {
+                recording.setName("utils-profile");
+                recording.start();
+                Thread.sleep(seconds * 1000L);
+                recording.stop();
+                recording.dump(file);
+            }
+            Map<String, Object> summary = summarize(file);
+            summary.put("seconds", seconds);
+            summary.put("settings", settings);
+            summary.put("recordingBytes", Files.size(file));
+            if (keepRecording) {
+                Path previous = lastRecording;
+                lastRecording = file;
+                file = previous;
+                summary.put("recording", "/utils/profile/recording");
+            }
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings '" + settings + "': " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Profiling was interrupted", e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    // Package-private so tests can summarize a recording they made themselves
+    Map<String, Object> summarize(Path file) throws IOException {
+        Map<String, Tally> methods = new HashMap<>();
+        Map<String, Tally> allocationSites = new HashMap<>();
+        Map<String, Tally> locks = new HashMap<>();
+        Map<String, Tally> collectors = new LinkedHashMap<>();
+        List<Map<String, Object>> pauses = new ArrayList<>();
+        long cpuSamples = 0;
+        long allocatedBytes = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        // Self time: the method on top of the stack, not the line
+                        RecordedFrame frame = topFrame(event.getStackTrace());
+                        if (frame != null) {
+                            methods.computeIfAbsent(methodName(frame.getMethod()), key -> new Tally()).add(1);
+                            cpuSamples++;
+                        }
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        String type = event.getClass("objectClass") != null ? event.getClass("objectClass").getName() : "?";
+                        String key = site(topFrame(event.getStackTrace())) + " " + type;
+                        allocationSites.computeIfAbsent(key, ignored -> new Tally()).add(weight);
+                        allocatedBytes += weight;
+                    }
+                    case "jdk.JavaMonitorEnter" -> {
+                        String monitor = event.getClass("monitorClass") != null ? event.getClass("monitorClass").getName() : "?";
+                        String key = "monitor " + monitor + " at " + site(topFrame(event.getStackTrace()));
+                        locks.computeIfAbsent(key, ignored -> new Tally()).add(event.getDuration().toNanos());
+                    }
+                    case "jdk.ThreadPark" -> {
+                        // Only parks on a lock's Sync (ReentrantLock, read/write locks, semaphores) are contention;
+                        // condition and queue waits are mostly idle pool threads
+                        String parked = event.getClass("parkedClass") != null ? event.getClass("parkedClass").getName() : "";
+                        if (parked.endsWith("Sync")) {
+                            // Skip the LockSupport frames so the site is the code that waited
+                            String key = "park " + parked + " at " + site(callerFrame(event.getStackTrace()));
+                            locks.computeIfAbsent(key, ignored -> new Tally()).add(event.getDuration().toNanos());
+                        }
+                    }
+                    case "jdk.GarbageCollection" -> {
+                        String name = event.getString("name");
+                        long pauseNanos = event.getDuration("sumOfPauses").toNanos();
+                        collectors.computeIfAbsent(name, ignored -> new Tally()).add(pauseNanos);
+                        Map<String, Object> pause = new LinkedHashMap<>();
+                        pause.put("collector", name);
+                        pause.put("cause", event.getString("cause"));
+                        pause.put("start", event.getStartTime().toString());
+                        pause.put("pauseMs", millis(pauseNanos));
+                        pause.put("longestPauseMs", millis(event.getDuration("longestPause").toNanos()));
+                        pauses.add(pause);
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> cpu = new LinkedHashMap<>();
+        cpu.put("samples", cpuSamples);
+        cpu.put("topMethods", topEntries(methods, cpuSamples, (key, tally) -> Map.of(
+            "method", key,
+            "samples", tally.count
+        )));
+
+        Map<String, Object> allocation = new LinkedHashMap<>();
+        allocation.put("sampledBytes", allocatedBytes);
+        allocation.put("topSites", topEntries(allocationSites, allocatedBytes, (key, tally) -> {
+            int split = key.lastIndexOf(' ');
+            return Map.of(
+                "site", key.substring(0, split),
+                "type", key.substring(split + 1),
+                "bytes", tally.total
+            );
+        }));
+
+        Map<String, Object> contention = new LinkedHashMap<>();
+        contention.put("events", locks.values().stream().mapToLong(tally -> tally.count).sum());
+        contention.put("blockedMs", millis(locks.values().stream().mapToLong(tally -> tally.total).sum()));
+        contention.put("top", topEntries(locks, -1, (key, tally) -> Map.of(
+            "lock", key,
+            "count", tally.count,
+            "totalMs", millis(tally.total),
+            "maxMs", millis(tally.max)
+        )));
+
+        Map<String, Object> byCollector = new LinkedHashMap<>();
+        collectors.forEach((name, tally) -> byCollector.put(name, Map.of(
+            "collections", tally.count,
+            "totalPauseMs", millis(tally.total),
+            "maxPauseMs", millis(tally.max)
+        )));
+        pauses.sort(Comparator.comparingDouble((Map<String, Object> pause) -> (double) pause.get("pauseMs")).reversed());
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("collections", pauses.size());
+        gc.put("totalPauseMs", millis(collectors.values().stream().mapToLong(tally -> tally.total).sum()));
+        gc.put("byCollector", byCollector);
+        gc.put("longestPauses", pauses.subList(0, Math.min(top, pauses.size())));
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("cpu", cpu);
+        summary.put("allocation", allocation);
+        summary.put("locks", contention);
+        summary.put("gc", gc);
+        return summary;
+    }
+
+    // Largest totals first, cut to `top`, each with its share of `whole` when whole > 0
+    private List<Map<String, Object>> topEntries(Map<String, Tally> tallies, long whole,
+                                                 BiFunction<String, Tally, Map<String, Object>> row) {
+        return tallies.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Tally> entry) -> entry.getValue().total).reversed())
+                .limit(top)
+                .map(entry -> {
+                    Map<String, Object> values = new LinkedHashMap<>(row.apply(entry.getKey(), entry.getValue()));
+                    if (whole > 0) {
+                        values.put("percent", Math.round(entry.getValue().total * 1000.0 / whole) / 10.0);
+                    }
+                    return values;
+                })
+                .toList();
+    }
+
+    private static RecordedFrame topFrame(RecordedStackTrace stackTrace) {
+        return stackTrace == null || stackTrace.getFrames().isEmpty() ? null : stackTrace.getFrames().get(0);
+    }
+
+    private static RecordedFrame callerFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.equals("jdk.internal.misc.Unsafe") && !type.equals("java.util.concurrent.locks.LockSupport")) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    private static String methodName(RecordedMethod method) {
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    private static String site(RecordedFrame frame) {
+        if (frame == null) {
+            return "?";
+        }
+        int line = frame.getLineNumber();
+        return line > 0 ? methodName(frame.getMethod()) + ":" + line : methodName(frame.getMethod());
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // A leftover temp file is not worth failing the request for
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        deleteQuietly(lastRecording);
+    }
+
+    // Count, sum and maximum of one aggregated key; the sum is samples, bytes or nanoseconds
+    private static final class Tally {
+        private long count;
+        private long total;
+        private long max;
+
+        void add(long value) {
+            count++;
+            total += value;
+            max = Math.max(max, value);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+// Generates large random datasets (load-test fixtures) as NDJSON or CSV. Rows are produced in blocks on a
+// fork-join pool; every block gets its own SplittableRandom split off a seeded root in block order, so the
+// same seed yields byte-identical output whatever the parallelism. Blocks are written in order, with a
+// bounded number formatted ahead of the writer.
+@Service
+public class RandomDataStreamService {
+
+    public enum Format { NDJSON, CSV }
+
+    static final String CSV_HEADER = "id,number,text,flag,value\n";
+    private static final byte[] ALPHANUMERIC =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final int blockRows;
+    private final long maxRows;
+    private final int maxBlocksInFlight;
+    private final ForkJoinPool workers;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RandomDataStreamService(@Value("${app.random-data.stream.parallelism:0}") int parallelism,
+                                   @Value("${app.random-data.stream.block-rows:8192}") int blockRows,
+                                   @Value("${app.random-data.stream.max-rows:100000000}") long maxRows) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.blockRows = blockRows;
+        this.maxRows = maxRows;
+        this.maxBlocksInFlight = threads * 2;
+        this.workers = new ForkJoinPool(threads);
+    }
+
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    // Streams `rows` rows to the sink in blocks; completes with rows, bytes and rowsPerSecond. The sink may
+    // block (a slow client), which stops further blocks from being scheduled.
+    public CompletableFuture<Map<String, Object>> stream(long rows, Format format, long seed, boolean summary,
+                                                        Consumer<byte[]> sink) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.nanoTime();
+            long bytes = 0;
+            if (format == Format.CSV) {
+                bytes += write(sink, CSV_HEADER.getBytes(StandardCharsets.US_ASCII));
+            }
+
+            SplittableRandom root = new SplittableRandom(seed);
+            Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+            long next = 0;
+            while (next < rows || !inFlight.isEmpty()) {
+                while (next < rows && inFlight.size() < maxBlocksInFlight) {
+                    SplittableRandom random = root.split();
+                    long firstId = next + 1;
+                    int count = (int) Math.min(blockRows, rows - next);
+                    inFlight.add(CompletableFuture.supplyAsync(() -> formatBlock(random, firstId, count, format), workers));
+                    next += count;
+                }
+                bytes += write(sink, join(inFlight.poll()));
+            }
+
+            long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("rows", rows);
+            stats.put("seed", seed);
+            stats.put("bytes", bytes);
+            stats.put("durationMs", elapsedNanos / 1_000_000);
+            stats.put("rowsPerSecond", Math.round(rows * 1_000_000_000.0 / elapsedNanos));
+            if (summary) {
+                String line = format == Format.CSV
+                        ? "# rows=" + rows + ",seed=" + seed + ",durationMs=" + stats.get("durationMs")
+                                + ",rowsPerSecond=" + stats.get("rowsPerSecond") + "\n"
+                        : "{\"summary\":{\"rows\":" + rows + ",\"seed\":" + seed + ",\"durationMs\":"
+                                + stats.get("durationMs") + ",\"rowsPerSecond\":" + stats.get("rowsPerSecond") + "}}\n";
+                write(sink, line.getBytes(StandardCharsets.US_ASCII));
+            }
+            return stats;
+        }, writers);
+    }
+
+    // One block of rows: id, number 1-999, 8-char alphanumeric text, flag, value 0.00-99.99.
+    // Everything is ASCII, so rows are formatted straight into bytes.
+    static byte[] formatBlock(SplittableRandom random, long firstId, int count, Format format) {
+        ByteBuilder out = new ByteBuilder(count * 64);
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            int number = random.nextInt(1, 1000);
+            int value = random.nextInt(10_000);
+            boolean flag = random.nextBoolean();
+            if (format == Format.CSV) {
+                out.appendLong(id).append(',').appendLong(number).append(',');
+                appendText(out, random);
+                out.append(',').appendAscii(flag ? "true" : "false").append(',');
+                appendHundredths(out, value);
+            } else {
+                out.appendAscii("{\"id\":").appendLong(id).appendAscii(",\"number\":").appendLong(number)
+                        .appendAscii(",\"text\":\"");
+                appendText(out, random);
+                out.appendAscii("\",\"flag\":").appendAscii(flag ? "true" : "false").appendAscii(",\"value\":");
+                appendHundredths(out, value);
+                out.append('}');
+            }
+            out.append('\n');
+        }
+        return out.toByteArray();
+    }
+
+    private static void appendText(ByteBuilder out, SplittableRandom random) {
+        for (int i = 0; i < 8; i++) {
+            out.append(ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)]);
+        }
+    }
+
+    private static void appendHundredths(ByteBuilder out, int hundredths) {
+        out.appendLong(hundredths / 100).append('.');
+        int fraction = hundredths % 100;
+        out.append('0' + fraction / 10).append('0' + fraction % 10);
+    }
+
+    private static long write(Consumer<byte[]> sink, byte[] chunk) {
+        sink.accept(chunk);
+        return chunk.length;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // Minimal growable byte buffer; unlike ByteArrayOutputStream it is not synchronized
+    private static final class ByteBuilder {
+        private byte[] buffer;
+        private int size;
+
+        ByteBuilder(int capacity) {
+            buffer = new byte[Math.max(16, capacity)];
+        }
+
+        ByteBuilder append(int b) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) b;
+            return this;
+        }
+
+        ByteBuilder appendAscii(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                append(text.charAt(i));
+            }
+            return this;
+        }
+
+        ByteBuilder appendLong(long value) {
+            if (value < 0) {
+                append('-');
+                value = -value;
+            }
+            if (value >= 10) {
+                appendLong(value / 10);
+            }
+            return append((int) ('0' + value % 10));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+}
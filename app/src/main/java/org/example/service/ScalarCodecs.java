@@ -0,0 +1,164 @@
+package org.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Table-driven hex, Base32 (RFC 4648) and Base64 codecs working on byte ranges. They are the whole engine when
+// the Vector API is unavailable; otherwise they handle input tails and any block the vector code rejects, so
+// errors always report the exact offending index. Decoders expect input with padding already removed.
+final class ScalarCodecs {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE32 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    // Reverse lookups indexed by character; -1 for characters outside the alphabet
+    private static final byte[] HEX_VALUES = reverse(HEX);
+    private static final byte[] BASE32_VALUES = reverse(BASE32);
+    private static final byte[] BASE64_VALUES = reverse(BASE64);
+    private static final byte[] BASE64_URL_VALUES = reverse(BASE64_URL);
+
+    static {
+        // Hex decoding accepts either case
+        for (int i = 10; i < 16; i++) {
+            HEX_VALUES['A' + i - 10] = (byte) i;
+        }
+    }
+
+    private ScalarCodecs() {
+    }
+
+    // Each encoder/decoder reads src[from, to) and writes from dst[offset]; returns the end of what it wrote
+
+    static int encodeHex(byte[] src, int from, int to, byte[] dst, int offset) {
+        for (int i = from; i < to; i++) {
+            dst[offset++] = HEX[(src[i] >> 4) & 0x0F];
+            dst[offset++] = HEX[src[i] & 0x0F];
+        }
+        return offset;
+    }
+
+    // (to - from) must be even
+    static int decodeHex(byte[] src, int from, int to, byte[] dst, int offset) {
+        for (int i = from; i < to; i += 2) {
+            dst[offset++] = (byte) (value(HEX_VALUES, src, i, "hex") << 4 | value(HEX_VALUES, src, i + 1, "hex"));
+        }
+        return offset;
+    }
+
+    static int encodeBase32(byte[] src, int from, int to, byte[] dst, int offset, boolean padding) {
+        int i = from;
+        for (; i + 5 <= to; i += 5) {
+            long bits = (src[i] & 0xFFL) << 32 | (src[i + 1] & 0xFFL) << 24 | (src[i + 2] & 0xFFL) << 16
+                    | (src[i + 3] & 0xFFL) << 8 | (src[i + 4] & 0xFFL);
+            for (int shift = 35; shift >= 0; shift -= 5) {
+                dst[offset++] = BASE32[(int) (bits >>> shift) & 0x1F];
+            }
+        }
+        int remaining = to - i;
+        if (remaining > 0) {
+            long bits = 0;
+            for (int k = 0; k < 5; k++) {
+                bits = bits << 8 | (k < remaining ? src[i + k] & 0xFF : 0);
+            }
+            int chars = (remaining * 8 + 4) / 5;
+            for (int k = 0; k < chars; k++) {
+                dst[offset++] = BASE32[(int) (bits >>> (35 - 5 * k)) & 0x1F];
+            }
+            if (padding) {
+                for (int k = chars; k < 8; k++) {
+                    dst[offset++] = '=';
+                }
+            }
+        }
+        return offset;
+    }
+
+    // (to - from) % 8 must be 0, 2, 4, 5 or 7
+    static int decodeBase32(byte[] src, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        while (i < to) {
+            int chars = Math.min(8, to - i);
+            long bits = 0;
+            for (int k = 0; k < 8; k++) {
+                bits = bits << 5 | (k < chars ? value(BASE32_VALUES, src, i + k, "Base32") : 0);
+            }
+            int bytes = chars * 5 / 8;
+            for (int k = 0; k < bytes; k++) {
+                dst[offset++] = (byte) (bits >>> (32 - 8 * k));
+            }
+            i += chars;
+        }
+        return offset;
+    }
+
+    static int encodeBase64(byte[] src, int from, int to, byte[] dst, int offset, boolean url, boolean padding) {
+        byte[] alphabet = url ? BASE64_URL : BASE64;
+        int i = from;
+        for (; i + 3 <= to; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[offset++] = alphabet[bits >>> 18];
+            dst[offset++] = alphabet[(bits >>> 12) & 0x3F];
+            dst[offset++] = alphabet[(bits >>> 6) & 0x3F];
+            dst[offset++] = alphabet[bits & 0x3F];
+        }
+        int remaining = to - i;
+        if (remaining > 0) {
+            int bits = (src[i] & 0xFF) << 16 | (remaining == 2 ? (src[i + 1] & 0xFF) << 8 : 0);
+            dst[offset++] = alphabet[bits >>> 18];
+            dst[offset++] = alphabet[(bits >>> 12) & 0x3F];
+            if (remaining == 2) {
+                dst[offset++] = alphabet[(bits >>> 6) & 0x3F];
+            } else if (padding) {
+                dst[offset++] = '=';
+            }
+            if (padding) {
+                dst[offset++] = '=';
+            }
+        }
+        return offset;
+    }
+
+    // (to - from) % 4 must not be 1
+    static int decodeBase64(byte[] src, int from, int to, byte[] dst, int offset, boolean url) {
+        byte[] values = url ? BASE64_URL_VALUES : BASE64_VALUES;
+        int i = from;
+        while (i < to) {
+            int chars = Math.min(4, to - i);
+            int bits = 0;
+            for (int k = 0; k < 4; k++) {
+                bits = bits << 6 | (k < chars ? value(values, src, i + k, "Base64") : 0);
+            }
+            dst[offset++] = (byte) (bits >>> 16);
+            if (chars > 2) {
+                dst[offset++] = (byte) (bits >>> 8);
+            }
+            if (chars > 3) {
+                dst[offset++] = (byte) bits;
+            }
+            i += chars;
+        }
+        return offset;
+    }
+
+    private static int value(byte[] values, byte[] src, int index, String codec) {
+        int value = values[src[index] & 0xFF];
+        if (value < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid " + codec + " character 0x" + Integer.toHexString(src[index] & 0xFF) + " at index " + index);
+        }
+        return value;
+    }
+
+    private static byte[] reverse(byte[] alphabet) {
+        byte[] values = new byte[256];
+        Arrays.fill(values, (byte) -1);
+        for (int i = 0; i < alphabet.length; i++) {
+            values[alphabet[i]] = (byte) i;
+        }
+        return values;
+    }
+}
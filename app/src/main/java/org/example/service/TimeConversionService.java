@@ -0,0 +1,333 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Bulk conversion of epoch timestamps between zones. Each zone's offset history is built once into a
+// ZoneOffsetTable and cached, so converting is array arithmetic with no ZonedDateTime per value. Also keeps a
+// sorted index of zone IDs for prefix search and "did you mean" suggestions.
+@Service
+public class TimeConversionService {
+
+    public enum Unit {
+        SECONDS(1), MILLISECONDS(1000);
+
+        private final long perSecond;
+        // Supported input range: every value, its instant and its result in any zone (offsets are at most
+        // +-18h each way) stay within LocalDateTime's years and within long arithmetic
+        private final long minValue;
+        private final long maxValue;
+
+        Unit(long perSecond) {
+            long margin = 2L * ZoneOffset.MAX.getTotalSeconds();
+            this.perSecond = perSecond;
+            this.minValue = (Math.max(LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC), Long.MIN_VALUE / perSecond)
+                    + margin) * perSecond;
+            this.maxValue = (Math.min(LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC), Long.MAX_VALUE / perSecond)
+                    - margin) * perSecond + perSecond - 1;
+        }
+
+        public boolean inRange(long value) {
+            return value >= minValue && value <= maxValue;
+        }
+
+        public static Unit parse(String name) {
+            return switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "s", "sec", "seconds" -> SECONDS;
+                case "ms", "millis", "milliseconds" -> MILLISECONDS;
+                default -> throw new IllegalArgumentException("unit must be s or ms");
+            };
+        }
+    }
+
+    // timestamps are wall-clock epoch values in the source zone (plain instants when it is UTC)
+    public record ConvertRequest(long[] timestamps, String from, String to, String unit, String format) {
+    }
+
+    // timestamps are wall-clock epoch values in the target zone; offsets are its UTC offsets in seconds
+    public record Conversion(long[] timestamps, int[] offsets) {
+    }
+
+    public record ZoneSummary(String id, String offset, boolean daylightSavings) {
+    }
+
+    private final int maxBatchSize;
+    private final int streamChunkLines;
+    // Region zones only; fixed offsets have no transitions and are built per call
+    private final Map<ZoneId, ZoneOffsetTable> tables = new ConcurrentHashMap<>();
+    // Keyed by the region IDs in zoneIndex only. ZoneId.of also accepts endless spellings of fixed offsets
+    // ("UTC+1", "GMT+01:00", "+01:00:00", ...), which are normalized to a ZoneOffset on every call instead.
+    private final Map<String, ZoneId> zoneIds = new ConcurrentHashMap<>();
+    private final Set<String> availableZoneIds = ZoneId.getAvailableZoneIds();
+    // Zone IDs sorted case-insensitively, with a lower-cased copy for prefix search
+    private final String[] zoneIndex;
+    private final String[] zoneIndexLowerCase;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TimeConversionService(@Value("${app.time.batch.max-size:1000000}") int maxBatchSize,
+                                 @Value("${app.time.stream.chunk-lines:65536}") int streamChunkLines) {
+        this.maxBatchSize = maxBatchSize;
+        this.streamChunkLines = streamChunkLines;
+        this.zoneIndex = availableZoneIds.stream()
+                .sorted(Comparator.comparing((String id) -> id.toLowerCase(Locale.ROOT)))
+                .toArray(String[]::new);
+        this.zoneIndexLowerCase = Arrays.stream(zoneIndex).map(id -> id.toLowerCase(Locale.ROOT)).toArray(String[]::new);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    // Throws java.time.DateTimeException for unknown or malformed IDs
+    public ZoneId resolveZone(String id) {
+        if (!availableZoneIds.contains(id)) {
+            return ZoneId.of(id).normalized();
+        }
+        return zoneIds.computeIfAbsent(id, ZoneId::of);
+    }
+
+    public ZoneOffsetTable table(ZoneId zone) {
+        if (zone instanceof ZoneOffset) {
+            return ZoneOffsetTable.of(zone);
+        }
+        return tables.computeIfAbsent(zone, ZoneOffsetTable::of);
+    }
+
+    // Throws IllegalArgumentException naming the first timestamp outside the unit's supported range
+    public Conversion convert(long[] timestamps, ZoneId from, ZoneId to, Unit unit) {
+        // Fixed-offset zones such as UTC have no transitions, so their lookups cost next to nothing
+        ZoneOffsetTable source = table(from);
+        ZoneOffsetTable target = table(to);
+        long perSecond = unit.perSecond;
+        long[] converted = new long[timestamps.length];
+        int[] offsets = new int[timestamps.length];
+        int[] hint = {-1};
+        for (int i = 0; i < timestamps.length; i++) {
+            if (!unit.inRange(timestamps[i])) {
+                throw new IllegalArgumentException("timestamps[" + i + "] = " + timestamps[i]
+                        + " is outside the supported range " + unit.minValue + " to " + unit.maxValue + " for unit "
+                        + unit.name().toLowerCase(Locale.ROOT));
+            }
+            long instant = timestamps[i] - source.offsetForLocal(Math.floorDiv(timestamps[i], perSecond)) * perSecond;
+            int offset = target.offsetAt(Math.floorDiv(instant, perSecond), hint);
+            converted[i] = instant + offset * perSecond;
+            offsets[i] = offset;
+        }
+        return new Conversion(converted, offsets);
+    }
+
+    public String[] formatIso(Conversion conversion, Unit unit) {
+        String[] formatted = new String[conversion.timestamps().length];
+        StringBuilder out = new StringBuilder(32);
+        for (int i = 0; i < formatted.length; i++) {
+            out.setLength(0);
+            appendIso(out, conversion.timestamps()[i], conversion.offsets()[i], unit);
+            formatted[i] = out.toString();
+        }
+        return formatted;
+    }
+
+    // One timestamp per input line, one converted value (or ISO string) per output line; unparseable lines
+    // and values outside the unit's supported range produce an empty line so output stays aligned with input. With summary, a final "# ..." line follows.
+    public CompletableFuture<Map<String, Object>> convertStream(InputStream input, ZoneId from, ZoneId to, Unit unit,
+                                                               boolean iso, boolean summary, Consumer<String> sink) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.nanoTime();
+            long count = 0;
+            long invalid = 0;
+            long[] chunk = new long[streamChunkLines];
+            boolean[] valid = new boolean[streamChunkLines];
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                int size = 0;
+                boolean more = true;
+                while (more) {
+                    String line = reader.readLine();
+                    more = line != null;
+                    if (more) {
+                        valid[size] = parseTimestamp(line.trim(), unit, chunk, size);
+                        invalid += valid[size] ? 0 : 1;
+                        size++;
+                    }
+                    if (size == streamChunkLines || (!more && size > 0)) {
+                        writeChunk(convert(size == chunk.length ? chunk : Arrays.copyOf(chunk, size), from, to, unit),
+                                valid, unit, iso, sink);
+                        count += size;
+                        size = 0;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("count", count);
+            stats.put("invalid", invalid);
+            stats.put("durationMs", elapsedNanos / 1_000_000);
+            stats.put("perSecond", Math.round(count * 1_000_000_000.0 / elapsedNanos));
+            if (summary) {
+                sink.accept("# count=" + count + ",invalid=" + invalid + ",durationMs=" + stats.get("durationMs")
+                        + ",perSecond=" + stats.get("perSecond") + "\n");
+            }
+            return stats;
+        }, executor);
+    }
+
+    // Zones whose ID starts with prefix (case-insensitive), optionally only those at the given offset at
+    // the given instant. Returns matches (up to limit) and the total number of matches. Throws
+    // IllegalArgumentException when atEpochSecond is outside Instant's range.
+    public Map<String, Object> searchZones(String prefix, ZoneOffset offset, long atEpochSecond, int limit) {
+        if (atEpochSecond < Instant.MIN.getEpochSecond() || atEpochSecond > Instant.MAX.getEpochSecond()) {
+            throw new IllegalArgumentException("at must be between " + Instant.MIN.getEpochSecond() + " and "
+                    + Instant.MAX.getEpochSecond() + " epoch seconds");
+        }
+        String key = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        int start = Arrays.binarySearch(zoneIndexLowerCase, key);
+        start = start >= 0 ? start : -start - 1;
+
+        Instant at = Instant.ofEpochSecond(atEpochSecond);
+        List<ZoneSummary> zones = new ArrayList<>();
+        int total = 0;
+        for (int i = start; i < zoneIndex.length && zoneIndexLowerCase[i].startsWith(key); i++) {
+            ZoneId zone = resolveZone(zoneIndex[i]);
+            int seconds = table(zone).offsetAt(atEpochSecond);
+            if (offset != null && offset.getTotalSeconds() != seconds) {
+                continue;
+            }
+            total++;
+            if (zones.size() < limit) {
+                zones.add(new ZoneSummary(zone.getId(), ZoneOffset.ofTotalSeconds(seconds).getId(),
+                        zone.getRules().isDaylightSavings(at)));
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("zones", zones);
+        result.put("total", total);
+        result.put("truncated", total > zones.size());
+        result.put("at", at.toString());
+        return result;
+    }
+
+    // Close matches for a zone ID that failed to resolve: prefix matches first, then IDs containing it
+    public List<String> suggestZones(String input, int limit) {
+        String key = input == null ? "" : input.trim().toLowerCase(Locale.ROOT);
+        List<String> suggestions = new ArrayList<>();
+        for (int i = 0; i < zoneIndex.length && suggestions.size() < limit; i++) {
+            if (zoneIndexLowerCase[i].startsWith(key)) {
+                suggestions.add(zoneIndex[i]);
+            }
+        }
+        for (int i = 0; i < zoneIndex.length && suggestions.size() < limit; i++) {
+            if (!zoneIndexLowerCase[i].startsWith(key) && zoneIndexLowerCase[i].contains(key)) {
+                suggestions.add(zoneIndex[i]);
+            }
+        }
+        return suggestions;
+    }
+
+    private void writeChunk(Conversion conversion, boolean[] valid, Unit unit, boolean iso, Consumer<String> sink) {
+        StringBuilder out = new StringBuilder(conversion.timestamps().length * (iso ? 30 : 14));
+        for (int i = 0; i < conversion.timestamps().length; i++) {
+            if (valid[i]) {
+                if (iso) {
+                    appendIso(out, conversion.timestamps()[i], conversion.offsets()[i], unit);
+                } else {
+                    out.append(conversion.timestamps()[i]);
+                }
+            }
+            out.append('\n');
+        }
+        sink.accept(out.toString());
+    }
+
+    private static boolean parseTimestamp(String text, Unit unit, long[] into, int index) {
+        try {
+            into[index] = Long.parseLong(text);
+            if (unit.inRange(into[index])) {
+                return true;
+            }
+        } catch (NumberFormatException e) {
+            // Reported as an empty line like an out-of-range value
+        }
+        into[index] = 0;
+        return false;
+    }
+
+    // ISO-8601 with offset, e.g. 2024-03-10T03:30:00.250+09:00, from a wall-clock epoch value. Dates are
+    // computed with integer arithmetic (days-to-civil); years outside 0000-9999 go through OffsetDateTime.
+    static void appendIso(StringBuilder out, long localTimestamp, int offsetSeconds, Unit unit) {
+        long seconds = Math.floorDiv(localTimestamp, unit.perSecond);
+        long days = Math.floorDiv(seconds, 86_400);
+        int secondOfDay = (int) Math.floorMod(seconds, 86_400);
+
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(offsetSeconds);
+        if (year < 0 || year > 9999) {
+            long instant = localTimestamp - offsetSeconds * unit.perSecond;
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(OffsetDateTime.ofInstant(unit == Unit.SECONDS
+                    ? Instant.ofEpochSecond(instant) : Instant.ofEpochMilli(instant), offset), out);
+            return;
+        }
+        appendPadded(out, (int) year, 4).append('-');
+        appendPadded(out, month, 2).append('-');
+        appendPadded(out, day, 2).append('T');
+        appendPadded(out, secondOfDay / 3600, 2).append(':');
+        appendPadded(out, secondOfDay / 60 % 60, 2).append(':');
+        appendPadded(out, secondOfDay % 60, 2);
+        if (unit == Unit.MILLISECONDS) {
+            appendPadded(out.append('.'), (int) Math.floorMod(localTimestamp, 1000L), 3);
+        }
+        out.append(offset.getId());
+    }
+
+    private static StringBuilder appendPadded(StringBuilder out, int value, int width) {
+        for (int limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+            if (value < limit) {
+                out.append('0');
+            }
+        }
+        return out.append(value);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,6 +2,8 @@ package org.example.service;
 
 import org.springframework.stereotype.Service;
 
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -11,6 +13,12 @@ import java.util.stream.Collectors;
 @Service
 public class UtilityService {
 
+    private final TimeConversionService timeConversionService;
+
+    public UtilityService(TimeConversionService timeConversionService) {
+        this.timeConversionService = timeConversionService;
+    }
+
     public Map<String, Object> getSystemInfo() {
         Map<String, Object> systemInfo = new HashMap<>();
         
@@ -24,6 +32,13 @@ public class UtilityService {
         systemInfo.put("maxMemory", Runtime.getRuntime().maxMemory() / (1024 * 1024) + " MB");
         systemInfo.put("totalMemory", Runtime.getRuntime().totalMemory() / (1024 * 1024) + " MB");
         systemInfo.put("freeMemory", Runtime.getRuntime().freeMemory() / (1024 * 1024) + " MB");
+        // Raw numbers alongside the display strings, for clients that chart or compare them
+        systemInfo.put("uptimeMs", ManagementFactory.getRuntimeMXBean().getUptime());
+        systemInfo.put("memoryBytes", Map.of(
+            "max", Runtime.getRuntime().maxMemory(),
+            "total", Runtime.getRuntime().totalMemory(),
+            "free", Runtime.getRuntime().freeMemory()
+        ));
         
         return systemInfo;
     }
@@ -38,7 +53,7 @@ public class UtilityService {
         
         List<String> randomStrings = new ArrayList<>();
         for (int i = 0; i < count; i++) {
-            randomStrings.add(generateRandomString(8));
+            randomStrings.add(generateRandomString(random, 8));
         }
         
         result.put("timestamp", LocalDateTime.now());
@@ -62,8 +77,7 @@ public class UtilityService {
             return result;
         }
         
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-        boolean isValid = email.matches(emailRegex);
+        boolean isValid = EmailValidator.isValid(email);
         
         result.put("valid", isValid);
         result.put("reason", isValid ? "Valid email format" : "Invalid email format");
@@ -82,7 +96,7 @@ public class UtilityService {
             result.put("encoded", null);
             result.put("error", "Input is null");
         } else {
-            String encoded = Base64.getEncoder().encodeToString(input.getBytes());
+            String encoded = Base64.getEncoder().encodeToString(input.getBytes(StandardCharsets.UTF_8));
             result.put("encoded", encoded);
             result.put("originalLength", input.length());
             result.put("encodedLength", encoded.length());
@@ -98,7 +112,7 @@ public class UtilityService {
         
         try {
             byte[] decodedBytes = Base64.getDecoder().decode(encoded);
-            String decoded = new String(decodedBytes);
+            String decoded = new String(decodedBytes, StandardCharsets.UTF_8);
             result.put("decoded", decoded);
             result.put("success", true);
         } catch (IllegalArgumentException e) {
@@ -110,10 +124,9 @@ public class UtilityService {
         return result;
     }
 
-    private String generateRandomString(int length) {
+    private String generateRandomString(Random random, int length) {
         String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        Random random = new Random();
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(length);
         
         for (int i = 0; i < length; i++) {
             sb.append(characters.charAt(random.nextInt(characters.length())));
@@ -126,7 +139,7 @@ public class UtilityService {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            ZoneId zoneId = timezone != null ? ZoneId.of(timezone) : ZoneId.systemDefault();
+            ZoneId zoneId = timezone != null ? timeConversionService.resolveZone(timezone) : ZoneId.systemDefault();
             LocalDateTime now = LocalDateTime.now(zoneId);
             
             result.put("timezone", zoneId.toString());
@@ -141,7 +154,8 @@ public class UtilityService {
         } catch (Exception e) {
             result.put("error", "Invalid timezone: " + e.getMessage());
             result.put("success", false);
-            result.put("availableTimezones", ZoneId.getAvailableZoneIds().stream().limit(10).collect(Collectors.toList()));
+            // Closest IDs to what was asked for; the full list is searchable at /utils/time/zones
+            result.put("availableTimezones", timeConversionService.suggestZones(timezone, 10));
         }
         
         return result;
@@ -0,0 +1,110 @@
+package org.example.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// A zone's offset history flattened into sorted arrays, so converting a timestamp is a binary search plus an
+// add instead of a ZonedDateTime. Covers every historical transition and the rule-generated ones up to
+// TABLE_END; later timestamps fall back to ZoneRules. Values past the end of Instant's (or, for local times,
+// LocalDateTime's) range get the offset at that end. Immutable and safe to share between threads.
+public final class ZoneOffsetTable {
+
+    // 2100-01-01T00:00:00Z
+    static final long TABLE_END = 4_102_444_800L;
+    // Where to start applying transition rules for zones that have rules but no recorded history
+    private static final Instant RULES_START = Instant.parse("1900-01-01T00:00:00Z");
+
+    private final ZoneRules rules;
+    // transitions[i] is the epoch second of the i-th transition; offsets[i] applies before it and
+    // offsets[i + 1] from it on
+    private final long[] transitions;
+    private final int[] offsets;
+    // Local wall-clock epoch second from which offsets[i + 1] applies when going local -> UTC
+    private final long[] localBoundaries;
+
+    private ZoneOffsetTable(ZoneRules rules, long[] transitions, int[] offsets, long[] localBoundaries) {
+        this.rules = rules;
+        this.transitions = transitions;
+        this.offsets = offsets;
+        this.localBoundaries = localBoundaries;
+    }
+
+    public static ZoneOffsetTable of(ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        List<ZoneOffsetTransition> all = new ArrayList<>(rules.getTransitions());
+        Instant cursor = all.isEmpty() ? RULES_START : all.get(all.size() - 1).getInstant();
+        for (ZoneOffsetTransition next = rules.nextTransition(cursor);
+             next != null && next.toEpochSecond() < TABLE_END;
+             next = rules.nextTransition(next.getInstant())) {
+            all.add(next);
+        }
+
+        long[] transitions = new long[all.size()];
+        int[] offsets = new int[all.size() + 1];
+        long[] localBoundaries = new long[all.size()];
+        offsets[0] = all.isEmpty()
+                ? rules.getOffset(Instant.EPOCH).getTotalSeconds()
+                : all.get(0).getOffsetBefore().getTotalSeconds();
+        for (int i = 0; i < all.size(); i++) {
+            ZoneOffsetTransition transition = all.get(i);
+            int before = transition.getOffsetBefore().getTotalSeconds();
+            int after = transition.getOffsetAfter().getTotalSeconds();
+            transitions[i] = transition.toEpochSecond();
+            offsets[i + 1] = after;
+            // Local times in a gap or an overlap keep the earlier offset, as ZonedDateTime.ofLocal does:
+            // a gap time moves forward by the gap length, an overlap time resolves to its first occurrence
+            localBoundaries[i] = transitions[i] + Math.max(before, after);
+        }
+        return new ZoneOffsetTable(rules, transitions, offsets, localBoundaries);
+    }
+
+    // Offset in seconds in effect at the given instant
+    public int offsetAt(long epochSecond) {
+        if (epochSecond >= TABLE_END) {
+            return rules.getOffset(Instant.ofEpochSecond(Math.min(epochSecond, Instant.MAX.getEpochSecond())))
+                    .getTotalSeconds();
+        }
+        return offsets[upperBound(transitions, epochSecond)];
+    }
+
+    // Same as offsetAt, but first tries the index that answered the previous call. hint is a one-element array
+    // starting at -1 that this method keeps updated; sorted or clustered batches then mostly skip the search.
+    public int offsetAt(long epochSecond, int[] hint) {
+        if (epochSecond >= TABLE_END) {
+            return offsetAt(epochSecond);
+        }
+        int i = hint[0];
+        if (i < 0 || (i > 0 && epochSecond < transitions[i - 1])
+                || (i < transitions.length && epochSecond >= transitions[i])) {
+            i = upperBound(transitions, epochSecond);
+            hint[0] = i;
+        }
+        return offsets[i];
+    }
+
+    // Offset to subtract from a local wall-clock epoch second to get the instant it stands for
+    public int offsetForLocal(long localEpochSecond) {
+        if (localEpochSecond >= TABLE_END) {
+            LocalDateTime local = LocalDateTime.ofEpochSecond(
+                    Math.min(localEpochSecond, LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC)), 0, ZoneOffset.UTC);
+            ZoneOffsetTransition transition = rules.getTransition(local);
+            return transition != null
+                    ? transition.getOffsetBefore().getTotalSeconds()
+                    : rules.getOffset(local).getTotalSeconds();
+        }
+        return offsets[upperBound(localBoundaries, localEpochSecond)];
+    }
+
+    // Number of elements <= key, i.e. the index of the offset that applies
+    private static int upperBound(long[] sorted, long key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -1,7 +1,16 @@
 package org.example.controller;
 
 import org.example.service.ApiPingService;
-import org.example.service.IpLocationService;
+import org.example.service.BatchPingService;
+import org.example.service.GeoIpDatabase;
+import org.example.service.HostCircuitBreakerRegistry;
+import org.example.service.HttpClientPoolMetrics;
+import org.example.service.IpLocationCache;
+import org.example.service.LoadTestService;
+import org.example.service.LogEnrichmentService;
+import org.example.service.NetworkTagDatabase;
+import org.example.service.PingResultCache;
+import org.example.service.PingStreamService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -12,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -28,7 +38,34 @@ public class ApiControllerTest {
     private ApiPingService apiPingService;
 
     @MockBean
-    private IpLocationService ipLocationService;
+    private IpLocationCache ipLocationCache;
+
+    @MockBean
+    private BatchPingService batchPingService;
+
+    @MockBean
+    private HttpClientPoolMetrics httpClientPoolMetrics;
+
+    @MockBean
+    private PingStreamService pingStreamService;
+
+    @MockBean
+    private LoadTestService loadTestService;
+
+    @MockBean
+    private PingResultCache pingResultCache;
+
+    @MockBean
+    private HostCircuitBreakerRegistry circuitBreakers;
+
+    @MockBean
+    private GeoIpDatabase geoIpDatabase;
+
+    @MockBean
+    private NetworkTagDatabase networkTagDatabase;
+
+    @MockBean
+    private LogEnrichmentService logEnrichmentService;
 
     @Test
     public void testPingEndpointWithValidUrl() throws Exception {
@@ -37,7 +74,7 @@ public class ApiControllerTest {
         mockResponse.put("url", "https://example.com");
         mockResponse.put("responseTime", "100ms");
 
-        when(apiPingService.pingEndpoint(anyString())).thenReturn(mockResponse);
+        when(apiPingService.pingEndpoint(anyString(), anyBoolean())).thenReturn(mockResponse);
 
         mockMvc.perform(get("/api/ping")
                 .param("url", "https://example.com"))
@@ -53,6 +90,38 @@ public class ApiControllerTest {
                 .andExpect(jsonPath("$.error").value("URL parameter is required"));
     }
 
+    @Test
+    public void testPingEndpointDetailed() throws Exception {
+        Map<String, Object> mockResponse = new HashMap<>();
+        mockResponse.put("status", "SUCCESS");
+        mockResponse.put("url", "https://example.com");
+        mockResponse.put("timings", Map.of("dnsNanos", 1200L, "totalNanos", 5400L));
+
+        when(apiPingService.pingEndpointDetailed(anyString())).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/ping")
+                .param("url", "https://example.com")
+                .param("detailed", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timings.dnsNanos").value(1200))
+                .andExpect(jsonPath("$.timings.totalNanos").value(5400));
+    }
+
+    @Test
+    public void testHealthCheckUsesResultCache() throws Exception {
+        Map<String, Object> mockResponse = new HashMap<>();
+        mockResponse.put("status", "HEALTHY");
+        mockResponse.put("cache", Map.of("status", "HIT", "ageMs", 120L));
+
+        when(pingResultCache.healthCheck(anyString())).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/health-check")
+                .param("url", "https://example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("HEALTHY"))
+                .andExpect(jsonPath("$.cache.status").value("HIT"));
+    }
+
     @Test
     public void testGetTestEndpoints() throws Exception {
         mockMvc.perform(get("/api/test-endpoints"))
@@ -74,7 +143,7 @@ public class ApiControllerTest {
         location.put("city", "Mountain View");
         mockResponse.put("location", location);
 
-        when(ipLocationService.getIpLocation(anyString())).thenReturn(mockResponse);
+        when(ipLocationCache.getIpLocation(anyString())).thenReturn(mockResponse);
 
         mockMvc.perform(get("/api/ip-location")
                 .param("ip", "8.8.8.8"))
@@ -84,6 +153,22 @@ public class ApiControllerTest {
                 .andExpect(jsonPath("$.location.country").value("United States"));
     }
 
+    @Test
+    public void testIpLocationEndpointRateLimitedReturns429() throws Exception {
+        Map<String, Object> mockResponse = new HashMap<>();
+        mockResponse.put("status", "RATE_LIMITED");
+        mockResponse.put("ip", "8.8.8.8");
+        mockResponse.put("retryAfterMs", 12_300L);
+
+        when(ipLocationCache.getIpLocation(anyString())).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/ip-location")
+                .param("ip", "8.8.8.8"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "13"))
+                .andExpect(jsonPath("$.status").value("RATE_LIMITED"));
+    }
+
     @Test
     public void testIpLocationEndpointWithoutIp() throws Exception {
         mockMvc.perform(get("/api/ip-location"))
@@ -102,7 +187,7 @@ public class ApiControllerTest {
         location.put("city", "Sydney");
         mockResponse.put("location", location);
 
-        when(ipLocationService.getIpLocation(anyString())).thenReturn(mockResponse);
+        when(ipLocationCache.getIpLocation(anyString())).thenReturn(mockResponse);
 
         String requestBody = "{\"ip\":\"1.1.1.1\"}";
 
@@ -125,4 +210,29 @@ public class ApiControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("IP is required in request body"));
     }
+
+    @Test
+    public void testEnrichLogWithUnknownFormat() throws Exception {
+        mockMvc.perform(post("/api/ip-location/enrich")
+                .param("format", "xml")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("<log/>"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testPingBatchWithoutUrls() throws Exception {
+        mockMvc.perform(post("/api/ping/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testPingStreamRejectsInvalidInterval() throws Exception {
+        mockMvc.perform(get("/api/ping/stream")
+                .param("url", "https://example.com")
+                .param("interval", "0"))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package org.example.controller;
+
+import org.example.service.AsyncOutboundService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AsyncApiController.class)
+@WithMockUser
+public class AsyncApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AsyncOutboundService asyncOutboundService;
+
+    @Test
+    public void testAsyncPingReturnsResult() throws Exception {
+        when(asyncOutboundService.pingEndpoint(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("status", "SUCCESS", "url", "https://example.com")));
+
+        MvcResult result = mockMvc.perform(get("/api/async/ping").param("url", "https://example.com"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"));
+    }
+
+    @Test
+    public void testAsyncPingTimeoutReturnsGatewayTimeout() throws Exception {
+        when(asyncOutboundService.pingEndpoint(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+        when(asyncOutboundService.getTimeoutMs()).thenReturn(15000L);
+
+        MvcResult result = mockMvc.perform(get("/api/async/ping").param("url", "https://example.com"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.status").value("ERROR"));
+    }
+
+    @Test
+    public void testAsyncIpLocationRejectedReturnsServiceUnavailable() throws Exception {
+        when(asyncOutboundService.getIpLocation(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException()));
+
+        MvcResult result = mockMvc.perform(get("/api/async/ip-location").param("ip", "8.8.8.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.example.config.AppConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ApiPingServiceTest {
+
+    private static final String URL = "https://example.com/data";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private HostCircuitBreakerRegistry circuitBreakers;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        circuitBreakers = new HostCircuitBreakerRegistry(4, 4, 50, 5_000, 80, 60_000, 300_000, 1, 100, 600_000);
+    }
+
+    @Test
+    void testPingEndpoint_CountsBodyBytes() {
+        // Arrange
+        byte[] body = new byte[50_000];
+        server.expect(requestTo(URL)).andRespond(withSuccess(body, MediaType.APPLICATION_OCTET_STREAM));
+        ApiPingService service = new ApiPingService(restTemplate, circuitBreakers, 1_000_000);
+
+        // Act
+        Map<String, Object> result = service.pingEndpoint(URL);
+
+        // Assert
+        assertEquals("SUCCESS", result.get("status"));
+        assertEquals(50_000L, result.get("responseLength"));
+        assertEquals(false, result.get("truncated"));
+        assertNull(result.get("checksum"));
+        assertNotNull(result.get("downloadMBps"));
+    }
+
+    @Test
+    void testPingEndpoint_StopsAtByteCap() {
+        // Arrange
+        server.expect(requestTo(URL)).andRespond(withSuccess(new byte[50_000], MediaType.APPLICATION_OCTET_STREAM));
+        ApiPingService service = new ApiPingService(restTemplate, circuitBreakers, 10_000);
+
+        // Act
+        Map<String, Object> result = service.pingEndpoint(URL);
+
+        // Assert
+        assertEquals("SUCCESS", result.get("status"));
+        assertEquals(10_000L, result.get("responseLength"));
+        assertEquals(true, result.get("truncated"));
+    }
+
+    @Test
+    void testPingEndpoint_DropsPooledConnectionAtCapForGzipBody() throws Exception {
+        // Arrange: the real pooled client against a gzip body that never ends, so draining it would hang
+        HttpServer gzipServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        gzipServer.createContext("/small", exchange -> {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                out.write(new byte[1_000]);
+            }
+        });
+        gzipServer.createContext("/endless", exchange -> {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            byte[] chunk = new byte[4096];
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                while (true) {
+                    out.write(chunk);
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                // Client dropped the connection
+            }
+        });
+        gzipServer.setExecutor(Executors.newCachedThreadPool());
+        gzipServer.start();
+        String base = "http://127.0.0.1:" + gzipServer.getAddress().getPort();
+
+        AppConfig config = new AppConfig();
+        HttpClientPoolMetrics metrics = config.httpClientPoolMetrics();
+        PoolingHttpClientConnectionManager connectionManager = config.pooledConnectionManager(metrics, 10, 5, 300);
+        try (CloseableHttpClient httpClient = config.httpClient(connectionManager, metrics, 30)) {
+            RestTemplate pooled = config.restTemplate(new RestTemplateBuilder(), httpClient);
+            ApiPingService service = new ApiPingService(pooled, circuitBreakers, 100_000);
+
+            // Act
+            Map<String, Object> small = service.pingEndpoint(base + "/small");
+            int idleAfterSmall = connectionManager.getTotalStats().getAvailable();
+            Map<String, Object> capped = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> service.pingEndpoint(base + "/endless"));
+
+            // Assert: a fully read body returns its connection to the pool, a capped one discards it
+            assertEquals(1_000L, small.get("responseLength"));
+            assertEquals(1, idleAfterSmall);
+            assertEquals("SUCCESS", capped.get("status"));
+            assertEquals(100_000L, capped.get("responseLength"));
+            assertEquals(true, capped.get("truncated"));
+            assertEquals(0, connectionManager.getTotalStats().getAvailable());
+            assertEquals(0, connectionManager.getTotalStats().getLeased());
+        } finally {
+            gzipServer.stop(0);
+        }
+    }
+
+    @Test
+    void testPingEndpoint_Checksum() {
+        // Arrange
+        byte[] body = "hello checksum".getBytes();
+        server.expect(requestTo(URL)).andRespond(withSuccess(body, MediaType.TEXT_PLAIN));
+        ApiPingService service = new ApiPingService(restTemplate, circuitBreakers, 1_000_000);
+        CRC32C expected = new CRC32C();
+        expected.update(body);
+
+        // Act
+        Map<String, Object> result = service.pingEndpoint(URL, true);
+
+        // Assert
+        assertEquals(String.format("crc32c:%08x", expected.getValue()), result.get("checksum"));
+    }
+
+    @Test
+    void testPingEndpoint_HttpError() {
+        // Arrange
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        ApiPingService service = new ApiPingService(restTemplate, circuitBreakers, 1_000_000);
+
+        // Act
+        Map<String, Object> result = service.pingEndpoint(URL);
+
+        // Assert
+        assertEquals("ERROR", result.get("status"));
+        assertEquals(503, result.get("httpStatus"));
+    }
+
+    @Test
+    void testHealthCheck_FailsFastWhenCircuitOpen() {
+        // Arrange
+        server.expect(ExpectedCount.times(4), requestTo(URL))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        ApiPingService service = new ApiPingService(restTemplate, circuitBreakers, 1_000_000);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertEquals("UNHEALTHY", service.healthCheck(URL).get("status"));
+        }
+        Map<String, Object> result = service.healthCheck(URL);
+
+        // Assert
+        assertEquals("CIRCUIT_OPEN", result.get("status"));
+        assertTrue((Long) result.get("retryAfterMs") > 0);
+        server.verify();
+    }
+
+    @Test
+    void testHealthCheck_ClientErrorsDoNotOpenCircuit() {
+        // Arrange
+        server.expect(ExpectedCount.times(5), requestTo(URL))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        ApiPingService service = new ApiPingService(restTemplate, circuitBreakers, 1_000_000);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            service.healthCheck(URL);
+        }
+        Map<String, Object> result = service.healthCheck(URL);
+
+        // Assert
+        assertEquals("UNHEALTHY", result.get("status"));
+        assertEquals(404, result.get("httpStatus"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncOutboundServiceTest {
+
+    @Mock
+    private ApiPingService apiPingService;
+
+    @Mock
+    private PingResultCache pingResultCache;
+
+    @Mock
+    private IpLocationCache ipLocationCache;
+
+    @Mock
+    private IpLocationService ipLocationService;
+
+    private AsyncOutboundService asyncOutboundService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // One worker, so a second call waits in the queue
+        asyncOutboundService = new AsyncOutboundService(apiPingService, pingResultCache, ipLocationCache, 1, 10, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncOutboundService.shutdown();
+    }
+
+    @Test
+    void testTimeout_InterruptsRunningCallAndDropsQueuedOne() throws Exception {
+        // Arrange: the running call notes the interrupt but holds the worker a while longer, so the
+        // queued call reaches its deadline while still in the queue
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(apiPingService.pingEndpoint("https://slow.example.com")).thenAnswer(invocation -> {
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(600);
+            while (System.nanoTime() < until) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+            return Map.of("status", "SUCCESS");
+        });
+
+        // Act
+        CompletableFuture<Map<String, Object>> running = asyncOutboundService.pingEndpoint("https://slow.example.com");
+        CompletableFuture<Map<String, Object>> queued = asyncOutboundService.pingEndpoint("https://queued.example.com");
+
+        // Assert
+        ExecutionException runningError = assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        ExecutionException queuedError = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, runningError.getCause());
+        assertInstanceOf(TimeoutException.class, queuedError.getCause());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+        Thread.sleep(800);
+        verify(apiPingService, never()).pingEndpoint("https://queued.example.com");
+    }
+
+    @Test
+    void testTimeout_CachedPathsReleaseWorkerAndPassDeadlineToLoader() throws Exception {
+        // Arrange: real caches whose loads run far past the 200ms deadline on the caches' own loader threads,
+        // noting the deadline they were given there
+        PingResultCache pingCache = new PingResultCache(apiPingService, new SimpleMeterRegistry(), 15, 60, 100);
+        IpLocationCache ipCache = new IpLocationCache(ipLocationService, new SimpleMeterRegistry(), 3600, 300, 100);
+        AsyncOutboundService service = new AsyncOutboundService(apiPingService, pingCache, ipCache, 1, 10, 200);
+        List<Long> loaderRemainingMs = new CopyOnWriteArrayList<>();
+        Answer<Map<String, Object>> slow = invocation -> {
+            loaderRemainingMs.add(OutboundDeadline.remainingMillis());
+            Thread.sleep(3_000);
+            return Map.of("status", "SUCCESS");
+        };
+        when(apiPingService.healthCheck(anyString())).thenAnswer(slow);
+        when(apiPingService.getEndpointInfo(anyString())).thenAnswer(slow);
+        when(ipLocationService.getIpLocation(anyString())).thenAnswer(slow);
+        when(apiPingService.pingEndpoint("https://fast.example.com")).thenReturn(Map.of("status", "SUCCESS"));
+        List<Supplier<CompletableFuture<Map<String, Object>>>> cachedCalls = List.of(
+                () -> service.healthCheck("https://slow.example.com"),
+                () -> service.getEndpointInfo("https://slow.example.com"),
+                () -> service.getIpLocation("8.8.8.8"));
+
+        try {
+            for (Supplier<CompletableFuture<Map<String, Object>>> cachedCall : cachedCalls) {
+                // Act
+                CompletableFuture<Map<String, Object>> timedOut = cachedCall.get();
+                ExecutionException error = assertThrows(ExecutionException.class, () -> timedOut.get(5, TimeUnit.SECONDS));
+
+                // Assert: the only worker is free again long before the 3s load ends
+                assertInstanceOf(TimeoutException.class, error.getCause());
+                assertEquals("SUCCESS", service.pingEndpoint("https://fast.example.com").get(1, TimeUnit.SECONDS).get("status"));
+            }
+            assertEquals(3, loaderRemainingMs.size());
+            for (long remainingMs : loaderRemainingMs) {
+                assertTrue(remainingMs > 0 && remainingMs <= 200, "loader saw remaining " + remainingMs);
+            }
+        } finally {
+            service.shutdown();
+            pingCache.shutdown();
+            ipCache.shutdown();
+        }
+    }
+
+    @Test
+    void testCall_SeesRemainingDeadline() throws Exception {
+        // Arrange
+        when(apiPingService.pingEndpoint("https://example.com"))
+            .thenAnswer(invocation -> Map.of("remainingMs", OutboundDeadline.remainingMillis()));
+
+        // Act
+        Map<String, Object> result = asyncOutboundService.pingEndpoint("https://example.com").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        long remainingMs = (long) result.get("remainingMs");
+        assertTrue(remainingMs > 0 && remainingMs <= 200, "remaining " + remainingMs);
+        assertEquals(-1, OutboundDeadline.remainingMillis());
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base64StreamServiceTest {
+
+    private Base64StreamService base64StreamService;
+
+    @BeforeEach
+    void setUp() {
+        // Small buffer so a modest payload spans many chunks
+        base64StreamService = new Base64StreamService(1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        base64StreamService.shutdown();
+    }
+
+    @Test
+    void testEncodeThenDecode_RoundTripsEveryVariant() throws Exception {
+        // Arrange: a length that is not a multiple of 3, so the last quantum is padded
+        byte[] payload = new byte[100_001];
+        new Random(3).nextBytes(payload);
+
+        for (Base64StreamService.Variant variant : Base64StreamService.Variant.values()) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+
+            // Act
+            Map<String, Object> stats = base64StreamService.encode(
+                    new ByteArrayInputStream(payload), variant, true, encoded::writeBytes).get();
+            base64StreamService.decode(
+                    new ByteArrayInputStream(encoded.toByteArray()), variant, decoded::writeBytes).get();
+
+            // Assert
+            byte[] expected = switch (variant) {
+                case BASIC -> Base64.getEncoder().encode(payload);
+                case URL -> Base64.getUrlEncoder().encode(payload);
+                case MIME -> Base64.getMimeEncoder().encode(payload);
+            };
+            assertArrayEquals(expected, encoded.toByteArray(), variant.name());
+            assertArrayEquals(payload, decoded.toByteArray(), variant.name());
+            assertEquals(100_001L, stats.get("bytesIn"));
+            assertEquals((long) expected.length, stats.get("bytesOut"));
+        }
+    }
+
+    @Test
+    void testEncode_WithoutPadding() throws Exception {
+        // Arrange
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+        // Act
+        base64StreamService.encode(new ByteArrayInputStream("hi?".getBytes(StandardCharsets.UTF_8)),
+                Base64StreamService.Variant.URL, false, encoded::writeBytes).get();
+        base64StreamService.encode(new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)),
+                Base64StreamService.Variant.URL, false, encoded::writeBytes).get();
+
+        // Assert
+        assertEquals("aGk_aGVsbG8", encoded.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testDecode_FailsOnCharactersOutsideTheAlphabet() {
+        // Arrange: '-' is only valid in the URL-safe alphabet
+        ByteArrayInputStream input = new ByteArrayInputStream("aGVs-G8=".getBytes(StandardCharsets.US_ASCII));
+
+        // Act
+        ExecutionException thrown = assertThrows(ExecutionException.class, () ->
+                base64StreamService.decode(input, Base64StreamService.Variant.BASIC, chunk -> { }).get());
+
+        // Assert
+        assertInstanceOf(UncheckedIOException.class, thrown.getCause());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class BatchPingServiceTest {
+
+    @Mock
+    private ApiPingService apiPingService;
+
+    private BatchPingService batchPingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        batchPingService = new BatchPingService(apiPingService, 100, 16, 2, 200, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchPingService.shutdown();
+    }
+
+    @Test
+    void testPingAll_DeliversEveryResult() throws Exception {
+        // Arrange
+        when(apiPingService.pingEndpoint(anyString()))
+            .thenAnswer(invocation -> Map.of("url", invocation.getArgument(0), "status", "SUCCESS"));
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            urls.add("https://host" + (i % 5) + ".example.com/" + i);
+        }
+        ConcurrentLinkedQueue<Map<String, Object>> results = new ConcurrentLinkedQueue<>();
+
+        // Act
+        batchPingService.pingAll(urls, results::add).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(urls.size(), results.size());
+        assertTrue(results.stream().allMatch(result -> "SUCCESS".equals(result.get("status"))));
+        assertEquals(0, batchPingService.trackedHosts());
+    }
+
+    @Test
+    void testPingAll_RespectsPerHostLimit() throws Exception {
+        // Arrange
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(apiPingService.pingEndpoint(anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return Map.of("status", "SUCCESS");
+        });
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            urls.add("https://same-host.example.com/" + i);
+        }
+
+        // Act
+        batchPingService.pingAll(urls, result -> { }).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(maxInFlight.get() <= 2, "per-host limit exceeded: " + maxInFlight.get());
+    }
+
+    @Test
+    void testPingAll_CapsConcurrencyAtPoolSize() throws Exception {
+        // Arrange: the configured global cap (16) is above the pool's 4 connections
+        batchPingService.shutdown();
+        batchPingService = new BatchPingService(apiPingService, 100, 16, 8, 4, 20);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(apiPingService.pingEndpoint(anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return Map.of("status", "SUCCESS");
+        });
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            urls.add("https://host" + i + ".example.com/");
+        }
+
+        // Act
+        batchPingService.pingAll(urls, result -> { }).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(maxInFlight.get() <= 4, "pool size exceeded: " + maxInFlight.get());
+        assertEquals(0, batchPingService.trackedHosts());
+    }
+}
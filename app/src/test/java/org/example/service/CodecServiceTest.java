@@ -0,0 +1,95 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodecServiceTest {
+
+    // Vectorized whenever the test JVM has the incubator module (the build adds it); scalar always
+    private final CodecService vectorService = new CodecService(true, 1 << 20);
+    private final CodecService scalarService = new CodecService(false, 1 << 20);
+
+    @Test
+    void testGetPath_VectorizedWhenTheBuildResolvesTheIncubatorModule() {
+        // Assert: the test task launches with --add-modules=jdk.incubator.vector, so the vector path must be taken;
+        // otherwise every other test here would silently exercise the scalar code twice
+        assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "test JVM was started without --add-modules=jdk.incubator.vector");
+        assertTrue(vectorService.getPath().startsWith("vector"), vectorService.getPath());
+        assertEquals("scalar", scalarService.getPath());
+    }
+
+    @Test
+    void testEncodeAndDecode_MatchReferenceForEveryLength() {
+        // Arrange: every length up to a few vectors, so each tail size and block boundary is covered
+        Random random = new Random(11);
+
+        for (int length = 0; length < 600; length++) {
+            byte[] input = new byte[length];
+            random.nextBytes(input);
+            String hex = HexFormat.of().formatHex(input);
+            String base64 = Base64.getEncoder().encodeToString(input);
+            String base64Url = Base64.getUrlEncoder().withoutPadding().encodeToString(input);
+
+            for (CodecService service : new CodecService[] {vectorService, scalarService}) {
+                // Act & Assert
+                assertEquals(hex, ascii(service.encode(CodecService.Codec.HEX, input, true)));
+                assertEquals(base64, ascii(service.encode(CodecService.Codec.BASE64, input, true)));
+                assertEquals(base64Url, ascii(service.encode(CodecService.Codec.BASE64URL, input, false)));
+                assertArrayEquals(input, service.decode(CodecService.Codec.HEX, bytes(hex.toUpperCase())));
+                assertArrayEquals(input, service.decode(CodecService.Codec.BASE64, bytes(base64)));
+                assertArrayEquals(input, service.decode(CodecService.Codec.BASE64URL, bytes(base64Url)));
+                byte[] base32 = service.encode(CodecService.Codec.BASE32, input, true);
+                assertArrayEquals(scalarService.encode(CodecService.Codec.BASE32, input, true), base32);
+                assertArrayEquals(input, service.decode(CodecService.Codec.BASE32, base32), "length " + length);
+            }
+        }
+    }
+
+    @Test
+    void testBase32_Rfc4648Vectors() {
+        // Arrange
+        String[][] vectors = {
+            {"f", "MY======"}, {"fo", "MZXQ===="}, {"foo", "MZXW6==="},
+            {"foob", "MZXW6YQ="}, {"fooba", "MZXW6YTB"}, {"foobar", "MZXW6YTBOI======"}
+        };
+
+        for (String[] vector : vectors) {
+            // Act & Assert
+            assertEquals(vector[1], ascii(vectorService.encode(CodecService.Codec.BASE32, bytes(vector[0]), true)));
+            assertEquals(vector[0], ascii(vectorService.decode(CodecService.Codec.BASE32, bytes(vector[1]))));
+        }
+    }
+
+    @Test
+    void testDecode_ReportsTheOffendingIndexOnBothPaths() {
+        // Arrange: a bad character deep inside what would be a vector block
+        char[] hex = "0123456789abcdef".repeat(16).toCharArray();
+        hex[150] = 'g';
+        byte[] input = bytes(new String(hex));
+
+        for (CodecService service : new CodecService[] {vectorService, scalarService}) {
+            // Act
+            IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                    () -> service.decode(CodecService.Codec.HEX, input));
+
+            // Assert
+            assertEquals("Invalid hex character 0x67 at index 150", thrown.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> scalarService.decode(CodecService.Codec.BASE64, bytes("abcde")));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String ascii(byte[] bytes) {
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailValidationServiceTest {
+
+    private EmailValidationService emailValidationService;
+
+    @BeforeEach
+    void setUp() {
+        emailValidationService = new EmailValidationService(1_000_000, 2, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailValidationService.shutdown();
+    }
+
+    @Test
+    void testValidateAll_ReturnsSummaryAndOnlyFailures() {
+        // Arrange: large enough to take the parallel path
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            emails.add("user" + i + "@example.com");
+        }
+        emails.set(17, "broken@");
+        emails.set(42, "no-at-sign");
+        emails.set(9_999, "user@example.c");
+
+        // Act
+        Map<String, Object> result = emailValidationService.validateAll(emails);
+
+        // Assert
+        assertEquals(10_000L, result.get("total"));
+        assertEquals(9_997L, result.get("valid"));
+        assertEquals(3L, result.get("invalid"));
+        assertEquals(Map.of("MISSING_AT", 1L, "INVALID_DOMAIN", 1L, "INVALID_TLD", 1L), result.get("byReason"));
+        @SuppressWarnings("unchecked")
+        List<EmailValidationService.Failure> failures = (List<EmailValidationService.Failure>) result.get("failures");
+        assertEquals(List.of(
+                new EmailValidationService.Failure(17, "broken@", "INVALID_DOMAIN"),
+                new EmailValidationService.Failure(42, "no-at-sign", "MISSING_AT")), failures);
+        assertEquals(true, result.get("failuresTruncated"));
+    }
+
+    @Test
+    void testValidateStream_WritesFailuresWithLineNumbersThenSummary() throws Exception {
+        // Arrange: chunks of 3 lines, with a blank line that is skipped
+        String input = "a@example.com\nbad\n\nb@example.com\nc@example\nd@example.org\ne@example.net\n";
+        StringBuilder output = new StringBuilder();
+
+        // Act
+        Map<String, Object> summary = emailValidationService.validateStream(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output::append).get();
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("{\"index\":2,\"email\":\"bad\",\"reason\":\"MISSING_AT\"}", lines[0]);
+        assertEquals("{\"index\":5,\"email\":\"c@example\",\"reason\":\"INVALID_DOMAIN\"}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"summary\":"));
+        assertEquals(6L, summary.get("total"));
+        assertEquals(4L, summary.get("valid"));
+    }
+}
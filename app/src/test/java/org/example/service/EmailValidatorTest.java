@@ -0,0 +1,53 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailValidatorTest {
+
+    // The expression UtilityService.validateEmail used before the hand-written validator
+    private static final Pattern EMAIL_REGEX =
+            Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    @Test
+    void testValidate_ReportsWhichPartFailed() {
+        // Act & Assert
+        assertEquals(EmailValidator.Result.VALID, EmailValidator.validate("first.last+tag@mail.example.com"));
+        assertEquals(EmailValidator.Result.EMPTY, EmailValidator.validate("  "));
+        assertEquals(EmailValidator.Result.EMPTY, EmailValidator.validate(null));
+        assertEquals(EmailValidator.Result.MISSING_AT, EmailValidator.validate("user.example.com"));
+        assertEquals(EmailValidator.Result.INVALID_LOCAL_PART, EmailValidator.validate("user..name@example.com"));
+        assertEquals(EmailValidator.Result.INVALID_LOCAL_PART, EmailValidator.validate(".user@example.com"));
+        assertEquals(EmailValidator.Result.INVALID_DOMAIN, EmailValidator.validate("user@localhost"));
+        assertEquals(EmailValidator.Result.INVALID_DOMAIN, EmailValidator.validate("user@example..com"));
+        assertEquals(EmailValidator.Result.INVALID_DOMAIN, EmailValidator.validate("user@exa_mple.com"));
+        assertEquals(EmailValidator.Result.INVALID_TLD, EmailValidator.validate("user@example.c"));
+        assertEquals(EmailValidator.Result.INVALID_TLD, EmailValidator.validate("user@example.museum1"));
+        assertEquals(EmailValidator.Result.INVALID_TLD, EmailValidator.validate("user@example.com."));
+    }
+
+    @Test
+    void testIsValid_AgreesWithRegexOnRandomInput() {
+        // Arrange: strings built mostly from the characters the grammar cares about
+        Random random = new Random(7);
+        String alphabet = "aZ09_+&*-.@@..-xyé ";
+
+        // Act & Assert
+        for (int n = 0; n < 200_000; n++) {
+            StringBuilder email = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                email.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (random.nextBoolean()) {
+                email.append(random.nextBoolean() ? ".com" : ".io");
+            }
+            String candidate = email.toString();
+            assertEquals(EMAIL_REGEX.matcher(candidate).matches(), EmailValidator.isValid(candidate), candidate);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoIpDatabaseTest {
+
+    private static final String HEADER =
+            "start_ip,end_ip,country_code,country,region,region_name,city,zip,latitude,longitude,timezone,isp,org,as\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLookup_FindsContainingRange() throws Exception {
+        // Arrange
+        Path csv = write(HEADER
+                + "8.8.8.0,8.8.8.255,US,United States,CA,California,Mountain View,94043,37.4056,-122.0775,America/Los_Angeles,Google LLC,Google Public DNS,AS15169 Google LLC\n"
+                + "1.1.1.0,1.1.1.255,AU,Australia,QLD,Queensland,\"Brisbane, City\",4000,-27.47,153.02,Australia/Brisbane,Cloudflare,APNIC,AS13335 Cloudflare\n");
+        GeoIpDatabase database = new GeoIpDatabase(csv.toString());
+
+        // Act
+        GeoIpDatabase.GeoRecord google = database.lookup("8.8.8.8");
+        GeoIpDatabase.GeoRecord cloudflare = database.lookup("1.1.1.1");
+
+        // Assert
+        assertEquals("Mountain View", google.city());
+        assertEquals(-122.0775, google.longitude());
+        assertEquals("Brisbane, City", cloudflare.city());
+        assertNull(database.lookup("8.8.9.0"));
+        assertNull(database.lookup("1.1.0.255"));
+        assertNull(database.lookup("not-an-ip"));
+    }
+
+    @Test
+    void testLookup_RangeBoundariesAndHighAddresses() throws Exception {
+        // Integer columns, unsorted, and addresses above 2^31 exercise the unsigned ordering
+        Path csv = write("4294967040,4294967295,ZZ,Top,,,,,0,0,UTC,isp,org,as\n"
+                + "16777216,16777471,AU,Australia,,,,,0,0,UTC,isp,org,as\n"
+                + "3232235520,3232301055,XX,Private,,,,,0,0,UTC,isp,org,as\n");
+        GeoIpDatabase database = new GeoIpDatabase(csv.toString());
+
+        assertEquals("ZZ", database.lookup("255.255.255.255").countryCode());
+        assertEquals("ZZ", database.lookup("255.255.255.0").countryCode());
+        assertNull(database.lookup("255.255.254.255"));
+        assertEquals("AU", database.lookup("1.0.0.0").countryCode());
+        assertEquals("XX", database.lookup("192.168.255.255").countryCode());
+        assertNull(database.lookup("0.0.0.0"));
+    }
+
+    @Test
+    void testReload_MalformedFileKeepsPreviousIndex() throws Exception {
+        // Arrange
+        Path csv = write(HEADER + "8.8.8.0,8.8.8.255,US,United States,,,,,0,0,UTC,isp,org,as\n");
+        GeoIpDatabase database = new GeoIpDatabase(csv.toString());
+        Files.writeString(csv, HEADER + "8.8.8.0,8.8.8.255,US\n");
+
+        // Act
+        Map<String, Object> result = database.reload();
+
+        // Assert
+        assertEquals("ERROR", result.get("status"));
+        assertEquals("US", database.lookup("8.8.8.8").countryCode());
+        assertNotNull(database.getStats().get("lastError"));
+    }
+
+    @Test
+    void testUnconfigured_IsEmpty() {
+        GeoIpDatabase database = new GeoIpDatabase("");
+
+        assertFalse(database.isConfigured());
+        assertFalse(database.isLoaded());
+        assertNull(database.lookup("8.8.8.8"));
+    }
+
+    private Path write(String content) throws Exception {
+        Path csv = tempDir.resolve("geoip.csv");
+        Files.writeString(csv, content);
+        return csv;
+    }
+}
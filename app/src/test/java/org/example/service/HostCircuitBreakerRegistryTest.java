@@ -0,0 +1,56 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostCircuitBreakerRegistryTest {
+
+    @Test
+    void testBreakers_BoundedByMaxHosts() {
+        // Arrange
+        HostCircuitBreakerRegistry registry = new HostCircuitBreakerRegistry(4, 4, 50, 5_000, 80, 60_000, 300_000, 1, 10, 600_000);
+
+        // Act: one call to each of many distinct hosts
+        for (int i = 0; i < 500; i++) {
+            String host = "host" + i + ".example.com";
+            registry.record(host, registry.tryAcquire(host), false, 1_000);
+        }
+
+        // Assert
+        assertTrue(registry.getStates().size() <= 10, "breakers " + registry.getStates().size());
+    }
+
+    @Test
+    void testBreakers_IdleOnesExpire() throws Exception {
+        // Arrange: the idle time is raised to max-open-ms, so keep both short
+        HostCircuitBreakerRegistry registry = new HostCircuitBreakerRegistry(4, 4, 50, 5_000, 80, 50, 100, 1, 10, 100);
+        registry.tryAcquire("idle.example.com");
+
+        // Act
+        Thread.sleep(300);
+
+        // Assert
+        assertTrue(registry.getStates().isEmpty());
+    }
+
+    @Test
+    void testBreakers_OpenCircuitOutlivesIdleExpiry() throws Exception {
+        // Arrange: idle expiry shorter than the open period
+        HostCircuitBreakerRegistry registry = new HostCircuitBreakerRegistry(4, 4, 50, 5_000, 80, 60_000, 300_000, 1, 10, 10);
+        String host = "down.example.com";
+        for (int i = 0; i < 4; i++) {
+            registry.record(host, registry.tryAcquire(host), true, 1_000);
+        }
+
+        // Act
+        Thread.sleep(100);
+
+        // Assert
+        assertEquals(HostCircuitBreakerRegistry.REJECTED, registry.tryAcquire(host));
+        Map<String, Object> state = registry.getStates().get(0);
+        assertEquals("OPEN", state.get("state"));
+    }
+}
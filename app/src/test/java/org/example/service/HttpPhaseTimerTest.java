@@ -0,0 +1,124 @@
+package org.example.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpPhaseTimerTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/body", exchange -> {
+            byte[] body = new byte[20_000];
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/endless", exchange -> {
+            // Chunked, never ends; the write fails once the client hangs up
+            exchange.sendResponseHeaders(200, 0);
+            byte[] chunk = new byte[4096];
+            try (OutputStream out = exchange.getResponseBody()) {
+                while (true) {
+                    out.write(chunk);
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                // Client closed the connection
+            }
+        });
+        server.createContext("/trickle", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                while (true) {
+                    out.write('x');
+                    out.flush();
+                    Thread.sleep(50);
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // Client closed the connection or the server stopped
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testMeasure_ReportsAllPhases() throws IOException {
+        // Act
+        HttpPhaseTimer.PhaseTimings timings = new HttpPhaseTimer(2_000, 2_000, 1_000_000, 5_000).measure(baseUrl + "/body");
+
+        // Assert
+        assertEquals(200, timings.httpStatus());
+        assertEquals(20_000, timings.bodyBytes());
+        assertFalse(timings.truncated());
+        assertEquals(0, timings.tlsNanos());
+        assertNull(timings.tlsProtocol());
+        assertTrue(timings.connectNanos() > 0);
+        assertTrue(timings.timeToFirstByteNanos() > 0);
+        assertEquals(timings.totalNanos(), timings.dnsNanos() + timings.connectNanos() + timings.tlsNanos()
+                + timings.timeToFirstByteNanos() + timings.transferNanos());
+    }
+
+    @Test
+    void testMeasure_StopsEndlessBodyAtByteCap() throws IOException {
+        // Act
+        HttpPhaseTimer.PhaseTimings timings = new HttpPhaseTimer(2_000, 2_000, 100_000, 5_000).measure(baseUrl + "/endless");
+
+        // Assert
+        assertEquals(200, timings.httpStatus());
+        assertEquals(100_000, timings.bodyBytes());
+        assertTrue(timings.truncated());
+    }
+
+    @Test
+    void testMeasure_StopsTricklingBodyAtTimeCap() throws IOException {
+        // Act
+        long start = System.nanoTime();
+        HttpPhaseTimer.PhaseTimings timings = new HttpPhaseTimer(2_000, 2_000, 1_000_000, 300).measure(baseUrl + "/trickle");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(timings.truncated());
+        assertTrue(timings.bodyBytes() < 100);
+        assertTrue(elapsedMs < 2_000, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testMeasure_ReturnsErrorStatus() throws IOException {
+        // Act
+        HttpPhaseTimer.PhaseTimings timings = new HttpPhaseTimer(2_000, 2_000, 1_000_000, 5_000).measure(baseUrl + "/missing");
+
+        // Assert
+        assertEquals(404, timings.httpStatus());
+    }
+
+    @Test
+    void testMeasure_RejectsUnsupportedScheme() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpPhaseTimer(2_000, 2_000, 1_000_000, 5_000).measure("ftp://example.com/file"));
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpAddressesTest {
+
+    @Test
+    void testParseIpv4() {
+        assertEquals(0x08080808L, IpAddresses.parseIpv4("8.8.8.8"));
+        assertEquals(0xFFFFFFFFL, IpAddresses.parseIpv4("255.255.255.255"));
+        assertEquals(0xC0A80101L, IpAddresses.parseIpv4(" 192.168.1.1 "));
+        assertEquals(IpAddresses.INVALID, IpAddresses.parseIpv4("256.1.1.1"));
+        assertEquals(IpAddresses.INVALID, IpAddresses.parseIpv4("1.2.3"));
+        assertEquals(IpAddresses.INVALID, IpAddresses.parseIpv4("1..2.3"));
+        assertEquals(IpAddresses.INVALID, IpAddresses.parseIpv4("0001.2.3.4"));
+        assertEquals(IpAddresses.INVALID, IpAddresses.parseIpv4("invalid.ip.address"));
+    }
+
+    @Test
+    void testParseIpv6() {
+        long[] address = new long[2];
+
+        assertTrue(IpAddresses.parseIpv6("2001:4860:4860::8888", address));
+        assertEquals(0x2001486048600000L, address[0]);
+        assertEquals(0x8888L, address[1]);
+
+        assertTrue(IpAddresses.parseIpv6("::ffff:192.168.1.1", address));
+        assertEquals(0L, address[0]);
+        assertEquals(0xFFFFC0A80101L, address[1]);
+
+        assertTrue(IpAddresses.parseIpv6("1:2:3:4:5:6:7:8", address));
+        assertEquals("1:2:3:4:5:6:7:8", IpAddresses.formatIpv6(address[0], address[1]));
+        assertTrue(IpAddresses.parseIpv6("::", address));
+        assertTrue(IpAddresses.parseIpv6("1::", address));
+
+        assertFalse(IpAddresses.parseIpv6("1:2:3:4:5:6:7:8:9", address));
+        assertFalse(IpAddresses.parseIpv6("1::2::3", address));
+        assertFalse(IpAddresses.parseIpv6("12345::", address));
+        assertFalse(IpAddresses.parseIpv6("fe80::1%eth0", address));
+        assertFalse(IpAddresses.parseIpv6(":1", address));
+        assertFalse(IpAddresses.parseIpv6("1:", address));
+    }
+
+    @Test
+    void testReservedRanges() {
+        long[] scratch = new long[2];
+        assertEquals("private range", IpAddresses.reservedRange("10.1.2.3", scratch).message());
+        assertEquals("172.16.0.0/12", IpAddresses.reservedRange("172.31.255.255", scratch).network());
+        assertNull(IpAddresses.reservedRange("172.32.0.0", scratch));
+        assertEquals("Limited Broadcast", IpAddresses.reservedRange("255.255.255.255", scratch).description());
+        assertEquals("reserved range", IpAddresses.reservedRange("203.0.113.7", scratch).message());
+        assertEquals("Loopback", IpAddresses.reservedRange("::1", scratch).description());
+        assertEquals("Unique-Local", IpAddresses.reservedRange("fd00::1", scratch).description());
+        assertEquals("192.168.0.0/16", IpAddresses.reservedRange("::ffff:192.168.1.1", scratch).network());
+        assertNull(IpAddresses.reservedRange("2001:4860:4860::8888", scratch));
+        assertNull(IpAddresses.reservedRange("8.8.8.8", scratch));
+    }
+
+    @Test
+    void testReservedRange_ReusesScratchWithoutAllocating() {
+        // Arrange
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long[] scratch = new long[2];
+        String[] addresses = {"fd00::1", "2001:4860:4860::8888", "::ffff:192.168.1.1", "8.8.8.8"};
+        for (int i = 0; i < 20_000; i++) {
+            IpAddresses.reservedRange(addresses[i & 3], scratch);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+
+        // Act
+        int reserved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (IpAddresses.reservedRange(addresses[i & 3], scratch) != null) {
+                reserved++;
+            }
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert
+        assertEquals(5_000, reserved);
+        assertTrue(allocated < 10_000, "allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpApiRateLimiterTest {
+
+    @Test
+    void testAcquire_RejectsOnceBucketIsEmptyAndWaitTooLong() {
+        // Arrange: two requests per minute, so the next token is ~30s away
+        IpApiRateLimiter limiter = new IpApiRateLimiter(2, 1000, 10);
+
+        // Act
+        long first = limiter.acquire();
+        long second = limiter.acquire();
+        long third = limiter.acquire();
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertTrue(third > 25_000 && third <= 30_000, "retry after " + third);
+    }
+
+    @Test
+    void testAcquire_WaitsWithinBoundForNextToken() {
+        // Arrange: 600 per minute refills a token every 100ms
+        IpApiRateLimiter limiter = new IpApiRateLimiter(600, 1000, 10);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Rl", "1");
+        headers.add("X-Ttl", "60");
+        limiter.onResponse(headers);
+        limiter.acquire();
+
+        // Act
+        long startTime = System.nanoTime();
+        long waited = limiter.acquire();
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
+
+        // Assert
+        assertEquals(0, waited);
+        assertTrue(elapsedMs >= 50, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testOnResponse_ExhaustedWindowBlocksUntilReset() {
+        // Arrange
+        IpApiRateLimiter limiter = new IpApiRateLimiter(45, 2000, 10);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Rl", "0");
+        headers.add("X-Ttl", "20");
+
+        // Act
+        limiter.onResponse(headers);
+        long retryAfterMs = limiter.acquire();
+
+        // Assert
+        assertTrue(retryAfterMs > 19_000 && retryAfterMs <= 20_000, "retry after " + retryAfterMs);
+    }
+
+    @Test
+    void testAcquire_InterruptedWaitHandsTokenBack() throws Exception {
+        // Arrange: one token per second, bucket emptied; waits of up to 1.5s are accepted
+        IpApiRateLimiter limiter = new IpApiRateLimiter(60, 1500, 10);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Rl", "1");
+        headers.add("X-Ttl", "60");
+        limiter.onResponse(headers);
+        limiter.acquire();
+        long[] interruptedResult = new long[1];
+        Thread waiter = new Thread(() -> interruptedResult[0] = limiter.acquire());
+        waiter.start();
+        Thread.sleep(50);
+
+        // Act
+        waiter.interrupt();
+        waiter.join();
+        long next = limiter.acquire();
+
+        // Assert: with the token kept, the next caller would have to wait about two seconds and be turned away
+        assertTrue(interruptedResult[0] > 0);
+        assertEquals(0, next);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IpLocationCacheTest {
+
+    @Mock
+    private IpLocationService ipLocationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IpLocationCache ipLocationCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ipLocationCache = new IpLocationCache(ipLocationService, meterRegistry, 3600, 300, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ipLocationCache.shutdown();
+    }
+
+    @Test
+    void testGetIpLocation_SecondLookupIsHit() {
+        // Arrange
+        when(ipLocationService.getIpLocation("8.8.8.8")).thenReturn(Map.of("status", "SUCCESS", "ip", "8.8.8.8"));
+
+        // Act
+        Map<String, Object> first = ipLocationCache.getIpLocation("8.8.8.8");
+        Map<String, Object> second = ipLocationCache.getIpLocation(" 8.8.8.8 ");
+
+        // Assert
+        assertEquals("MISS", ((Map<?, ?>) first.get("cache")).get("status"));
+        assertEquals("HIT", ((Map<?, ?>) second.get("cache")).get("status"));
+        verify(ipLocationService, times(1)).getIpLocation(anyString());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "ip.location").gauge().value());
+    }
+
+    @Test
+    void testGetIpLocation_FailuresAreNegativelyCached() {
+        // Arrange
+        when(ipLocationService.getIpLocation("192.168.1.1"))
+                .thenReturn(Map.of("status", "ERROR", "message", "private range"));
+
+        // Act
+        ipLocationCache.getIpLocation("192.168.1.1");
+        Map<String, Object> second = ipLocationCache.getIpLocation("192.168.1.1");
+
+        // Assert
+        assertEquals("ERROR", second.get("status"));
+        assertEquals("HIT", ((Map<?, ?>) second.get("cache")).get("status"));
+        verify(ipLocationService, times(1)).getIpLocation(anyString());
+    }
+
+    @Test
+    void testGetIpLocation_RateLimitedAnswersAreNotCached() {
+        // Arrange
+        when(ipLocationService.getIpLocation("8.8.4.4"))
+                .thenReturn(Map.of("status", "RATE_LIMITED", "retryAfterMs", 1000L))
+                .thenReturn(Map.of("status", "SUCCESS", "ip", "8.8.4.4"));
+
+        // Act
+        Map<String, Object> first = ipLocationCache.getIpLocation("8.8.4.4");
+        Map<String, Object> second = ipLocationCache.getIpLocation("8.8.4.4");
+
+        // Assert
+        assertEquals("RATE_LIMITED", first.get("status"));
+        assertEquals("SUCCESS", second.get("status"));
+        verify(ipLocationService, times(2)).getIpLocation("8.8.4.4");
+    }
+
+    @Test
+    void testGetIpLocation_InvalidIpBypassesCache() {
+        // Arrange
+        when(ipLocationService.getIpLocation("not-an-ip"))
+                .thenReturn(Map.of("status", "ERROR", "message", "Invalid IP address format"));
+
+        // Act
+        ipLocationCache.getIpLocation("not-an-ip");
+        Map<String, Object> second = ipLocationCache.getIpLocation("not-an-ip");
+
+        // Assert
+        assertNull(second.get("cache"));
+        verify(ipLocationService, times(2)).getIpLocation("not-an-ip");
+    }
+
+    @Test
+    void testGetIpLocations_DedupesAndLoadsOnlyMisses() {
+        // Arrange
+        when(ipLocationService.getIpLocation("8.8.8.8")).thenReturn(Map.of("status", "SUCCESS", "ip", "8.8.8.8"));
+        when(ipLocationService.getIpLocations(anyCollection())).thenReturn(Map.of(
+                "1.1.1.1", Map.of("status", "SUCCESS", "ip", "1.1.1.1")));
+        ipLocationCache.getIpLocation("8.8.8.8");
+
+        // Act
+        List<Map<String, Object>> results = ipLocationCache.getIpLocations(
+                List.of("8.8.8.8", "1.1.1.1", "1.1.1.1", "bogus"));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals("HIT", ((Map<?, ?>) results.get(0).get("cache")).get("status"));
+        assertEquals("MISS", ((Map<?, ?>) results.get(1).get("cache")).get("status"));
+        verify(ipLocationService).getIpLocations(List.of("1.1.1.1"));
+    }
+}
@@ -1,17 +1,33 @@
 package org.example.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.ResourceAccessException;
 
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class IpLocationServiceTest {
@@ -24,7 +40,8 @@ class IpLocationServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ipLocationService = new IpLocationService(restTemplate);
+        ipLocationService = new IpLocationService(restTemplate, new GeoIpDatabase(""), new NetworkTagDatabase(""),
+                new IpApiRateLimiter(45, 2000, 50), new IpApiRateLimiter(15, 2000, 50), true, "http://ip-api.com");
     }
 
     @Test
@@ -50,7 +67,8 @@ class IpLocationServiceTest {
             }
             """;
 
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(mockResponse);
+        when(restTemplate.getForEntity(anyString(), eq(IpLocationService.IpApiAnswer.class)))
+            .thenReturn(ResponseEntity.ok(answer(mockResponse)));
 
         // Act
         Map<String, Object> result = ipLocationService.getIpLocation(validIp);
@@ -62,11 +80,11 @@ class IpLocationServiceTest {
         assertNotNull(result.get("location"));
         assertNotNull(result.get("isp"));
         
-        @SuppressWarnings("unchecked")
-        Map<String, Object> location = (Map<String, Object>) result.get("location");
-        assertEquals("United States", location.get("country"));
-        assertEquals("US", location.get("countryCode"));
-        assertEquals("Mountain View", location.get("city"));
+        IpLocationService.Location location = (IpLocationService.Location) result.get("location");
+        assertEquals("United States", location.country());
+        assertEquals("US", location.countryCode());
+        assertEquals("Mountain View", location.city());
+        assertEquals(-122.0775, location.longitude());
     }
 
     @Test
@@ -110,7 +128,7 @@ class IpLocationServiceTest {
     void testGetIpLocation_ConnectionError() {
         // Arrange
         String validIp = "8.8.8.8";
-        when(restTemplate.getForObject(anyString(), eq(String.class)))
+        when(restTemplate.getForEntity(anyString(), eq(IpLocationService.IpApiAnswer.class)))
             .thenThrow(new ResourceAccessException("Connection timeout"));
 
         // Act
@@ -133,7 +151,8 @@ class IpLocationServiceTest {
             }
             """;
 
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(mockResponse);
+        when(restTemplate.getForEntity(anyString(), eq(IpLocationService.IpApiAnswer.class)))
+            .thenReturn(ResponseEntity.ok(answer(mockResponse)));
 
         // Act
         Map<String, Object> result = ipLocationService.getIpLocation(validIp);
@@ -142,4 +161,160 @@ class IpLocationServiceTest {
         assertEquals("ERROR", result.get("status"));
         assertTrue(result.get("message").toString().contains("private range"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetIpLocation_LocalDatabaseHit_SkipsRemoteApi(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        Path csv = tempDir.resolve("geoip.csv");
+        Files.writeString(csv, "8.8.8.0,8.8.8.255,US,United States,CA,California,Mountain View,94043,"
+                + "37.4056,-122.0775,America/Los_Angeles,Google LLC,Google Public DNS,AS15169 Google LLC\n");
+        IpLocationService localService = new IpLocationService(restTemplate, new GeoIpDatabase(csv.toString()),
+                new NetworkTagDatabase(""), new IpApiRateLimiter(45, 2000, 50), new IpApiRateLimiter(15, 2000, 50), false, "http://ip-api.com");
+
+        // Act
+        Map<String, Object> hit = localService.getIpLocation("8.8.8.8");
+        Map<String, Object> miss = localService.getIpLocation("9.9.9.9");
+
+        // Assert
+        assertEquals("SUCCESS", hit.get("status"));
+        assertEquals("local", hit.get("source"));
+        IpLocationService.Isp isp = (IpLocationService.Isp) hit.get("isp");
+        assertEquals("Google LLC", isp.isp());
+        assertEquals("ERROR", miss.get("status"));
+        verify(restTemplate, never()).getForEntity(anyString(), eq(IpLocationService.IpApiAnswer.class));
+    }
+
+    @Test
+    void testGetIpLocations_GroupsRemoteLookupsIntoBatches() throws Exception {
+        // Arrange: a local stand-in for ip-api's POST /batch
+        ObjectMapper mapper = new ObjectMapper();
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/batch", exchange -> {
+            String[] queries = mapper.readValue(exchange.getRequestBody(), String[].class);
+            batchSizes.add(queries.length);
+            List<Map<String, Object>> answers = new ArrayList<>();
+            for (String query : queries) {
+                Map<String, Object> answer = new HashMap<>(Map.of("status", "success", "country", "United States",
+                        "countryCode", "US", "region", "CA", "regionName", "California", "city", "Mountain View",
+                        "zip", "94043", "timezone", "America/Los_Angeles", "query", query));
+                answer.putAll(Map.of("lat", 37.4, "lon", -122.0, "isp", "Example ISP", "org", "Example Org",
+                        "as", "AS1 Example"));
+                answers.add(answer);
+            }
+            byte[] body = mapper.writeValueAsString(answers).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        List<String> ips = new ArrayList<>();
+        for (int i = 0; i < 249; i++) {
+            ips.add("8.8." + (i / 256) + "." + (i % 256));
+        }
+        ips.add("10.0.0.1"); // private range, answered without going upstream
+        ips.add("not-an-ip");
+
+        try {
+            IpLocationService batchService = new IpLocationService(new RestTemplate(), new GeoIpDatabase(""),
+                    new NetworkTagDatabase(""), new IpApiRateLimiter(45, 2000, 50), new IpApiRateLimiter(15, 2000, 50), true,
+                    "http://127.0.0.1:" + server.getAddress().getPort());
+
+            // Act
+            Map<String, Map<String, Object>> results = batchService.getIpLocations(ips);
+
+            // Assert
+            assertEquals(List.of(100, 100, 49), batchSizes);
+            assertEquals(251, results.size());
+            assertEquals("SUCCESS", results.get("8.8.0.200").get("status"));
+            assertEquals("ip-api", results.get("8.8.0.200").get("source"));
+            assertEquals("Example Org", ((IpLocationService.Isp) results.get("8.8.0.200").get("isp")).organization());
+            assertEquals("private range", results.get("10.0.0.1").get("message"));
+            assertEquals("Invalid IP address format", results.get("not-an-ip").get("message"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testGetIpLocation_RateLimited_DoesNotCallUpstream() {
+        // Arrange: one request per minute and no waiting allowed
+        IpLocationService limitedService = new IpLocationService(restTemplate, new GeoIpDatabase(""),
+                new NetworkTagDatabase(""), new IpApiRateLimiter(1, 0, 0), new IpApiRateLimiter(15, 2000, 50), true, "http://ip-api.com");
+        when(restTemplate.getForEntity(anyString(), eq(IpLocationService.IpApiAnswer.class)))
+            .thenReturn(ResponseEntity.ok(answer("{\"status\": \"fail\", \"message\": \"reserved range\"}")));
+
+        // Act
+        Map<String, Object> first = limitedService.getIpLocation("8.8.8.8");
+        Map<String, Object> second = limitedService.getIpLocation("1.1.1.1");
+
+        // Assert
+        assertEquals("ERROR", first.get("status"));
+        assertEquals("RATE_LIMITED", second.get("status"));
+        assertTrue((Long) second.get("retryAfterMs") > 0);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(IpLocationService.IpApiAnswer.class));
+    }
+
+    @Test
+    void testRateLimits_JsonAndBatchWindowsAreSeparate() throws Exception {
+        // Arrange: /json reports its window used up, /batch still has room
+        ObjectMapper mapper = new ObjectMapper();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/json/", exchange -> {
+            byte[] body = "{\"status\": \"success\", \"country\": \"United States\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Rl", "0");
+            exchange.getResponseHeaders().add("X-Ttl", "60");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/batch", exchange -> {
+            String[] queries = mapper.readValue(exchange.getRequestBody(), String[].class);
+            List<Map<String, Object>> answers = new ArrayList<>();
+            for (String query : queries) {
+                answers.add(Map.of("status", "success", "country", "United States", "query", query));
+            }
+            byte[] body = mapper.writeValueAsString(answers).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Rl", "14");
+            exchange.getResponseHeaders().add("X-Ttl", "60");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        try {
+            IpLocationService service = new IpLocationService(new RestTemplate(), new GeoIpDatabase(""),
+                    new NetworkTagDatabase(""), new IpApiRateLimiter(45, 2000, 50), new IpApiRateLimiter(15, 2000, 50),
+                    true, "http://127.0.0.1:" + server.getAddress().getPort());
+
+            // Act
+            Map<String, Object> single = service.getIpLocation("8.8.8.8");
+            Map<String, Map<String, Object>> batch = service.getIpLocations(List.of("1.1.1.1", "9.9.9.9"));
+            Map<String, Object> blockedSingle = service.getIpLocation("8.8.4.4");
+
+            // Assert
+            assertEquals("SUCCESS", single.get("status"));
+            assertEquals("SUCCESS", batch.get("1.1.1.1").get("status"));
+            assertEquals("SUCCESS", batch.get("9.9.9.9").get("status"));
+            assertEquals("RATE_LIMITED", blockedSingle.get("status"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static IpLocationService.IpApiAnswer answer(String json) {
+        try {
+            return new ObjectMapper().readValue(json, IpLocationService.IpApiAnswer.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
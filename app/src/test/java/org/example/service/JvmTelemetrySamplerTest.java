@@ -0,0 +1,150 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JvmTelemetrySamplerTest {
+
+    private JvmTelemetrySampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        // Not started, so the test drives sample() itself
+        sampler = new JvmTelemetrySampler(1000, 4, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sampler.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSeries_KeepsOnlyTheNewestSamplesInOrder() throws Exception {
+        // Arrange: six samples into a ring of four
+        for (int i = 0; i < 6; i++) {
+            sampler.sample();
+            Thread.sleep(2);
+        }
+
+        // Act
+        Map<String, Object> result = sampler.series(0);
+        Map<String, Object> lastTwo = sampler.series(2);
+
+        // Assert
+        assertEquals(4, result.get("samples"));
+        assertEquals(false, result.get("sampling"));
+        Map<String, Object> series = (Map<String, Object>) result.get("series");
+        long[] timestamps = (long[]) series.get("timestamps");
+        assertEquals(4, timestamps.length);
+        for (int i = 1; i < timestamps.length; i++) {
+            assertTrue(timestamps[i] > timestamps[i - 1]);
+        }
+        assertEquals(3, ((long[]) series.get("allocatedBytesPerSecond")).length);
+        assertTrue(((long[]) series.get("heapUsedBytes"))[3] > 0);
+        assertEquals(3, ((long[]) series.get("processCpuPermille")).length);
+        for (Object collector : ((Map<String, Object>) series.get("gc")).values()) {
+            for (long delta : (long[]) ((Map<String, Object>) collector).get("collections")) {
+                assertTrue(delta >= 0);
+            }
+        }
+        long[] newest = (long[]) ((Map<String, Object>) lastTwo.get("series")).get("timestamps");
+        assertArrayEquals(new long[]{timestamps[2], timestamps[3]}, newest);
+    }
+
+    @Test
+    void testStart_KeepsSamplingAfterAFailedSample() throws Exception {
+        // Arrange: the first sample throws, as a pool whose getUsage() returns null used to
+        AtomicInteger calls = new AtomicInteger();
+        JvmTelemetrySampler failingOnce = new JvmTelemetrySampler(10, 4, true) {
+            @Override
+            void record(int slot) {
+                if (calls.getAndIncrement() == 0) {
+                    throw new NullPointerException("simulated");
+                }
+                super.record(slot);
+            }
+        };
+
+        try {
+            // Act
+            failingOnce.start();
+            Map<String, Object> result = failingOnce.series(0);
+            for (int i = 0; i < 200 && (int) result.get("samples") < 3; i++) {
+                Thread.sleep(10);
+                result = failingOnce.series(0);
+            }
+
+            // Assert: the scheduler kept running and the failed sample took no slot
+            assertTrue((int) result.get("samples") >= 3, result.toString());
+            assertEquals(1L, result.get("failedSamples"));
+            assertEquals(true, result.get("sampling"));
+        } finally {
+            failingOnce.shutdown();
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveInterval() {
+        // Act & Assert
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> new JvmTelemetrySampler(0, 4, true));
+        assertTrue(thrown.getMessage().contains("interval-ms"), thrown.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new JvmTelemetrySampler(-5, 4, false));
+    }
+
+    @Test
+    void testSample_AllocatesAlmostNothing() {
+        // Arrange
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 10_000; i++) {
+            sampler.sample();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            sampler.sample();
+        }
+        long perSample = (threads.getCurrentThreadAllocatedBytes() - before) / 1_000;
+
+        // Assert: only the MemoryUsage objects returned by the memory pool beans
+        assertTrue(perSample < 1024, "allocated " + perSample + " bytes per sample");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTopThreads_RanksByCpuOverWindow() throws Exception {
+        // Arrange: a thread that stays busy during the window
+        Thread busy = new Thread(() -> {
+            long x = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                x += System.nanoTime() % 7;
+            }
+        }, "telemetry-test-busy");
+        busy.start();
+
+        try {
+            // Act
+            Map<String, Object> result = sampler.topThreads(3, "cpu", 200);
+
+            // Assert
+            List<Map<String, Object>> threads = (List<Map<String, Object>>) result.get("threads");
+            assertFalse(threads.isEmpty());
+            assertTrue(threads.size() <= 3);
+            assertEquals("telemetry-test-busy", threads.get(0).get("name"));
+            assertEquals("cpu", result.get("sortBy"));
+        } finally {
+            busy.interrupt();
+            busy.join();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testValueAtPercentile_WithinPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // Act & Assert
+        assertEquals(100_000, histogram.getTotalCount());
+        assertEquals(50_000_000, histogram.valueAtPercentile(50), 50_000_000 * 0.01);
+        assertEquals(99_000_000, histogram.valueAtPercentile(99), 99_000_000 * 0.01);
+        assertEquals(100_000_000, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void testBucketBoundaries_CoverEveryValue() {
+        long[] values = {0, 1, 255, 256, 257, 1_000, 65_535, 1_000_000_007L, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            int index = LatencyHistogram.indexFor(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    void testToMillisSummary_EmptyHistogram() {
+        Map<String, Object> summary = new LatencyHistogram().toMillisSummary();
+
+        assertEquals(0L, summary.get("count"));
+        assertEquals(0.0, summary.get("p99"));
+        assertEquals(0.0, summary.get("max"));
+    }
+}
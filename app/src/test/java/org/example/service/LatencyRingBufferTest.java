@@ -0,0 +1,50 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRingBufferTest {
+
+    @Test
+    void testSnapshot_PercentilesAndAvailability() {
+        // Arrange
+        LatencyRingBuffer buffer = new LatencyRingBuffer(100);
+        for (int i = 1; i <= 100; i++) {
+            buffer.record(i * 1_000_000L, i % 10 != 0);
+        }
+
+        // Act
+        Map<String, Object> stats = buffer.snapshot();
+
+        // Assert
+        assertEquals(100, stats.get("windowSize"));
+        assertEquals(10, stats.get("windowErrors"));
+        assertEquals(90.0, stats.get("availability"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> latency = (Map<String, Object>) stats.get("latencyMs");
+        assertEquals(1.0, latency.get("min"));
+        assertEquals(99.0, latency.get("max"));
+        assertEquals(49.0, latency.get("p50"));
+    }
+
+    @Test
+    void testRecord_OverwritesOldestSamples() {
+        // Arrange
+        LatencyRingBuffer buffer = new LatencyRingBuffer(4);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            buffer.record(1_000_000L, i < 6);
+        }
+        Map<String, Object> stats = buffer.snapshot();
+
+        // Assert
+        assertEquals(4, stats.get("windowSize"));
+        assertEquals(4, stats.get("windowErrors"));
+        assertEquals(10L, stats.get("totalChecks"));
+        assertEquals(4L, stats.get("totalErrors"));
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestServiceTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private LoadTestService loadTestService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 200);
+        server.createContext("/slow", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(300);
+                byte[] body = "ok".getBytes();
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        // The shared RestTemplate is never used by a run
+        ApiPingService apiPingService = new ApiPingService(new RestTemplate(),
+                new HostCircuitBreakerRegistry(4, 4, 50, 5_000, 80, 60_000, 300_000, 1, 100, 600_000), 1_000_000);
+        loadTestService = new LoadTestService(apiPingService, 1_000, 5, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadTestService.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void testRunLoadTest_UsesOwnPoolSizedToConcurrency() throws Exception {
+        // Act: 200 requests over one second against a 300ms endpoint need about 60 connections at once,
+        // well past the shared client's 20 per route
+        Map<String, Object> result = loadTestService.runLoadTest(baseUrl + "/slow", 200, 1, 100)
+                .get(30, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("COMPLETED", result.get("status"));
+        assertEquals(200L, result.get("requests"));
+        assertEquals(200L, result.get("successes"));
+        assertTrue(maxInFlight.get() > 20, "max in flight " + maxInFlight.get());
+        assertTrue(maxInFlight.get() <= 100, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void testRunLoadTest_RunsInBackgroundAndRejectsOverlap() throws Exception {
+        // Act: returns before the run ends
+        CompletableFuture<Map<String, Object>> first = loadTestService.runLoadTest(baseUrl + "/slow", 10, 1, 5);
+
+        // Assert
+        assertFalse(first.isDone());
+        assertThrows(IllegalStateException.class, () -> loadTestService.runLoadTest(baseUrl + "/slow", 10, 1, 5));
+        assertEquals(10L, first.get(30, TimeUnit.SECONDS).get("successes"));
+        assertEquals(10L, loadTestService.runLoadTest(baseUrl + "/slow", 10, 1, 5)
+                .get(30, TimeUnit.SECONDS).get("requests"));
+    }
+
+    @Test
+    void testRunLoadTest_RejectsOutOfRangeParameters() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> loadTestService.runLoadTest(baseUrl, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> loadTestService.runLoadTest(baseUrl, 10, 6, 1));
+        assertThrows(IllegalArgumentException.class, () -> loadTestService.runLoadTest(baseUrl, 10, 1, 201));
+    }
+
+    @Test
+    void testRunLoadTest_CountsConnectionErrors() throws Exception {
+        // Arrange: a port nothing listens on
+        String url;
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            url = "http://127.0.0.1:" + socket.getLocalPort() + "/";
+        }
+
+        // Act
+        Map<String, Object> result = loadTestService.runLoadTest(url, 5, 1, 5).get(30, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(5L, result.get("errors"));
+        assertEquals(Map.of("connection", 5L), result.get("errorBreakdown"));
+    }
+}
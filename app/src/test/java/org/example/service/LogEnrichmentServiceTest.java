@@ -0,0 +1,168 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogEnrichmentServiceTest {
+
+    @Mock
+    private IpLocationCache ipLocationCache;
+
+    private LogEnrichmentService logEnrichmentService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        logEnrichmentService = new LogEnrichmentService(ipLocationCache, 2);
+        when(ipLocationCache.getIpLocations(anyCollection())).thenAnswer(invocation -> {
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Object ip : invocation.getArgument(0, Collection.class)) {
+                results.add(Map.of("ip", ip, "status", "SUCCESS",
+                        "location", new IpLocationService.Location("United States", "US", "CA", "California",
+                                "Mountain View", "94043", 37.4, -122.0, "America/Los_Angeles"),
+                        "isp", new IpLocationService.Isp("Google LLC", "Google", "AS15169", null, null)));
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        logEnrichmentService.shutdown();
+    }
+
+    @Test
+    void testEnrichNdjson_AddsGeoAndDedupesPerWindow() throws Exception {
+        // Arrange
+        String input = """
+            {"ip":"8.8.8.8","path":"/a"}
+            {"path":"/b","ip":"8.8.8.8","nested":{"ip":"1.1.1.1"}}
+
+            {"ip":"not-an-ip"}
+            not json
+            """;
+
+        // Act
+        StringBuilder output = new StringBuilder();
+        Map<String, Object> summary = run(input, LogEnrichmentService.Format.NDJSON, "ip", output);
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{\"ip\":\"8.8.8.8\",\"path\":\"/a\",\"geo\":{\"status\":\"SUCCESS\""));
+        assertTrue(lines[0].contains("\"city\":\"Mountain View\""));
+        assertTrue(lines[1].contains("\"nested\":{\"ip\":\"1.1.1.1\"},\"geo\":"));
+        assertTrue(lines[2].contains("\"geo\":{\"status\":\"ERROR\""));
+        assertEquals("not json", lines[3]);
+        assertEquals(4L, summary.get("records"));
+        assertEquals(2, summary.get("windows"));
+        // The second window has no valid IPs, so only one lookup is made
+        verify(ipLocationCache).getIpLocations(Set.of("8.8.8.8"));
+        verify(ipLocationCache, times(1)).getIpLocations(anyCollection());
+    }
+
+    @Test
+    void testEnrichCsv_AppendsColumnsAndHandlesQuotes() throws Exception {
+        // Arrange
+        String input = """
+            time,"client ip",agent
+            t1,8.8.8.8,"curl, 8.0"
+            t2,"8.8.4.4",x
+            t3,,y
+            """;
+
+        // Act
+        StringBuilder output = new StringBuilder();
+        run(input, LogEnrichmentService.Format.CSV, "client ip", output);
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals("time,\"client ip\",agent," + LogEnrichmentService.CSV_COLUMNS, lines[0]);
+        assertEquals("t1,8.8.8.8,\"curl, 8.0\",SUCCESS,US,United States,California,Mountain View,37.4,-122.0,"
+                + "America/Los_Angeles,Google LLC,AS15169", lines[1]);
+        assertTrue(lines[2].startsWith("t2,\"8.8.4.4\",x,SUCCESS,US"));
+        assertEquals("t3,,y,ERROR,,,,,,,,,", lines[3]);
+        assertEquals(LogEnrichmentService.CSV_COLUMNS.split(",").length + 3, lines[3].split(",", -1).length);
+    }
+
+    @Test
+    void testEnrichNdjson_WaitsForExhaustedRateLimiterAndRetries() throws Exception {
+        // Arrange: the limiter is exhausted for the first lookup, which comes back RATE_LIMITED for every IP
+        List<Collection<String>> lookups = new ArrayList<>();
+        when(ipLocationCache.getIpLocations(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ips = new ArrayList<>(invocation.getArgument(0, Collection.class));
+            lookups.add(ips);
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (String ip : ips) {
+                results.add(lookups.size() == 1
+                        ? Map.of("ip", ip, "status", "RATE_LIMITED", "retryAfterMs", 200L,
+                                "message", "ip-api rate limit reached, retry after 200ms")
+                        : Map.of("ip", ip, "status", "SUCCESS",
+                                "location", new IpLocationService.Location("United States", "US", "CA", "California",
+                                        "Mountain View", "94043", 37.4, -122.0, "America/Los_Angeles")));
+            }
+            return results;
+        });
+        String input = """
+            {"ip":"8.8.8.8"}
+            {"ip":"8.8.4.4"}
+            """;
+
+        // Act
+        long start = System.nanoTime();
+        StringBuilder output = new StringBuilder();
+        run(input, LogEnrichmentService.Format.NDJSON, "ip", output);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert: the window waited out retryAfterMs and was looked up again instead of being written rate-limited
+        String[] lines = output.toString().split("\n");
+        assertFalse(output.toString().contains("RATE_LIMITED"), output.toString());
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("\"geo\":{\"status\":\"SUCCESS\""));
+        assertEquals(2, lookups.size());
+        assertEquals(List.of("8.8.8.8", "8.8.4.4"), lookups.get(1));
+        assertTrue(elapsedMs >= 200, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testOpenCsv_MissingIpColumnIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> logEnrichmentService.open(
+                new ByteArrayInputStream("time,agent\n".getBytes(StandardCharsets.UTF_8)),
+                LogEnrichmentService.Format.CSV, "ip"));
+    }
+
+    @Test
+    void testCsvField_ParsesQuotedFields() {
+        // Act & Assert
+        assertEquals("a,b", LogEnrichmentService.csvField("x,\"a,b\",y", 1));
+        assertEquals("say \"hi\"", LogEnrichmentService.csvField("\"say \"\"hi\"\"\"", 0));
+        assertEquals("", LogEnrichmentService.csvField("x,", 1));
+        assertNull(LogEnrichmentService.csvField("x,y", 2));
+        assertEquals(List.of("a", "", "c"), LogEnrichmentService.csvFields("a,,c"));
+    }
+
+    private Map<String, Object> run(String input, LogEnrichmentService.Format format, String ipField,
+                                    StringBuilder output) throws Exception {
+        LogEnrichmentService.EnrichmentJob job = logEnrichmentService.open(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, ipField);
+        return logEnrichmentService.run(job, output::append).get();
+    }
+}
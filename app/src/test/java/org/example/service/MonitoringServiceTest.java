@@ -0,0 +1,121 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class MonitoringServiceTest {
+
+    @Mock
+    private ApiPingService apiPingService;
+
+    private MonitoringService monitoringService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(apiPingService.healthCheck(anyString())).thenReturn(Map.of("status", "HEALTHY"));
+        when(apiPingService.pingEndpoint(anyString())).thenReturn(Map.of("status", "SUCCESS"));
+        monitoringService = new MonitoringService(apiPingService, 16, 10, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitoringService.shutdown();
+    }
+
+    @Test
+    void testRegister_ConcurrentRegistrationsNeverExceedCap() throws Exception {
+        // Arrange: 40 registrations released at once against a cap of 10
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String url = "https://example.com/" + i;
+            attempts.add(pool.submit(() -> {
+                start.await();
+                try {
+                    monitoringService.register(url, 60, "HEAD");
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        int accepted = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get()) {
+                accepted++;
+            }
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(10, accepted);
+        assertEquals(10, monitoringService.listTargets().size());
+    }
+
+    @Test
+    void testUnregister_FreesSlot() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add((Long) monitoringService.register("https://example.com/" + i, 60, "HEAD").get("id"));
+        }
+        assertThrows(IllegalStateException.class, () -> monitoringService.register("https://example.com/full", 60, "HEAD"));
+
+        // Act
+        boolean removed = monitoringService.unregister(ids.get(0));
+        Map<String, Object> replacement = monitoringService.register("https://example.com/new", 60, "GET");
+
+        // Assert
+        assertTrue(removed);
+        assertFalse(monitoringService.unregister(ids.get(0)));
+        assertEquals("GET", replacement.get("method"));
+        assertEquals(10, monitoringService.listTargets().size());
+    }
+
+    @Test
+    void testGetStats_RecordsScheduledChecks() throws Exception {
+        // Arrange
+        long id = (Long) monitoringService.register("https://example.com", 1, "GET").get("id");
+
+        // Act: the first check fires immediately
+        Map<String, Object> stats = monitoringService.getStats(id).orElseThrow();
+        for (int i = 0; i < 100 && stats.get("lastStatus") == null; i++) {
+            Thread.sleep(20);
+            stats = monitoringService.getStats(id).orElseThrow();
+        }
+
+        // Assert
+        assertTrue((long) stats.get("totalChecks") >= 1);
+        assertEquals("SUCCESS", stats.get("lastStatus"));
+        assertEquals(100.0, stats.get("availability"));
+        assertTrue(monitoringService.getStats(id + 1).isEmpty());
+    }
+
+    @Test
+    void testRegister_RejectsUnsupportedMethodAndInterval() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> monitoringService.register("https://example.com", 60, "POST"));
+        assertThrows(IllegalArgumentException.class, () -> monitoringService.register("https://example.com", 0, "GET"));
+        assertTrue(monitoringService.listTargets().isEmpty());
+    }
+}
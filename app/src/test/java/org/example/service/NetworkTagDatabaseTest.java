@@ -0,0 +1,90 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkTagDatabaseTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLookup_ReturnsMostSpecificNetwork() throws Exception {
+        // Arrange
+        Path csv = tempDir.resolve("tags.csv");
+        Files.writeString(csv, """
+            cidr,asn,organization,tag
+            10.0.0.0/8,AS64512,Corp,internal
+            10.20.0.0/16,AS64512,Corp VPN,vpn
+            2001:db8::/32,,Lab,test
+            """);
+        NetworkTagDatabase database = new NetworkTagDatabase(csv.toString());
+        long[] scratch = new long[2];
+
+        // Act
+        NetworkTagDatabase.NetworkMatch vpn = database.lookup("10.20.3.4", scratch);
+        NetworkTagDatabase.NetworkMatch corp = database.lookup("10.99.0.1", scratch);
+        NetworkTagDatabase.NetworkMatch lab = database.lookup("2001:db8::42", scratch);
+
+        // Assert
+        assertEquals("10.20.0.0/16", vpn.network());
+        assertEquals("vpn", vpn.tag());
+        assertEquals("Corp", corp.organization());
+        assertEquals("", lab.asn());
+        assertNull(database.lookup("8.8.8.8", scratch));
+        assertEquals(3, database.getStats().get("prefixes"));
+    }
+
+    @Test
+    void testReload_SwapsTableAndKeepsOldOneOnError() throws Exception {
+        // Arrange
+        Path csv = tempDir.resolve("tags.csv");
+        Files.writeString(csv, "10.0.0.0/8,AS64512,Corp,internal\n");
+        NetworkTagDatabase database = new NetworkTagDatabase(csv.toString());
+        long[] scratch = new long[2];
+
+        // Act
+        Files.writeString(csv, "10.0.0.0/8,AS64513,Corp Renamed,internal\n");
+        Map<String, Object> reloaded = database.reload();
+        Files.writeString(csv, "10.0.0.0/33,AS1,Broken,x\n");
+        Map<String, Object> failed = database.reload();
+
+        // Assert
+        assertEquals("SUCCESS", reloaded.get("status"));
+        assertEquals("ERROR", failed.get("status"));
+        assertEquals("AS64513", database.lookup("10.1.2.3", scratch).asn());
+    }
+
+    @Test
+    void testLoad_QuotedOrganizationKeepsItsCommaAndExtraFieldsFail() throws Exception {
+        // Arrange
+        Path csv = tempDir.resolve("tags.csv");
+        Files.writeString(csv, """
+            cidr,asn,organization,tag
+            8.8.8.0/24,AS15169,"Google, LLC",google
+            2001:4860::/32,AS15169,"Say ""hi"", Inc",google-v6
+            """);
+        NetworkTagDatabase database = new NetworkTagDatabase(csv.toString());
+        long[] scratch = new long[2];
+
+        // Act
+        NetworkTagDatabase.NetworkMatch v4 = database.lookup("8.8.8.8", scratch);
+        NetworkTagDatabase.NetworkMatch v6 = database.lookup("2001:4860::8888", scratch);
+        Files.writeString(csv, "8.8.8.0/24,AS15169,Google, LLC,google\n");
+        Map<String, Object> unquoted = database.reload();
+
+        // Assert: the unquoted comma shifts the tag, so the row is rejected and the previous table kept
+        assertEquals("Google, LLC", v4.organization());
+        assertEquals("google", v4.tag());
+        assertEquals("Say \"hi\", Inc", v6.organization());
+        assertEquals("ERROR", unquoted.get("status"));
+        assertTrue(((String) unquoted.get("message")).contains("Line 1"), (String) unquoted.get("message"));
+        assertEquals("google", database.lookup("8.8.8.8", scratch).tag());
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PingResultCacheTest {
+
+    private static final String URL = "https://example.com";
+
+    @Mock
+    private ApiPingService apiPingService;
+
+    private PingResultCache pingResultCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        pingResultCache = new PingResultCache(apiPingService, new SimpleMeterRegistry(), 60, 60, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pingResultCache.shutdown();
+    }
+
+    @Test
+    void testHealthCheck_SecondCallIsHit() {
+        // Arrange
+        when(apiPingService.healthCheck(anyString())).thenReturn(Map.of("status", "HEALTHY"));
+
+        // Act
+        Map<String, Object> first = pingResultCache.healthCheck(URL);
+        Map<String, Object> second = pingResultCache.healthCheck(URL);
+
+        // Assert
+        assertEquals("MISS", ((Map<?, ?>) first.get("cache")).get("status"));
+        assertEquals("HIT", ((Map<?, ?>) second.get("cache")).get("status"));
+        assertEquals("HEALTHY", second.get("status"));
+        verify(apiPingService, times(1)).healthCheck(URL);
+        assertEquals(1L, pingResultCache.getStats().get("hits"));
+    }
+
+    @Test
+    void testHealthCheck_ConcurrentCallsShareOneUpstreamCall() throws Exception {
+        // Arrange
+        when(apiPingService.healthCheck(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Map.of("status", "HEALTHY");
+        });
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Map<String, Object>>> futures = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return pingResultCache.healthCheck(URL);
+                }));
+            }
+            startGate.countDown();
+            for (Future<Map<String, Object>> future : futures) {
+                assertEquals("HEALTHY", future.get().get("status"));
+            }
+        }
+
+        // Assert
+        verify(apiPingService, times(1)).healthCheck(URL);
+    }
+
+    @Test
+    void testMethodsAreCachedSeparately() {
+        // Arrange
+        when(apiPingService.healthCheck(anyString())).thenReturn(Map.of("status", "HEALTHY"));
+        when(apiPingService.getEndpointInfo(anyString())).thenReturn(Map.of("status", "SUCCESS"));
+
+        // Act
+        pingResultCache.healthCheck(URL);
+        Map<String, Object> info = pingResultCache.getEndpointInfo(URL);
+
+        // Assert
+        assertEquals("SUCCESS", info.get("status"));
+        verify(apiPingService, times(1)).getEndpointInfo(URL);
+    }
+
+    @Test
+    void testHealthCheck_CircuitOpenIsNotCached() {
+        // Arrange
+        when(apiPingService.healthCheck(anyString()))
+            .thenReturn(Map.of("status", "CIRCUIT_OPEN"))
+            .thenReturn(Map.of("status", "HEALTHY"));
+
+        // Act
+        Map<String, Object> first = pingResultCache.healthCheck(URL);
+        Map<String, Object> second = pingResultCache.healthCheck(URL);
+
+        // Assert
+        assertEquals("CIRCUIT_OPEN", first.get("status"));
+        assertEquals("HEALTHY", second.get("status"));
+        assertEquals("MISS", ((Map<?, ?>) second.get("cache")).get("status"));
+        verify(apiPingService, times(2)).healthCheck(URL);
+    }
+
+    @Test
+    void testHealthCheck_FailureIsCachedForTtlOnly() throws Exception {
+        // Arrange: 1s TTL and a long stale window
+        pingResultCache.shutdown();
+        pingResultCache = new PingResultCache(apiPingService, new SimpleMeterRegistry(), 1, 60, 100);
+        when(apiPingService.healthCheck(anyString()))
+            .thenReturn(Map.of("status", "UNHEALTHY"))
+            .thenReturn(Map.of("status", "HEALTHY"));
+
+        // Act
+        pingResultCache.healthCheck(URL);
+        Map<String, Object> withinTtl = pingResultCache.healthCheck(URL);
+        Thread.sleep(1_200);
+        Map<String, Object> afterTtl = pingResultCache.healthCheck(URL);
+
+        // Assert: past the TTL the failure is reloaded instead of being served stale
+        assertEquals("HIT", ((Map<?, ?>) withinTtl.get("cache")).get("status"));
+        assertEquals("UNHEALTHY", withinTtl.get("status"));
+        assertEquals("HEALTHY", afterTtl.get("status"));
+        assertEquals("MISS", ((Map<?, ?>) afterTtl.get("cache")).get("status"));
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PingStreamServiceTest {
+
+    private static final String URL = "https://example.com";
+
+    @Mock
+    private ApiPingService apiPingService;
+
+    private PingStreamService pingStreamService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(apiPingService.pingEndpoint(anyString())).thenReturn(Map.of("status", "SUCCESS"));
+        pingStreamService = new PingStreamService(apiPingService, new ObjectMapper(), 60_000, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pingStreamService.shutdown();
+    }
+
+    @Test
+    void testSubscribe_SharesOneScheduleAndEnforcesCap() {
+        // Act
+        pingStreamService.subscribe(URL, 1);
+        pingStreamService.subscribe(URL, 1);
+        pingStreamService.subscribe(URL, 2);
+
+        // Assert
+        Map<String, Object> stats = pingStreamService.getStats();
+        assertEquals(3, stats.get("subscribers"));
+        assertEquals(2, stats.get("streams"));
+        assertEquals(3, stats.get("maxSubscribers"));
+        assertThrows(IllegalStateException.class, () -> pingStreamService.subscribe("https://example.org", 1));
+        assertEquals(3, pingStreamService.getStats().get("subscribers"));
+        verify(apiPingService, timeout(2_000).atLeastOnce()).pingEndpoint(URL);
+    }
+
+    @Test
+    void testUnsubscribe_FreesSlotOnceAndStopsPinging() throws Exception {
+        // Arrange
+        SseEmitter first = pingStreamService.subscribe(URL, 1);
+        SseEmitter second = pingStreamService.subscribe(URL, 1);
+        verify(apiPingService, timeout(2_000).atLeastOnce()).pingEndpoint(URL);
+
+        // Act: completion and timeout both fire for the first emitter
+        pingStreamService.unsubscribe(URL, 1, first);
+        pingStreamService.unsubscribe(URL, 1, first);
+        Map<String, Object> afterFirst = pingStreamService.getStats();
+        pingStreamService.unsubscribe(URL, 1, second);
+        Thread.sleep(200);
+        clearInvocations(apiPingService);
+        Thread.sleep(1_500);
+
+        // Assert
+        assertEquals(1, afterFirst.get("subscribers"));
+        assertEquals(1, afterFirst.get("streams"));
+        assertEquals(0, pingStreamService.getStats().get("subscribers"));
+        assertEquals(0, pingStreamService.getStats().get("streams"));
+        verify(apiPingService, never()).pingEndpoint(anyString());
+        pingStreamService.subscribe(URL, 1);
+        pingStreamService.subscribe(URL, 1);
+        pingStreamService.subscribe(URL, 1);
+        assertEquals(3, pingStreamService.getStats().get("subscribers"));
+    }
+}
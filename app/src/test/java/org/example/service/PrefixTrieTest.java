@@ -0,0 +1,91 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    @Test
+    void testLookup_LongestPrefixWins() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie(4);
+        trie.putIpv4(IpAddresses.parseIpv4("10.0.0.0"), 8, 1);
+        trie.putIpv4(IpAddresses.parseIpv4("10.20.0.0"), 16, 2);
+        trie.putIpv4(IpAddresses.parseIpv4("10.20.30.0"), 24, 3);
+        trie.putIpv4(IpAddresses.parseIpv4("10.128.0.0"), 9, 4);
+
+        // Act & Assert
+        assertEquals(1, trie.lookupIpv4(IpAddresses.parseIpv4("10.1.1.1")));
+        assertEquals(2, trie.lookupIpv4(IpAddresses.parseIpv4("10.20.1.1")));
+        assertEquals(3, trie.lookupIpv4(IpAddresses.parseIpv4("10.20.30.40")));
+        assertEquals(4, trie.lookupIpv4(IpAddresses.parseIpv4("10.200.0.1")));
+        assertEquals(PrefixTrie.NO_VALUE, trie.lookupIpv4(IpAddresses.parseIpv4("11.0.0.0")));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void testLookup_Ipv6AndPrefixFormatting() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie(4);
+        long[] address = new long[2];
+        IpAddresses.parseIpv6("2001:db8::", address);
+        trie.put(address[0], address[1], 32, 1);
+        IpAddresses.parseIpv6("2001:db8:1::", address);
+        trie.put(address[0], address[1], 48, 2);
+        trie.putIpv4(IpAddresses.parseIpv4("8.8.8.0"), 24, 3);
+
+        // Act
+        IpAddresses.parseIpv6("2001:db8:1::5", address);
+        int node = trie.lookupNode(address[0], address[1]);
+        IpAddresses.parseIpv6("::ffff:8.8.8.8", address);
+        int mappedNode = trie.lookupNode(address[0], address[1]);
+
+        // Assert
+        assertEquals(2, trie.valueOf(node));
+        assertEquals("2001:db8:1:0:0:0:0:0/48", trie.prefixOf(node));
+        assertEquals("8.8.8.0/24", trie.prefixOf(mappedNode));
+        IpAddresses.parseIpv6("2001:db9::", address);
+        assertEquals(PrefixTrie.NO_VALUE, trie.lookup(address[0], address[1]));
+    }
+
+    @Test
+    void testLookup_MatchesBruteForceOnRandomPrefixes() {
+        // Arrange
+        Random random = new Random(42);
+        long[] networks = new long[5_000];
+        int[] lengths = new int[networks.length];
+        Map<String, Integer> latestValue = new HashMap<>();
+        PrefixTrie trie = new PrefixTrie(16);
+        for (int i = 0; i < networks.length; i++) {
+            lengths[i] = random.nextInt(33);
+            networks[i] = random.nextLong() & mask(lengths[i]);
+            trie.putIpv4(networks[i], lengths[i], i);
+            latestValue.put(networks[i] + "/" + lengths[i], i);
+        }
+        trie.trim();
+
+        // Act & Assert
+        for (int probe = 0; probe < 2_000; probe++) {
+            long address = random.nextLong() & 0xFFFFFFFFL;
+            int expected = PrefixTrie.NO_VALUE;
+            int bestLength = -1;
+            for (int i = 0; i < networks.length; i++) {
+                if ((address & mask(lengths[i])) == networks[i] && lengths[i] > bestLength) {
+                    bestLength = lengths[i];
+                    expected = latestValue.get(networks[i] + "/" + lengths[i]);
+                }
+            }
+            assertEquals(expected, trie.lookupIpv4(address));
+        }
+        assertEquals(latestValue.size(), trie.size());
+    }
+
+    private static long mask(int length) {
+        return length == 0 ? 0 : (0xFFFFFFFFL << (32 - length)) & 0xFFFFFFFFL;
+    }
+}
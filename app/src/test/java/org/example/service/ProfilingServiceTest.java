@@ -0,0 +1,112 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfilingServiceTest {
+
+    private ProfilingService profilingService;
+    private volatile boolean busy;
+
+    @BeforeEach
+    void setUp() {
+        profilingService = new ProfilingService(5, 10, "profile");
+    }
+
+    @AfterEach
+    void tearDown() {
+        busy = false;
+        profilingService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProfile_SummarizesHotMethodsAllocationsAndContention() throws Exception {
+        // Arrange: one thread burning CPU and allocating, two threads fighting over a monitor
+        busy = true;
+        Object lock = new Object();
+        Thread burner = new Thread(this::burnAndAllocate, "profile-test-burner");
+        Thread holder = new Thread(() -> holdLock(lock), "profile-test-holder");
+        Thread waiter = new Thread(() -> holdLock(lock), "profile-test-waiter");
+        burner.start();
+        holder.start();
+        waiter.start();
+
+        // Act
+        Map<String, Object> summary;
+        try {
+            summary = profilingService.profile(2, true).get();
+        } finally {
+            busy = false;
+            burner.join();
+            holder.join();
+            waiter.join();
+        }
+
+        // Assert
+        Map<String, Object> cpu = (Map<String, Object>) summary.get("cpu");
+        List<Map<String, Object>> methods = (List<Map<String, Object>>) cpu.get("topMethods");
+        assertTrue((long) cpu.get("samples") > 0);
+        assertTrue(methods.stream().anyMatch(method -> ((String) method.get("method")).startsWith(
+                "org.example.service.ProfilingServiceTest.")), methods.toString());
+
+        Map<String, Object> allocation = (Map<String, Object>) summary.get("allocation");
+        List<Map<String, Object>> sites = (List<Map<String, Object>>) allocation.get("topSites");
+        assertTrue((long) allocation.get("sampledBytes") > 0);
+        assertTrue(sites.stream().anyMatch(site -> ((String) site.get("site")).contains("burnAndAllocate")), sites.toString());
+
+        Map<String, Object> locks = (Map<String, Object>) summary.get("locks");
+        List<Map<String, Object>> contended = (List<Map<String, Object>>) locks.get("top");
+        assertTrue(contended.stream().anyMatch(entry -> ((String) entry.get("lock")).contains("holdLock")), contended.toString());
+
+        assertTrue(summary.containsKey("gc"));
+        Path recording = profilingService.getLastRecording();
+        assertNotNull(recording);
+        assertEquals(Files.size(recording), summary.get("recordingBytes"));
+    }
+
+    @Test
+    void testProfile_RejectsOverlappingAndOutOfRangeRequests() throws Exception {
+        // Act
+        CompletableFuture<Map<String, Object>> first = profilingService.profile(1, false);
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> profilingService.profile(1, false));
+        assertThrows(IllegalArgumentException.class, () -> profilingService.profile(0, false));
+        assertThrows(IllegalArgumentException.class, () -> profilingService.profile(6, false));
+        first.get();
+        assertNull(profilingService.getLastRecording());
+        profilingService.profile(1, false).get();
+    }
+
+    private void burnAndAllocate() {
+        long checksum = 0;
+        while (busy) {
+            long[] values = new long[256];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i * 31L + checksum;
+            }
+            checksum += values[values.length - 1] % 7;
+        }
+    }
+
+    private void holdLock(Object lock) {
+        while (busy) {
+            synchronized (lock) {
+                long until = System.nanoTime() + 30_000_000;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
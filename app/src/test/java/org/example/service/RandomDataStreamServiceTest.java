@@ -0,0 +1,72 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomDataStreamServiceTest {
+
+    @Test
+    void testStream_SameSeedIsReproducibleAcrossParallelism() throws Exception {
+        // Arrange
+        RandomDataStreamService single = new RandomDataStreamService(1, 100, 1_000_000);
+        RandomDataStreamService parallel = new RandomDataStreamService(4, 100, 1_000_000);
+
+        try {
+            // Act
+            String first = collect(single, 1_050, RandomDataStreamService.Format.NDJSON, 42);
+            String second = collect(parallel, 1_050, RandomDataStreamService.Format.NDJSON, 42);
+            String otherSeed = collect(parallel, 1_050, RandomDataStreamService.Format.NDJSON, 43);
+
+            // Assert
+            assertEquals(first, second);
+            assertNotEquals(first, otherSeed);
+            String[] lines = first.split("\n");
+            assertEquals(1_050, lines.length);
+            JsonNode last = new ObjectMapper().readTree(lines[1_049]);
+            assertEquals(1_050, last.get("id").asLong());
+            assertEquals(8, last.get("text").asText().length());
+            assertTrue(last.get("number").asInt() >= 1 && last.get("number").asInt() < 1000);
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void testStream_CsvWithSummaryReportsRate() throws Exception {
+        // Arrange
+        RandomDataStreamService service = new RandomDataStreamService(2, 64, 1_000_000);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try {
+            // Act
+            Map<String, Object> stats = service.stream(200, RandomDataStreamService.Format.CSV, 7, true,
+                    output::writeBytes).get();
+
+            // Assert
+            String[] lines = output.toString(StandardCharsets.US_ASCII).split("\n");
+            assertEquals(RandomDataStreamService.CSV_HEADER.trim(), lines[0]);
+            assertEquals(202, lines.length);
+            assertTrue(lines[1].matches("1,\\d{1,3},[A-Za-z0-9]{8},(true|false),\\d{1,2}\\.\\d{2}"), lines[1]);
+            assertTrue(lines[201].startsWith("# rows=200,seed=7"));
+            assertEquals(200L, stats.get("rows"));
+            assertTrue((Long) stats.get("rowsPerSecond") > 0);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static String collect(RandomDataStreamService service, long rows, RandomDataStreamService.Format format,
+                                  long seed) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.stream(rows, format, seed, false, output::writeBytes).get();
+        return output.toString(StandardCharsets.US_ASCII);
+    }
+}
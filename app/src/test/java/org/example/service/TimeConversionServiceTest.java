@@ -0,0 +1,193 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeConversionServiceTest {
+
+    private TimeConversionService timeConversionService;
+
+    @BeforeEach
+    void setUp() {
+        timeConversionService = new TimeConversionService(1_000_000, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timeConversionService.shutdown();
+    }
+
+    @Test
+    void testConvert_MatchesJavaTimeAcrossHistoryGapsAndOverlaps() {
+        // Arrange: 1850-2150, so LMT, table lookups and the ZoneRules fallback past 2100 are all covered
+        SplittableRandom random = new SplittableRandom(5);
+        long[] millis = random.longs(20_000, -3_786_825_600_000L, 5_680_281_600_000L).toArray();
+        ZoneId[] zones = {ZoneId.of("UTC"), ZoneId.of("Europe/London"), ZoneId.of("America/New_York"),
+                ZoneId.of("Australia/Lord_Howe"), ZoneId.of("Asia/Kolkata"), ZoneId.of("Pacific/Apia")};
+
+        for (ZoneId from : zones) {
+            for (ZoneId to : zones) {
+                // Act
+                TimeConversionService.Conversion conversion =
+                        timeConversionService.convert(millis, from, to, TimeConversionService.Unit.MILLISECONDS);
+
+                // Assert: input is wall-clock time in `from`, output wall-clock time in `to`
+                for (int i = 0; i < millis.length; i++) {
+                    LocalDateTime local = LocalDateTime.ofEpochSecond(
+                            Math.floorDiv(millis[i], 1000), (int) Math.floorMod(millis[i], 1000) * 1_000_000, ZoneOffset.UTC);
+                    ZonedDateTime expected = ZonedDateTime.of(local, from).withZoneSameInstant(to);
+                    long expectedMillis = expected.toLocalDateTime().toEpochSecond(ZoneOffset.UTC) * 1000
+                            + expected.getNano() / 1_000_000;
+                    assertEquals(expectedMillis, conversion.timestamps()[i], from + " -> " + to + " at " + local);
+                    assertEquals(expected.getOffset().getTotalSeconds(), conversion.offsets()[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFormatIso_MatchesOffsetDateTime() {
+        // Arrange
+        long[] seconds = {0, 1_710_037_800L, -1, 951_782_400L, 253_402_300_799L};
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+
+        // Act
+        TimeConversionService.Conversion conversion = timeConversionService.convert(
+                seconds, ZoneOffset.UTC, tokyo, TimeConversionService.Unit.SECONDS);
+        String[] formatted = timeConversionService.formatIso(conversion, TimeConversionService.Unit.SECONDS);
+
+        // Assert
+        assertEquals("1970-01-01T09:00:00+09:00", formatted[0]);
+        assertEquals("2024-03-10T11:30:00+09:00", formatted[1]);
+        assertEquals("1970-01-01T08:59:59+09:00", formatted[2]);
+        assertEquals("2000-02-29T09:00:00+09:00", formatted[3]);
+        assertEquals("+10000-01-01T08:59:59+09:00", formatted[4]);
+        assertEquals(Instant.ofEpochSecond(seconds[1]).atZone(tokyo).toOffsetDateTime().toString(),
+                formatted[1].replace(":00+", "+"));
+    }
+
+    @Test
+    void testConvertStream_KeepsLinesAlignedAcrossChunks() throws Exception {
+        // Arrange: chunks of 4 lines, one of them not a number
+        String input = "0\n1000\nnot-a-time\n1710037800000\n-1000\n86400000\n";
+        StringBuilder output = new StringBuilder();
+
+        // Act
+        Map<String, Object> stats = timeConversionService.convertStream(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), ZoneOffset.UTC,
+                ZoneId.of("America/New_York"), TimeConversionService.Unit.MILLISECONDS, true, true, output::append).get();
+
+        // Assert
+        String[] lines = output.toString().split("\n", -1);
+        assertEquals("1969-12-31T19:00:00.000-05:00", lines[0]);
+        assertEquals("1969-12-31T19:00:01.000-05:00", lines[1]);
+        assertEquals("", lines[2]);
+        assertEquals("2024-03-09T21:30:00.000-05:00", lines[3]);
+        assertEquals("1969-12-31T18:59:59.000-05:00", lines[4]);
+        assertEquals("1970-01-01T19:00:00.000-05:00", lines[5]);
+        assertTrue(lines[6].startsWith("# count=6,invalid=1,"));
+        assertEquals(6L, stats.get("count"));
+    }
+
+    @Test
+    void testConvert_RejectsTimestampsOutsideTheSupportedRange() {
+        // Arrange: the extremes of long, which overflow when shifted by an offset or fall outside java.time
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        long[] extremes = {Long.MIN_VALUE, Long.MAX_VALUE};
+
+        for (TimeConversionService.Unit unit : TimeConversionService.Unit.values()) {
+            for (long extreme : extremes) {
+                // Act & Assert
+                IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                        () -> timeConversionService.convert(new long[] {0, extreme}, tokyo, ZoneOffset.UTC, unit));
+                assertTrue(thrown.getMessage().startsWith("timestamps[1] = " + extreme), thrown.getMessage());
+            }
+        }
+        // Just inside the range: converts and formats without overflowing
+        long[] seconds = {-31_557_014_135_466_800L, 31_556_889_832_650_799L};
+        TimeConversionService.Conversion conversion = timeConversionService.convert(
+                seconds, tokyo, ZoneId.of("Pacific/Kiritimati"), TimeConversionService.Unit.SECONDS);
+        String[] formatted = timeConversionService.formatIso(conversion, TimeConversionService.Unit.SECONDS);
+        assertTrue(formatted[0].startsWith("-999999999-01-0"), formatted[0]);
+        assertTrue(formatted[1].startsWith("+999999999-12-3"), formatted[1]);
+    }
+
+    @Test
+    void testConvertStream_OutOfRangeLinesAreEmpty() throws Exception {
+        // Arrange
+        String input = "0\n9223372036854775807\n-9223372036854775808\n";
+        StringBuilder output = new StringBuilder();
+
+        // Act
+        Map<String, Object> stats = timeConversionService.convertStream(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), ZoneId.of("Asia/Tokyo"),
+                ZoneOffset.UTC, TimeConversionService.Unit.MILLISECONDS, false, false, output::append).get();
+
+        // Assert
+        assertEquals("-32400000\n\n\n", output.toString());
+        assertEquals(2L, stats.get("invalid"));
+    }
+
+    @Test
+    void testSearchZones_RejectsInstantsOutsideInstantRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> timeConversionService.searchZones("Europe/", null, Long.MAX_VALUE, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> timeConversionService.searchZones("Europe/", null, Instant.MIN.getEpochSecond() - 1, 10));
+        assertEquals(Instant.ofEpochSecond(Instant.MAX.getEpochSecond()).toString(), timeConversionService.searchZones(
+                "Europe/", null, Instant.MAX.getEpochSecond(), 10).get("at"));
+    }
+
+    @Test
+    void testResolveZone_NormalizesFixedOffsetSpellings() {
+        // Act & Assert: region IDs are cached and kept as given; fixed-offset spellings collapse to one ZoneOffset
+        assertSame(timeConversionService.resolveZone("Europe/Paris"), timeConversionService.resolveZone("Europe/Paris"));
+        assertEquals("UTC", timeConversionService.resolveZone("UTC").getId());
+        assertEquals(ZoneOffset.ofHours(1), timeConversionService.resolveZone("GMT+01:00"));
+        assertEquals(ZoneOffset.ofHours(1), timeConversionService.resolveZone("UTC+1"));
+        assertEquals(ZoneOffset.ofHours(1), timeConversionService.resolveZone("+01:00:00"));
+    }
+
+    @Test
+    void testSearchZones_FiltersByPrefixAndOffset() {
+        // Arrange: mid-January, so European zones are on standard time
+        long january = Instant.parse("2024-01-15T12:00:00Z").getEpochSecond();
+
+        // Act
+        Map<String, Object> result = timeConversionService.searchZones("europe/", ZoneOffset.ofHours(1), january, 500);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        List<TimeConversionService.ZoneSummary> zones = (List<TimeConversionService.ZoneSummary>) result.get("zones");
+        assertTrue(zones.contains(new TimeConversionService.ZoneSummary("Europe/Paris", "+01:00", false)));
+        assertFalse(zones.stream().anyMatch(zone -> zone.id().equals("Europe/London")));
+        assertTrue(zones.stream().allMatch(zone -> zone.id().startsWith("Europe/")));
+        assertEquals(zones.size(), result.get("total"));
+    }
+
+    @Test
+    void testSuggestZones_PrefersPrefixMatches() {
+        // Act
+        List<String> suggestions = timeConversionService.suggestZones("america/new", 5);
+        List<String> containing = timeConversionService.suggestZones("york", 5);
+
+        // Assert
+        assertEquals("America/New_York", suggestions.get(0));
+        assertTrue(containing.contains("America/New_York"));
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+// SIMD hex, Base32 and Base64 on the incubating Vector API, one full vector of input per step at the platform's
+// preferred width. Every method processes only whole blocks that fit and returns how far into src it got;
+// ScalarCodecs finishes the tail. Decoders also stop at the first block with a character outside the
+// alphabet, leaving the scalar code to report it. Only touched by CodecService after it has checked that the
+// jdk.incubator.vector module is present.
+final class VectorCodecs {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = BYTES.length();
+
+    // Hex: each input byte is duplicated into two lanes, one keeping the high nibble and one the low (encode);
+    // the digit values of even and odd lanes are gathered into the first half and combined (decode)
+    private static final VectorShuffle<Byte> DUPLICATE_FIRST = shuffle(j -> j / 2);
+    private static final VectorShuffle<Byte> DUPLICATE_SECOND = shuffle(j -> LANES / 2 + j / 2);
+    private static final VectorMask<Byte> ODD_LANES = mask(j -> (j & 1) == 1);
+    private static final VectorShuffle<Byte> EVEN_LANES = shuffle(j -> j < LANES / 2 ? 2 * j : 0);
+    private static final VectorShuffle<Byte> ODD_LANES_PACKED = shuffle(j -> j < LANES / 2 ? 2 * j + 1 : 0);
+
+    // Base64: every 3 input bytes b0 b1 b2 become the little-endian int b1 b0 b2 b1, from which the four
+    // sextets are shifted out; decoding packs four sextets into 24 bits and keeps three bytes of each int
+    private static final VectorShuffle<Byte> BASE64_SPREAD =
+            shuffle(j -> 3 * (j / 4) + (j % 4 == 1 ? 0 : j % 4 == 2 ? 2 : 1));
+    private static final VectorShuffle<Byte> BASE64_PACK = shuffle(j -> j < LANES / 4 * 3 ? 4 * (j / 3) + 2 - j % 3 : 0);
+
+    // Base32: every 5 input bytes become the low 40 bits of a long (big-endian within those bits)
+    private static final VectorShuffle<Byte> BASE32_SPREAD = shuffle(j -> j % 8 < 5 ? 5 * (j / 8) + 4 - j % 8 : 0);
+    private static final VectorMask<Byte> BASE32_SPREAD_LANES = mask(j -> j % 8 < 5);
+    private static final VectorShuffle<Byte> BASE32_PACK = shuffle(j -> j < LANES / 8 * 5 ? 8 * (j / 5) + 4 - j % 5 : 0);
+
+    private VectorCodecs() {
+    }
+
+    static String species() {
+        return BYTES.toString();
+    }
+
+    // Below 128 bits there are too few lanes for the shuffles to pay off (or for Base32's 8-lane groups)
+    static boolean isWorthwhile() {
+        return LANES >= 16;
+    }
+
+    static int encodeHex(byte[] src, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        for (; i + LANES <= to; i += LANES, offset += 2 * LANES) {
+            ByteVector bytes = ByteVector.fromArray(BYTES, src, i);
+            hexDigits(nibbles(bytes.rearrange(DUPLICATE_FIRST))).intoArray(dst, offset);
+            hexDigits(nibbles(bytes.rearrange(DUPLICATE_SECOND))).intoArray(dst, offset + LANES);
+        }
+        return i;
+    }
+
+    // Writes a full vector per step of which half is output, so dst must have room for a whole vector
+    static int decodeHex(byte[] src, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        for (; i + LANES <= to && offset + LANES <= dst.length; i += LANES, offset += LANES / 2) {
+            ByteVector values = hexValues(ByteVector.fromArray(BYTES, src, i));
+            if (values.compare(VectorOperators.LT, 0).anyTrue()) {
+                break;
+            }
+            values.rearrange(EVEN_LANES).lanewise(VectorOperators.LSHL, 4).or(values.rearrange(ODD_LANES_PACKED))
+                    .intoArray(dst, offset);
+        }
+        return i;
+    }
+
+    // Reads a full vector but consumes three quarters of it
+    static int encodeBase64(byte[] src, int from, int to, byte[] dst, int offset, boolean url) {
+        int i = from;
+        for (; i + LANES <= to; i += LANES / 4 * 3, offset += LANES) {
+            IntVector words = ByteVector.fromArray(BYTES, src, i).rearrange(BASE64_SPREAD).reinterpretAsInts();
+            IntVector sextets = words.lanewise(VectorOperators.LSHR, 10).and(0x3F)
+                    .or(words.lanewise(VectorOperators.LSHR, 4).and(0x3F).lanewise(VectorOperators.LSHL, 8))
+                    .or(words.lanewise(VectorOperators.LSHR, 22).and(0x3F).lanewise(VectorOperators.LSHL, 16))
+                    .or(words.lanewise(VectorOperators.LSHR, 16).and(0x3F).lanewise(VectorOperators.LSHL, 24));
+            base64Chars(sextets.reinterpretAsBytes(), url).intoArray(dst, offset);
+        }
+        return i;
+    }
+
+    // Writes a full vector per step but only three quarters of it is output; the rest is overwritten by the
+    // next step, which is why dst must have room for a whole vector
+    static int decodeBase64(byte[] src, int from, int to, byte[] dst, int offset, boolean url) {
+        int i = from;
+        for (; i + LANES <= to && offset + LANES <= dst.length; i += LANES, offset += LANES / 4 * 3) {
+            ByteVector sextets = base64Values(ByteVector.fromArray(BYTES, src, i), url);
+            if (sextets.compare(VectorOperators.LT, 0).anyTrue()) {
+                break;
+            }
+            IntVector words = sextets.reinterpretAsInts();
+            IntVector packed = words.and(0x3F).lanewise(VectorOperators.LSHL, 18)
+                    .or(words.lanewise(VectorOperators.LSHR, 8).and(0x3F).lanewise(VectorOperators.LSHL, 12))
+                    .or(words.lanewise(VectorOperators.LSHR, 16).and(0x3F).lanewise(VectorOperators.LSHL, 6))
+                    .or(words.lanewise(VectorOperators.LSHR, 24));
+            packed.reinterpretAsBytes().rearrange(BASE64_PACK).intoArray(dst, offset);
+        }
+        return i;
+    }
+
+    // Reads a full vector but consumes five eighths of it
+    static int encodeBase32(byte[] src, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        for (; i + LANES <= to; i += LANES / 8 * 5, offset += LANES) {
+            LongVector groups = ByteVector.fromArray(BYTES, src, i)
+                    .rearrange(BASE32_SPREAD, BASE32_SPREAD_LANES).reinterpretAsLongs();
+            LongVector quintets = groups.lanewise(VectorOperators.LSHR, 35);
+            for (int k = 1; k < 8; k++) {
+                quintets = quintets.or(groups.lanewise(VectorOperators.LSHR, 35 - 5 * k).and(0x1F)
+                        .lanewise(VectorOperators.LSHL, 8 * k));
+            }
+            ByteVector values = quintets.reinterpretAsBytes();
+            // A-Z for 0-25, 2-7 for 26-31
+            values.add((byte) 'A').add((byte) ('2' - 26 - 'A'), values.compare(VectorOperators.GE, 26))
+                    .intoArray(dst, offset);
+        }
+        return i;
+    }
+
+    // Same whole-vector store as decodeBase64, keeping five bytes of every eight
+    static int decodeBase32(byte[] src, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        for (; i + LANES <= to && offset + LANES <= dst.length; i += LANES, offset += LANES / 8 * 5) {
+            ByteVector chars = ByteVector.fromArray(BYTES, src, i);
+            ByteVector letters = chars.sub((byte) 'A');
+            ByteVector digits = chars.sub((byte) '2');
+            ByteVector values = ByteVector.broadcast(BYTES, (byte) -1)
+                    .blend(letters, letters.compare(VectorOperators.UNSIGNED_LT, 26))
+                    .blend(digits.add((byte) 26), digits.compare(VectorOperators.UNSIGNED_LT, 6));
+            if (values.compare(VectorOperators.LT, 0).anyTrue()) {
+                break;
+            }
+            LongVector groups = values.reinterpretAsLongs();
+            LongVector packed = groups.and(0xFF).lanewise(VectorOperators.LSHL, 35);
+            for (int k = 1; k < 8; k++) {
+                packed = packed.or(groups.lanewise(VectorOperators.LSHR, 8 * k).and(0xFF)
+                        .lanewise(VectorOperators.LSHL, 35 - 5 * k));
+            }
+            packed.reinterpretAsBytes().rearrange(BASE32_PACK).intoArray(dst, offset);
+        }
+        return i;
+    }
+
+    // High nibble in even lanes, low nibble in odd lanes
+    private static ByteVector nibbles(ByteVector duplicated) {
+        return duplicated.lanewise(VectorOperators.LSHR, 4).blend(duplicated.and((byte) 0x0F), ODD_LANES);
+    }
+
+    // 0-9 -> '0'-'9', 10-15 -> 'a'-'f'
+    private static ByteVector hexDigits(ByteVector nibbles) {
+        return nibbles.add((byte) '0').add((byte) ('a' - '0' - 10), nibbles.compare(VectorOperators.GT, 9));
+    }
+
+    // Either case; -1 for anything else
+    private static ByteVector hexValues(ByteVector chars) {
+        ByteVector digits = chars.sub((byte) '0');
+        ByteVector letters = chars.or((byte) 0x20).sub((byte) 'a');
+        return ByteVector.broadcast(BYTES, (byte) -1)
+                .blend(digits, digits.compare(VectorOperators.UNSIGNED_LT, 10))
+                .blend(letters.add((byte) 10), letters.compare(VectorOperators.UNSIGNED_LT, 6));
+    }
+
+    // A-Z, a-z, 0-9 are three runs; the last two characters depend on the alphabet
+    private static ByteVector base64Chars(ByteVector sextets, boolean url) {
+        return sextets.add((byte) 'A')
+                .add((byte) ('a' - 26 - 'A'), sextets.compare(VectorOperators.GE, 26))
+                .add((byte) ('0' - 52 - ('a' - 26)), sextets.compare(VectorOperators.GE, 52))
+                .add((byte) ((url ? '-' : '+') - ('0' - 52) - 62), sextets.compare(VectorOperators.EQ, 62))
+                .add((byte) ((url ? '_' : '/') - ('0' - 52) - 63), sextets.compare(VectorOperators.EQ, 63));
+    }
+
+    private static ByteVector base64Values(ByteVector chars, boolean url) {
+        ByteVector upper = chars.sub((byte) 'A');
+        ByteVector lower = chars.sub((byte) 'a');
+        ByteVector digits = chars.sub((byte) '0');
+        return ByteVector.broadcast(BYTES, (byte) -1)
+                .blend(upper, upper.compare(VectorOperators.UNSIGNED_LT, 26))
+                .blend(lower.add((byte) 26), lower.compare(VectorOperators.UNSIGNED_LT, 26))
+                .blend(digits.add((byte) 52), digits.compare(VectorOperators.UNSIGNED_LT, 10))
+                .blend((byte) 62, chars.compare(VectorOperators.EQ, (byte) (url ? '-' : '+')))
+                .blend((byte) 63, chars.compare(VectorOperators.EQ, (byte) (url ? '_' : '/')));
+    }
+
+    private static VectorShuffle<Byte> shuffle(IntUnaryOperator sourceLane) {
+        int[] indexes = new int[LANES];
+        for (int j = 0; j < LANES; j++) {
+            indexes[j] = sourceLane.applyAsInt(j);
+        }
+        return VectorShuffle.fromArray(BYTES, indexes, 0);
+    }
+
+    private static VectorMask<Byte> mask(IntPredicate lane) {
+        boolean[] bits = new boolean[LANES];
+        for (int j = 0; j < LANES; j++) {
+            bits[j] = lane.test(j);
+        }
+        return VectorMask.fromArray(BYTES, bits, 0);
+    }
+}